@@ -0,0 +1,87 @@
+-- Tamaño de los índices únicos y latencia de búsqueda por CUIT y email, antes
+-- (V1: VARCHAR con guiones, email tal cual) y después (V6: CUIT BIGINT, email
+-- normalizado) sobre la misma cantidad de filas.
+-- Uso: psql -h localhost -U yappa_user -d yappa_db -v filas=5000000 -f docker/benchmark/claves-clientes.sql
+-- Crea y borra sus propias tablas (bench_claves_*); no toca clientes.
+
+\set ON_ERROR_STOP on
+\if :{?filas}
+\else
+\set filas 5000000
+\endif
+\timing off
+
+DROP TABLE IF EXISTS bench_claves_antes, bench_claves_despues;
+
+CREATE TABLE bench_claves_antes (
+    id BIGINT PRIMARY KEY,
+    cuit VARCHAR(20) NOT NULL UNIQUE,
+    email VARCHAR(150) NOT NULL UNIQUE
+);
+
+CREATE TABLE bench_claves_despues (
+    id BIGINT PRIMARY KEY,
+    cuit BIGINT NOT NULL UNIQUE,
+    email VARCHAR(150) NOT NULL,
+    email_normalizado VARCHAR(150) NOT NULL UNIQUE
+);
+
+-- CUIT 20-XXXXXXXX-9 con el id en los 8 dígitos centrales, como DatosBenchmark
+INSERT INTO bench_claves_antes
+SELECT i, '20-' || lpad(i::text, 8, '0') || '-9', 'Cliente' || i || '@Example.com'
+FROM generate_series(1, :filas) AS i;
+
+INSERT INTO bench_claves_despues
+SELECT id, replace(cuit, '-', '')::BIGINT, email, lower(email)
+FROM bench_claves_antes;
+
+VACUUM ANALYZE bench_claves_antes;
+VACUUM ANALYZE bench_claves_despues;
+
+\echo '== Tamaño de los índices únicos'
+SELECT c.relname AS indice, pg_size_pretty(pg_relation_size(i.indexrelid)) AS tamano, pg_relation_size(i.indexrelid) AS bytes
+FROM pg_index i
+JOIN pg_class c ON c.oid = i.indexrelid
+WHERE i.indrelid IN ('bench_claves_antes'::regclass, 'bench_claves_despues'::regclass)
+  AND NOT i.indisprimary
+ORDER BY c.relname;
+
+\echo '== Latencia media de 100000 búsquedas aleatorias (µs)'
+CREATE OR REPLACE FUNCTION pg_temp.medir(consulta TEXT, generar TEXT, repeticiones INT) RETURNS NUMERIC AS $$
+DECLARE
+    inicio TIMESTAMPTZ;
+    total INTERVAL := INTERVAL '0';
+    clave TEXT;
+BEGIN
+    FOR n IN 1..repeticiones LOOP
+        EXECUTE generar INTO clave;
+        inicio := clock_timestamp();
+        EXECUTE consulta USING clave;
+        total := total + (clock_timestamp() - inicio);
+    END LOOP;
+    RETURN round(extract(EPOCH FROM total) * 1000000 / repeticiones, 2);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT 'cuit varchar' AS busqueda, pg_temp.medir(
+        'SELECT id FROM bench_claves_antes WHERE cuit = $1',
+        format('SELECT ''20-'' || lpad((1 + floor(random() * %s))::bigint::text, 8, ''0'') || ''-9''', :filas), 100000) AS micros
+UNION ALL
+SELECT 'cuit bigint', pg_temp.medir(
+        'SELECT id FROM bench_claves_despues WHERE cuit = $1::bigint',
+        format('SELECT (20000000009 + (1 + floor(random() * %s))::bigint * 10)::text', :filas), 100000)
+UNION ALL
+SELECT 'email tal cual', pg_temp.medir(
+        'SELECT id FROM bench_claves_antes WHERE email = $1',
+        format('SELECT ''Cliente'' || (1 + floor(random() * %s))::bigint || ''@Example.com''', :filas), 100000)
+UNION ALL
+SELECT 'email normalizado', pg_temp.medir(
+        'SELECT id FROM bench_claves_despues WHERE email_normalizado = $1',
+        format('SELECT ''cliente'' || (1 + floor(random() * %s))::bigint || ''@example.com''', :filas), 100000);
+
+\echo '== Plan de cada búsqueda'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT id FROM bench_claves_antes WHERE cuit = '20-02500000-9';
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT id FROM bench_claves_despues WHERE cuit = 20025000009;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT id FROM bench_claves_despues WHERE email_normalizado = 'cliente2500000@example.com';
+
+DROP TABLE bench_claves_antes, bench_claves_despues;
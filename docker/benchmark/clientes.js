@@ -0,0 +1,28 @@
+// Benchmark de lectura de clientes con k6 (https://k6.io).
+// Uso: k6 run -e BASE_URL=http://localhost:8080 -e VUS=1000 -e IDS=5000 docker/benchmark/clientes.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const IDS = parseInt(__ENV.IDS || '5000', 10);
+
+export const options = {
+  discardResponseBodies: true,
+  scenarios: {
+    conexiones_concurrentes: {
+      executor: 'constant-vus',
+      vus: parseInt(__ENV.VUS || '1000', 10),
+      duration: __ENV.DURATION || '2m',
+      gracefulStop: '10s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(90)', 'p(99)', 'max'],
+};
+
+export default function () {
+  // 80% consultas por id (sin caché: ids al azar sobre un rango amplio), 20% páginas del listado
+  const res = Math.random() < 0.8
+    ? http.get(`${BASE_URL}/api/clientes/${1 + Math.floor(Math.random() * IDS)}`, { tags: { endpoint: 'id' } })
+    : http.get(`${BASE_URL}/api/clientes?limit=50&sort=apellido`, { tags: { endpoint: 'listado' } });
+  check(res, { 'sin error de servidor': (r) => r.status < 500 });
+}
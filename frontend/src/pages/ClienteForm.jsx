@@ -63,7 +63,7 @@ function ClienteForm() {
       .max(150, 'La razón social no puede exceder 150 caracteres'),
     cuit: Yup.string()
       .required('El CUIT es obligatorio')
-      .matches(/^\d{2}-\d{8}-\d{1}$/, 'El CUIT debe tener formato XX-XXXXXXXX-X'),
+      .matches(/^[1-9]\d-\d{8}-\d$/, 'El CUIT debe tener formato XX-XXXXXXXX-X'),
     fechaNacimiento: Yup.date()
       .required('La fecha de nacimiento es obligatoria')
       .max(new Date(), 'La fecha de nacimiento debe ser en el pasado'),
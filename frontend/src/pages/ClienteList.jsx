@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react'
+import React, { useState, useEffect, useRef } from 'react'
 import { Link } from 'react-router-dom'
 import { Table, Button, Card, Badge, Form, InputGroup } from 'react-bootstrap'
 import { FaPlus, FaEye, FaEdit, FaTrash, FaSearch } from 'react-icons/fa'
@@ -7,30 +7,87 @@ import Loading from '../components/common/Loading'
 import ErrorAlert from '../components/common/ErrorAlert'
 import ConfirmDialog from '../components/common/ConfirmDialog'
 
+const PAGE_SIZE = 100
+const MIN_SEARCH_LENGTH = 3
+const SEARCH_DEBOUNCE_MS = 300
+
 function ClienteList() {
   const [clientes, setClientes] = useState([])
-  const [filteredClientes, setFilteredClientes] = useState([])
+  const [nextCursor, setNextCursor] = useState(null)
+  const [searchResults, setSearchResults] = useState(null)
   const [loading, setLoading] = useState(true)
+  const [loadingMore, setLoadingMore] = useState(false)
   const [error, setError] = useState(null)
   const [searchTerm, setSearchTerm] = useState('')
   const [showConfirmDialog, setShowConfirmDialog] = useState(false)
   const [selectedClienteId, setSelectedClienteId] = useState(null)
+  const nextCursorRef = useRef(null)
+
+  useEffect(() => {
+    nextCursorRef.current = nextCursor
+  }, [nextCursor])
 
   useEffect(() => {
     loadClientes()
   }, [])
 
+  // Los cambios de otras pestañas y usuarios se aplican sobre la lista sin volver a descargarla
+  useEffect(() => {
+    return clienteService.subscribe({
+      onCambio: (cambio) => {
+        if (cambio.tipo === 'DELETE') {
+          setClientes((prev) => prev.filter((cliente) => cliente.id !== cambio.id))
+          setSearchResults((prev) => prev && prev.filter((cliente) => cliente.id !== cambio.id))
+          return
+        }
+        setClientes((prev) => {
+          if (prev.some((cliente) => cliente.id === cambio.id)) {
+            return prev.map((cliente) => (cliente.id === cambio.id ? cambio.cliente : cliente))
+          }
+          // Un cliente nuevo tiene el id más alto: aparece ahora solo si ya se cargó la última página
+          return nextCursorRef.current ? prev : [...prev, cambio.cliente]
+        })
+        setSearchResults((prev) => prev && prev.map((cliente) => (cliente.id === cambio.id ? cambio.cliente : cliente)))
+      },
+      onResincronizar: () => loadClientes(),
+    })
+  }, [])
+
+  // La búsqueda se resuelve en el servidor a partir de 3 caracteres (con debounce)
   useEffect(() => {
-    filterClientes()
-  }, [searchTerm, clientes])
+    const term = searchTerm.trim()
+    if (term.length < MIN_SEARCH_LENGTH) {
+      setSearchResults(null)
+      return
+    }
+
+    let cancelled = false
+    const timeout = setTimeout(async () => {
+      try {
+        const data = await clienteService.search(term)
+        if (!cancelled) {
+          setSearchResults(data)
+        }
+      } catch (err) {
+        if (!cancelled) {
+          setError(err.response?.data?.message || 'Error al buscar clientes')
+        }
+      }
+    }, SEARCH_DEBOUNCE_MS)
+
+    return () => {
+      cancelled = true
+      clearTimeout(timeout)
+    }
+  }, [searchTerm])
 
   const loadClientes = async () => {
     try {
       setLoading(true)
       setError(null)
-      const data = await clienteService.getAll()
-      setClientes(data)
-      setFilteredClientes(data)
+      const page = await clienteService.getPage({ limit: PAGE_SIZE })
+      setClientes(page.clientes)
+      setNextCursor(page.nextCursor)
     } catch (err) {
       setError(err.response?.data?.message || 'Error al cargar los clientes')
     } finally {
@@ -38,23 +95,21 @@ function ClienteList() {
     }
   }
 
-  const filterClientes = () => {
-    if (!searchTerm.trim()) {
-      setFilteredClientes(clientes)
-      return
+  const loadMore = async () => {
+    try {
+      setLoadingMore(true)
+      const page = await clienteService.getPage({ limit: PAGE_SIZE, after: nextCursor })
+      setClientes((prev) => [...prev, ...page.clientes])
+      setNextCursor(page.nextCursor)
+    } catch (err) {
+      setError(err.response?.data?.message || 'Error al cargar los clientes')
+    } finally {
+      setLoadingMore(false)
     }
-
-    const term = searchTerm.toLowerCase()
-    const filtered = clientes.filter(cliente => 
-      cliente.nombre.toLowerCase().includes(term) ||
-      cliente.apellido.toLowerCase().includes(term) ||
-      cliente.razonSocial.toLowerCase().includes(term) ||
-      cliente.cuit.includes(term) ||
-      cliente.email.toLowerCase().includes(term)
-    )
-    setFilteredClientes(filtered)
   }
 
+  const filteredClientes = searchResults ?? clientes
+
   const handleDeleteClick = (id) => {
     setSelectedClienteId(id)
     setShowConfirmDialog(true)
@@ -64,8 +119,9 @@ function ClienteList() {
     try {
       await clienteService.delete(selectedClienteId)
       setShowConfirmDialog(false)
+      setClientes((prev) => prev.filter((cliente) => cliente.id !== selectedClienteId))
+      setSearchResults((prev) => prev && prev.filter((cliente) => cliente.id !== selectedClienteId))
       setSelectedClienteId(null)
-      loadClientes()
     } catch (err) {
       setError(err.response?.data?.message || 'Error al eliminar el cliente')
       setShowConfirmDialog(false)
@@ -115,9 +171,9 @@ function ClienteList() {
           {filteredClientes.length === 0 ? (
             <div className="text-center py-5">
               <p className="text-muted">
-                {searchTerm ? 'No se encontraron clientes con ese criterio de búsqueda' : 'No hay clientes registrados'}
+                {searchResults ? 'No se encontraron clientes con ese criterio de búsqueda' : 'No hay clientes registrados'}
               </p>
-              {!searchTerm && (
+              {!searchResults && (
                 <Button as={Link} to="/clientes/nuevo" variant="primary">
                   <FaPlus className="me-2" />
                   Crear el Primer Cliente
@@ -187,8 +243,16 @@ function ClienteList() {
           )}
           
           {filteredClientes.length > 0 && (
-            <div className="mt-3 text-muted">
-              Mostrando {filteredClientes.length} de {clientes.length} cliente(s)
+            <div className="mt-3 d-flex justify-content-between align-items-center text-muted">
+              <span>
+                Mostrando {filteredClientes.length} cliente(s)
+                {searchResults && ' que coinciden con la búsqueda'}
+              </span>
+              {!searchResults && nextCursor && (
+                <Button variant="outline-primary" size="sm" onClick={loadMore} disabled={loadingMore}>
+                  {loadingMore ? 'Cargando...' : 'Cargar más'}
+                </Button>
+              )}
             </div>
           )}
         </Card.Body>
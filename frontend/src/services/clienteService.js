@@ -3,9 +3,30 @@ import api from './api';
 const CLIENTES_ENDPOINT = '/clientes';
 
 export const clienteService = {
-  // Obtener todos los clientes
+  // Obtener una página de clientes (paginación por cursor)
+  getPage: async ({ limit = 100, after, sort = 'id' } = {}) => {
+    const response = await api.get(CLIENTES_ENDPOINT, { params: { limit, after, sort } });
+    return {
+      clientes: response.data,
+      nextCursor: response.headers['x-next-cursor'] || null,
+    };
+  },
+
+  // Obtener todos los clientes recorriendo las páginas
   getAll: async () => {
-    const response = await api.get(CLIENTES_ENDPOINT);
+    const clientes = [];
+    let after;
+    do {
+      const page = await clienteService.getPage({ limit: 1000, after });
+      clientes.push(...page.clientes);
+      after = page.nextCursor;
+    } while (after);
+    return clientes;
+  },
+
+  // Buscar clientes por texto (nombre, apellido, razón social, CUIT o email)
+  search: async (q, limit = 50) => {
+    const response = await api.get(`${CLIENTES_ENDPOINT}/search`, { params: { q, limit } });
     return response.data;
   },
 
@@ -44,6 +65,15 @@ export const clienteService = {
     const response = await api.get(`${CLIENTES_ENDPOINT}/email/${email}`);
     return response.data;
   },
+
+  // Suscribirse a los cambios de clientes (Server-Sent Events); devuelve la función para cancelar.
+  // El navegador reconecta solo; 'resincronizar' indica que hay que recargar la lista.
+  subscribe: ({ onCambio, onResincronizar }) => {
+    const source = new EventSource(`${api.defaults.baseURL}${CLIENTES_ENDPOINT}/events`);
+    source.addEventListener('cambio', (event) => onCambio(JSON.parse(event.data)));
+    source.addEventListener('resincronizar', () => onResincronizar());
+    return () => source.close();
+  },
 };
 
 export default clienteService;
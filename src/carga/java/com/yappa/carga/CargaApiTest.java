@@ -0,0 +1,347 @@
+package com.yappa.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.yappa.dto.ClienteRequestDTO;
+import com.yappa.dto.ClienteResponseDTO;
+import com.yappa.service.ClienteService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Harness de carga: levanta la aplicación completa contra H2 en modo PostgreSQL,
+ * ejecuta una mezcla configurable de operaciones desde muchos clientes concurrentes,
+ * registra la latencia de cada operación con HdrHistogram y compara p99 y throughput
+ * contra la línea base versionada.
+ * <p>
+ * Se ejecuta con {@code ./mvnw -Pcarga verify}; la configuración se pasa con
+ * propiedades {@code -Dcarga.*} (ver el perfil en el pom).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:carga;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "logging.level.com.yappa=WARN"
+})
+@ActiveProfiles("test")
+@DisplayName("Prueba de carga de la API de clientes")
+class CargaApiTest {
+
+    // Latencias en microsegundos, hasta 60 s con 3 dígitos significativos
+    private static final long LATENCIA_MAXIMA_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final int clientes = Integer.getInteger("carga.clientes", 32);
+    private final int semillas = Integer.getInteger("carga.semillas", 2000);
+    private final Duration calentamiento = Duration.parse(System.getProperty("carga.calentamiento", "PT10S"));
+    private final Duration duracion = Duration.parse(System.getProperty("carga.duracion", "PT30S"));
+    private final Map<Operacion, Integer> mezcla = Operacion.mezcla(System.getProperty("carga.mezcla",
+            "get=35,list=15,cuit=10,email=10,create=10,update=15,delete=5"));
+    private final double tolerancia = Double.parseDouble(System.getProperty("carga.tolerancia", "0.30"));
+    private final double margenMs = Double.parseDouble(System.getProperty("carga.margen-ms", "5"));
+    private final Path lineaBase = Path.of(System.getProperty("carga.linea-base", "src/carga/resources/linea-base.json"));
+    private final Path resultado = Path.of(System.getProperty("carga.resultado", "target/carga-resultado.json"));
+    private final boolean actualizarLineaBase = Boolean.getBoolean("carga.actualizar-linea-base");
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicLong secuencia = new AtomicLong();
+    private final Queue<Long> creados = new ConcurrentLinkedQueue<>();
+    private final Map<Operacion, Estadisticas> estadisticas = new EnumMap<>(Operacion.class);
+    private List<Semilla> clientesSemilla;
+
+    @Test
+    @DisplayName("Mezcla de operaciones concurrentes dentro de la línea base")
+    void testCargaMixta() throws Exception {
+        // Given
+        clientesSemilla = sembrar();
+        for (Operacion operacion : Operacion.values()) {
+            estadisticas.put(operacion, new Estadisticas());
+        }
+        List<Operacion> ruleta = new ArrayList<>();
+        mezcla.forEach((operacion, peso) -> {
+            for (int i = 0; i < peso; i++) {
+                ruleta.add(operacion);
+            }
+        });
+
+        // When
+        long inicioMedicion = System.nanoTime() + calentamiento.toNanos();
+        long fin = inicioMedicion + duracion.toNanos();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(clientes);
+        List<Future<?>> trabajadores = new ArrayList<>();
+        for (int i = 0; i < clientes; i++) {
+            trabajadores.add(ejecutor.submit(() -> ejecutarHasta(ruleta, inicioMedicion, fin)));
+        }
+        for (Future<?> trabajador : trabajadores) {
+            trabajador.get();
+        }
+        ejecutor.shutdown();
+
+        // Then
+        Map<String, Object> medicion = resumir();
+        Files.createDirectories(resultado.toAbsolutePath().getParent());
+        escribir(resultado, medicion);
+        if (actualizarLineaBase) {
+            escribir(lineaBase, medicion);
+        }
+
+        estadisticas.forEach((operacion, e) -> assertEquals(0, e.errores.sum(),
+                "Errores de servidor o de conexión en " + operacion.clave()));
+        assertTrue(Files.exists(lineaBase),
+                "No existe la línea base " + lineaBase + "; generarla con -Dcarga.actualizar-linea-base=true");
+        List<String> regresiones = compararConLineaBase(objectMapper.readTree(lineaBase.toFile()),
+                objectMapper.valueToTree(medicion));
+        assertTrue(regresiones.isEmpty(), "Regresiones respecto de la línea base:\n" + String.join("\n", regresiones));
+    }
+
+    private List<Semilla> sembrar() {
+        List<Semilla> sembrados = new ArrayList<>(semillas);
+        for (int i = 0; i < semillas; i++) {
+            long n = secuencia.incrementAndGet();
+            // Por el servicio y no por HTTP: más rápido, y registra las claves en el filtro de unicidad
+            ClienteResponseDTO cliente = clienteService.crearCliente(solicitud(n, "Semilla"));
+            sembrados.add(new Semilla(cliente.getId(), cliente.getCuit(), cliente.getEmail(), n));
+        }
+        return sembrados;
+    }
+
+    private void ejecutarHasta(List<Operacion> ruleta, long inicioMedicion, long fin) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < fin) {
+            Operacion operacion = ruleta.get(random.nextInt(ruleta.size()));
+            Long aEliminar = null;
+            if (operacion == Operacion.DELETE) {
+                // Solo se eliminan clientes creados durante la prueba; si no hay, se crea uno
+                aEliminar = creados.poll();
+                if (aEliminar == null) {
+                    operacion = Operacion.CREATE;
+                }
+            }
+            long inicio = System.nanoTime();
+            HttpResponse<String> respuesta;
+            try {
+                respuesta = ejecutar(operacion, aEliminar, random);
+            } catch (IOException ex) {
+                respuesta = null;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (inicio >= inicioMedicion) {
+                estadisticas.get(operacion).registrar(System.nanoTime() - inicio, respuesta);
+            }
+        }
+    }
+
+    private HttpResponse<String> ejecutar(Operacion operacion, Long aEliminar, ThreadLocalRandom random)
+            throws IOException, InterruptedException {
+        Semilla semilla = clientesSemilla.get(random.nextInt(clientesSemilla.size()));
+        return switch (operacion) {
+            case GET -> enviar(get("/api/clientes/" + semilla.getId()));
+            case LIST -> enviar(get("/api/clientes?limit=50" + (random.nextBoolean() ? "&sort=apellido" : "")));
+            case CUIT -> enviar(get("/api/clientes/cuit/" + semilla.getCuit()));
+            case EMAIL -> enviar(get("/api/clientes/email/" + semilla.getEmail()));
+            case UPDATE -> {
+                // Se conservan CUIT y email de la semilla para que las búsquedas sigan encontrándola
+                ClienteRequestDTO cambios = solicitud(semilla.getNumero(), "Actualizado" + random.nextInt(1000));
+                yield enviar(json("/api/clientes/" + semilla.getId(), "PUT", cambios));
+            }
+            case CREATE -> {
+                HttpResponse<String> respuesta = enviar(json("/api/clientes", "POST",
+                        solicitud(secuencia.incrementAndGet(), "Carga")));
+                if (respuesta.statusCode() == 201) {
+                    creados.add(objectMapper.readTree(respuesta.body()).get("id").asLong());
+                }
+                yield respuesta;
+            }
+            case DELETE -> enviar(HttpRequest.newBuilder(uri("/api/clientes/" + aEliminar)).DELETE().build());
+        };
+    }
+
+    private HttpResponse<String> enviar(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String ruta) {
+        return HttpRequest.newBuilder(uri(ruta)).GET().build();
+    }
+
+    private HttpRequest json(String ruta, String metodo, ClienteRequestDTO cuerpo) throws IOException {
+        return HttpRequest.newBuilder(uri(ruta))
+                .header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(cuerpo)))
+                .build();
+    }
+
+    private URI uri(String ruta) {
+        return URI.create("http://localhost:" + puerto + ruta);
+    }
+
+    // CUIT y email se derivan del número para que sean únicos y reproducibles
+    private static ClienteRequestDTO solicitud(long numero, String nombre) {
+        return ClienteRequestDTO.builder()
+                .nombre(nombre)
+                .apellido("Apellido" + (numero % 500))
+                .razonSocial("Razón Social " + numero)
+                .cuit(String.format("30-%08d-1", numero))
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("11" + String.format("%08d", numero))
+                .email("carga" + numero + "@example.com")
+                .build();
+    }
+
+    private Map<String, Object> resumir() {
+        double segundos = duracion.toMillis() / 1000.0;
+        Map<String, Object> operaciones = new LinkedHashMap<>();
+        long total = 0;
+        System.out.printf("%n%-8s %10s %10s %10s %10s %10s %10s %10s %8s%n",
+                "op", "cantidad", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "rechazadas", "errores");
+        for (Map.Entry<Operacion, Estadisticas> entrada : estadisticas.entrySet()) {
+            Histogram h = entrada.getValue().latencias;
+            long cantidad = h.getTotalCount();
+            if (cantidad == 0) {
+                continue;
+            }
+            total += cantidad;
+            Map<String, Object> fila = new LinkedHashMap<>();
+            fila.put("cantidad", cantidad);
+            fila.put("throughput", redondear(cantidad / segundos));
+            fila.put("p50Ms", milis(h.getValueAtPercentile(50)));
+            fila.put("p99Ms", milis(h.getValueAtPercentile(99)));
+            fila.put("p999Ms", milis(h.getValueAtPercentile(99.9)));
+            fila.put("maxMs", milis(h.getMaxValue()));
+            fila.put("noExitosas", entrada.getValue().noExitosas.sum());
+            fila.put("rechazadas", entrada.getValue().rechazadas.sum());
+            fila.put("errores", entrada.getValue().errores.sum());
+            operaciones.put(entrada.getKey().clave(), fila);
+            System.out.printf("%-8s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %10d %8d%n", entrada.getKey().clave(),
+                    cantidad, fila.get("throughput"), fila.get("p50Ms"), fila.get("p99Ms"), fila.get("p999Ms"),
+                    fila.get("maxMs"), fila.get("rechazadas"), fila.get("errores"));
+        }
+
+        // El entorno acompaña la medición: una línea base solo es comparable en hardware similar
+        Map<String, Object> medicion = new LinkedHashMap<>();
+        medicion.put("procesadores", Runtime.getRuntime().availableProcessors());
+        medicion.put("java", System.getProperty("java.version"));
+        medicion.put("clientes", clientes);
+        medicion.put("duracionSegundos", segundos);
+        medicion.put("throughputTotal", redondear(total / segundos));
+        medicion.put("operaciones", operaciones);
+        System.out.printf("total    %10d %10.1f%n%n", total, medicion.get("throughputTotal"));
+        return medicion;
+    }
+
+    private List<String> compararConLineaBase(JsonNode base, JsonNode actual) {
+        List<String> regresiones = new ArrayList<>();
+        double throughputMinimo = base.path("throughputTotal").asDouble() * (1 - tolerancia);
+        if (actual.path("throughputTotal").asDouble() < throughputMinimo) {
+            regresiones.add(String.format("total: throughput %.1f req/s < mínimo %.1f",
+                    actual.path("throughputTotal").asDouble(), throughputMinimo));
+        }
+        base.path("operaciones").fields().forEachRemaining(entrada -> {
+            JsonNode medida = actual.path("operaciones").path(entrada.getKey());
+            if (medida.isMissingNode()) {
+                return;
+            }
+            double p99Maximo = entrada.getValue().path("p99Ms").asDouble() * (1 + tolerancia) + margenMs;
+            if (medida.path("p99Ms").asDouble() > p99Maximo) {
+                regresiones.add(String.format("%s: p99 %.2f ms > máximo %.2f ms",
+                        entrada.getKey(), medida.path("p99Ms").asDouble(), p99Maximo));
+            }
+            double minimo = entrada.getValue().path("throughput").asDouble() * (1 - tolerancia);
+            if (medida.path("throughput").asDouble() < minimo) {
+                regresiones.add(String.format("%s: throughput %.1f req/s < mínimo %.1f",
+                        entrada.getKey(), medida.path("throughput").asDouble(), minimo));
+            }
+        });
+        return regresiones;
+    }
+
+    private void escribir(Path destino, Map<String, Object> medicion) throws IOException {
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(destino.toFile(), medicion);
+    }
+
+    private static double milis(long micros) {
+        return redondear(micros / 1000.0);
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+
+    private static class Estadisticas {
+        private final Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_MICROS, 3);
+        private final LongAdder noExitosas = new LongAdder();
+        private final LongAdder rechazadas = new LongAdder();
+        private final LongAdder errores = new LongAdder();
+
+        void registrar(long nanos, HttpResponse<?> respuesta) {
+            int status = respuesta == null ? -1 : respuesta.statusCode();
+            if (status == 503 && respuesta.headers().firstValue(HttpHeaders.RETRY_AFTER).isPresent()) {
+                // Rechazo por sobrecarga (límite de concurrencia): no se atendió, así que no cuenta como
+                // error ni entra en la latencia o el throughput; un aumento se ve como caída del throughput
+                rechazadas.increment();
+                return;
+            }
+            latencias.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), LATENCIA_MAXIMA_MICROS));
+            if (status < 0 || status >= 500) {
+                errores.increment();
+            } else if (status >= 400) {
+                noExitosas.increment();
+            }
+        }
+    }
+
+    @lombok.Value
+    private static class Semilla {
+        long id;
+        String cuit;
+        String email;
+        long numero;
+    }
+}
@@ -0,0 +1,40 @@
+package com.yappa.carga;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Operaciones que ejecuta el harness de carga contra la API.
+ */
+enum Operacion {
+    CREATE, GET, LIST, UPDATE, DELETE, CUIT, EMAIL;
+
+    /**
+     * Interpreta una mezcla con el formato {@code get=40,list=15,create=10,...};
+     * los pesos son relativos y no necesitan sumar 100.
+     */
+    static Map<Operacion, Integer> mezcla(String definicion) {
+        Map<Operacion, Integer> pesos = new EnumMap<>(Operacion.class);
+        Arrays.stream(definicion.split(","))
+                .map(String::trim)
+                .filter(parte -> !parte.isEmpty())
+                .forEach(parte -> {
+                    String[] claveValor = parte.split("=");
+                    if (claveValor.length != 2) {
+                        throw new IllegalArgumentException("Entrada inválida en la mezcla de operaciones: " + parte);
+                    }
+                    pesos.put(valueOf(claveValor[0].trim().toUpperCase(Locale.ROOT)),
+                            Integer.parseInt(claveValor[1].trim()));
+                });
+        if (pesos.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("La mezcla de operaciones no tiene pesos positivos: " + definicion);
+        }
+        return pesos;
+    }
+
+    String clave() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,83 @@
+package com.yappa.benchmark;
+
+import com.yappa.dto.ClavesCliente;
+import com.yappa.dto.ClienteRequestDTO;
+import com.yappa.dto.ClienteResponseDTO;
+import com.yappa.entity.Cliente;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos de prueba compartidos por los benchmarks.
+ */
+public final class DatosBenchmark {
+
+    private DatosBenchmark() {
+    }
+
+    public static Cliente cliente(long id) {
+        return Cliente.builder()
+                .id(id)
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit(20_000_000_009L + id % 100_000_000 * 10)
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("cliente" + id + "@example.com")
+                .fechaCreacion(LocalDateTime.of(2024, 11, 21, 10, 30))
+                .fechaModificacion(LocalDateTime.of(2024, 11, 21, 10, 30))
+                .build();
+    }
+
+    public static ClienteResponseDTO respuesta(long id) {
+        Cliente cliente = cliente(id);
+        return ClienteResponseDTO.builder()
+                .id(cliente.getId())
+                .nombre(cliente.getNombre())
+                .apellido(cliente.getApellido())
+                .razonSocial(cliente.getRazonSocial())
+                .cuit(ClavesCliente.formatearCuit(cliente.getCuit()))
+                .fechaNacimiento(cliente.getFechaNacimiento())
+                .telefonoCelular(cliente.getTelefonoCelular())
+                .email(cliente.getEmail())
+                .fechaCreacion(cliente.getFechaCreacion())
+                .fechaModificacion(cliente.getFechaModificacion())
+                .build();
+    }
+
+    public static List<ClienteResponseDTO> respuestas(int cantidad) {
+        List<ClienteResponseDTO> clientes = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            clientes.add(respuesta(i));
+        }
+        return clientes;
+    }
+
+    public static ClienteRequestDTO solicitudValida() {
+        return ClienteRequestDTO.builder()
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit("20-12345678-9")
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("juan.perez@example.com")
+                .build();
+    }
+
+    public static ClienteRequestDTO solicitudInvalida() {
+        return ClienteRequestDTO.builder()
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit("20123456789")
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("123")
+                .email("juan.perez@")
+                .build();
+    }
+}
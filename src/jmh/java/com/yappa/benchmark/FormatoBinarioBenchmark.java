@@ -0,0 +1,88 @@
+package com.yappa.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.yappa.dto.ClienteResponseDTO;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Una página de {@link ClienteResponseDTO} en JSON y en cada formato binario,
+ * con los ObjectMapper configurados como en {@code FormatosBinariosConfig}.
+ * Al preparar cada formato se imprime el tamaño en bytes de la página.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatoBinarioBenchmark {
+
+    @Param({"json", "cbor", "smile", "msgpack"})
+    private String formato;
+
+    @Param({"100"})
+    private int cantidad;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<ClienteResponseDTO> clientes;
+    private byte[] codificado;
+
+    @Setup
+    public void preparar() throws IOException {
+        ObjectMapper objectMapper = switch (formato) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> binario(new CBORFactory());
+            case "smile" -> binario(new SmileFactory());
+            case "msgpack" -> binario(new MessagePackFactory());
+            default -> throw new IllegalArgumentException("Formato desconocido: " + formato);
+        };
+        TypeReference<List<ClienteResponseDTO>> tipo = new TypeReference<>() {
+        };
+        writer = objectMapper.writerFor(tipo);
+        reader = objectMapper.readerFor(tipo);
+        clientes = DatosBenchmark.respuestas(cantidad);
+        codificado = writer.writeValueAsBytes(clientes);
+        System.out.printf("%n%s: %d bytes para %d clientes%n", formato, codificado.length, cantidad);
+    }
+
+    @Benchmark
+    public byte[] codificar() throws IOException {
+        return writer.writeValueAsBytes(clientes);
+    }
+
+    @Benchmark
+    public List<ClienteResponseDTO> decodificar() throws IOException {
+        return reader.readValue(codificado);
+    }
+
+    private static ObjectMapper binario(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
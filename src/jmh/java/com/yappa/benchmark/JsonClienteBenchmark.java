@@ -0,0 +1,65 @@
+package com.yappa.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.yappa.dto.ClienteResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización y deserialización con Jackson de listas de {@link ClienteResponseDTO},
+ * con un ObjectMapper configurado como el de Spring Boot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonClienteBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int cantidad;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<ClienteResponseDTO> clientes;
+    private byte[] json;
+
+    @Setup
+    public void preparar() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        TypeReference<List<ClienteResponseDTO>> tipo = new TypeReference<>() {
+        };
+        writer = objectMapper.writerFor(tipo);
+        reader = objectMapper.readerFor(tipo);
+        clientes = DatosBenchmark.respuestas(cantidad);
+        json = writer.writeValueAsBytes(clientes);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        return writer.writeValueAsBytes(clientes);
+    }
+
+    @Benchmark
+    public List<ClienteResponseDTO> deserializar() throws IOException {
+        return reader.readValue(json);
+    }
+}
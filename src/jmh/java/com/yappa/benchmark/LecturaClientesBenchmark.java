@@ -0,0 +1,135 @@
+package com.yappa.benchmark;
+
+import com.yappa.YappaApplication;
+import com.yappa.dto.ClavesCliente;
+import com.yappa.dto.ClienteResponseDTO;
+import com.yappa.entity.Cliente;
+import com.yappa.repository.ClienteRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura de una página de clientes contra H2 en memoria: entidades administradas
+ * convertidas campo a campo (el camino anterior), una proyección JPQL con
+ * constructor y la lectura JDBC del repositorio, que mapea cada fila directo al
+ * DTO. Todas dentro de una transacción de solo lectura, como en el servicio.
+ * <p>
+ * Para ver la tasa de asignación: {@code -Djmh.filtro="LecturaClientesBenchmark -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LecturaClientesBenchmark {
+
+    private static final int CLIENTES = 10_000;
+    private static final String CUIT_FORMATEADO = "CONCAT(SUBSTRING(CAST(c.cuit AS String), 1, 2), '-', "
+            + "SUBSTRING(CAST(c.cuit AS String), 3, 8), '-', SUBSTRING(CAST(c.cuit AS String), 11, 1))";
+    private static final String PROYECCION_JPQL = "SELECT new com.yappa.dto.ClienteResponseDTO(c.id, c.nombre, "
+            + "c.apellido, c.razonSocial, " + CUIT_FORMATEADO + ", c.fechaNacimiento, c.telefonoCelular, c.email, "
+            + "c.fechaCreacion, c.fechaModificacion) FROM Cliente c WHERE c.id > :id ORDER BY c.id ASC";
+
+    @Param({"100", "10000"})
+    private int tamano;
+
+    private ConfigurableApplicationContext contexto;
+    private ClienteRepository clienteRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate lectura;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(YappaApplication.class)
+                .web(WebApplicationType.NONE)
+                // Como argumentos y no como propiedades por defecto: deben pisar application.yml
+                .run("--spring.profiles.active=test",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--yappa.filtro-unicidad.habilitado=false",
+                        "--logging.level.root=WARN");
+        clienteRepository = contexto.getBean(ClienteRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(contexto.getBean(EntityManagerFactory.class));
+        PlatformTransactionManager transactionManager = contexto.getBean(PlatformTransactionManager.class);
+
+        List<Cliente> clientes = new ArrayList<>(CLIENTES);
+        for (int i = 1; i <= CLIENTES; i++) {
+            Cliente cliente = DatosBenchmark.cliente(i);
+            cliente.setId(null);
+            clientes.add(cliente);
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> clienteRepository.saveAll(clientes));
+
+        lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+    }
+
+    @TearDown
+    public void liberar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<ClienteResponseDTO> entidades() {
+        return lectura.execute(status -> entityManager
+                .createQuery("SELECT c FROM Cliente c WHERE c.id > :id ORDER BY c.id ASC", Cliente.class)
+                .setParameter("id", 0L)
+                .setMaxResults(tamano)
+                .getResultList()
+                .stream()
+                .map(LecturaClientesBenchmark::convertir)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ClienteResponseDTO> proyeccionJpql() {
+        return lectura.execute(status -> entityManager
+                .createQuery(PROYECCION_JPQL, ClienteResponseDTO.class)
+                .setParameter("id", 0L)
+                .setMaxResults(tamano)
+                .getResultList());
+    }
+
+    @Benchmark
+    public List<ClienteResponseDTO> proyeccionRepositorio() {
+        return lectura.execute(status -> clienteRepository.obtenerPaginaPorId(0L, tamano));
+    }
+
+    private static ClienteResponseDTO convertir(Cliente cliente) {
+        return ClienteResponseDTO.builder()
+                .id(cliente.getId())
+                .nombre(cliente.getNombre())
+                .apellido(cliente.getApellido())
+                .razonSocial(cliente.getRazonSocial())
+                .cuit(ClavesCliente.formatearCuit(cliente.getCuit()))
+                .fechaNacimiento(cliente.getFechaNacimiento())
+                .telefonoCelular(cliente.getTelefonoCelular())
+                .email(cliente.getEmail())
+                .fechaCreacion(cliente.getFechaCreacion())
+                .fechaModificacion(cliente.getFechaModificacion())
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.yappa.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.yappa.config.MuestreoLogTurboFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Costo por petición de los logs INFO del servicio según la configuración de
+ * Logback: el modo sincrónico con patrón (el de desarrollo) frente al asincrónico
+ * con JSON y muestreo del perfil prod. Se escribe a un archivo temporal para
+ * que la E/S sea real, desde varios hilos como en el servidor.
+ * <p>
+ * En los modos asincrónicos se mide lo que paga el hilo de la petición; con la
+ * cola llena los eventos INFO se descartan en lugar de bloquear.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegistroLogBenchmark {
+
+    @Param({"sincronico", "asincronico", "asincronico-muestreado"})
+    private String modo;
+
+    private final AtomicLong ids = new AtomicLong();
+    private LoggerContext contexto;
+    private Logger logger;
+    private Path archivo;
+
+    @Setup
+    public void preparar() throws IOException {
+        archivo = Files.createTempFile("yappa-log-benchmark", ".log");
+        contexto = new LoggerContext();
+        contexto.start();
+
+        Appender<ILoggingEvent> destino = modo.equals("sincronico")
+                ? archivo(encoderPatron())
+                : asincronico(archivo(encoderJson()));
+        if (modo.equals("asincronico-muestreado")) {
+            MuestreoLogTurboFilter muestreo = new MuestreoLogTurboFilter();
+            muestreo.setContext(contexto);
+            muestreo.start();
+            contexto.addTurboFilter(muestreo);
+        }
+
+        logger = contexto.getLogger("com.yappa.service.impl.ClienteServiceImpl");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(destino);
+    }
+
+    @TearDown
+    public void liberar() throws IOException {
+        contexto.stop();
+        Files.deleteIfExists(archivo);
+    }
+
+    @Benchmark
+    public void logCreacionCliente() {
+        logger.info("Cliente creado exitosamente con ID: {}", ids.incrementAndGet());
+    }
+
+    private Encoder<ILoggingEvent> encoderPatron() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(contexto);
+        // Equivalente al patrón de consola de Spring Boot, sin colores
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> encoderJson() {
+        JsonEncoder encoder = new JsonEncoder();
+        encoder.setContext(contexto);
+        encoder.start();
+        return encoder;
+    }
+
+    private Appender<ILoggingEvent> archivo(Encoder<ILoggingEvent> encoder) {
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(contexto);
+        appender.setFile(archivo.toString());
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    private Appender<ILoggingEvent> asincronico(Appender<ILoggingEvent> destino) {
+        // Misma configuración que el appender ASYNC de logback-spring.xml
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(contexto);
+        appender.setQueueSize(8192);
+        appender.setNeverBlock(true);
+        appender.setIncludeCallerData(false);
+        appender.addAppender(destino);
+        appender.start();
+        return appender;
+    }
+}
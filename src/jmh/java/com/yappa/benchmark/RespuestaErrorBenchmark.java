@@ -0,0 +1,81 @@
+package com.yappa.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.yappa.dto.ClienteRequestDTO;
+import com.yappa.exception.BusinessException;
+import com.yappa.exception.GlobalExceptionHandler;
+import com.yappa.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción de los cuerpos de error de {@link GlobalExceptionHandler}.
+ * Las excepciones se crean una vez: se mide el armado de la respuesta, no el stack trace.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RespuestaErrorBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ResourceNotFoundException noEncontrado;
+    private BusinessException negocio;
+    private MethodArgumentNotValidException validacion;
+
+    @Setup
+    public void preparar() throws NoSuchMethodException {
+        // Se apaga el log del handler para medir el armado del cuerpo y no la E/S de consola
+        ((Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class)).setLevel(Level.OFF);
+        handler = new GlobalExceptionHandler();
+        noEncontrado = new ResourceNotFoundException("Cliente no encontrado con ID: 1");
+        negocio = new BusinessException("Ya existe un cliente con el CUIT: 20-12345678-9");
+
+        BeanPropertyBindingResult resultado = new BeanPropertyBindingResult(
+                DatosBenchmark.solicitudInvalida(), "clienteRequestDTO");
+        resultado.rejectValue("cuit", "Pattern", "El CUIT debe tener formato XX-XXXXXXXX-X");
+        resultado.rejectValue("telefonoCelular", "Pattern", "El teléfono debe tener 10 dígitos");
+        resultado.rejectValue("email", "Email", "El email debe ser válido");
+        MethodParameter parametro = new MethodParameter(
+                RespuestaErrorBenchmark.class.getDeclaredMethod("recibir", ClienteRequestDTO.class), 0);
+        validacion = new MethodArgumentNotValidException(parametro, resultado);
+    }
+
+    @Benchmark
+    public ResponseEntity<GlobalExceptionHandler.ErrorResponse> noEncontrado() {
+        return handler.handleResourceNotFoundException(noEncontrado);
+    }
+
+    @Benchmark
+    public ResponseEntity<GlobalExceptionHandler.ErrorResponse> errorDeNegocio() {
+        return handler.handleBusinessException(negocio);
+    }
+
+    @Benchmark
+    public ResponseEntity<GlobalExceptionHandler.ErrorResponse> errorDeValidacion() {
+        return handler.handleValidationExceptions(validacion);
+    }
+
+    // Firma usada solo para construir el MethodParameter de la excepción de validación
+    @SuppressWarnings("unused")
+    private void recibir(ClienteRequestDTO dto) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.yappa.benchmark;
+
+import com.yappa.dto.ClienteRequestDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation de {@link ClienteRequestDTO}: los {@code @Pattern} de CUIT y teléfono
+ * y el {@code @Email}, con un DTO válido y con uno que viola las tres restricciones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidacionClienteBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private ClienteRequestDTO valido;
+    private ClienteRequestDTO invalido;
+
+    @Setup
+    public void preparar() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        valido = DatosBenchmark.solicitudValida();
+        invalido = DatosBenchmark.solicitudInvalida();
+    }
+
+    @TearDown
+    public void cerrar() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteRequestDTO>> validarDtoValido() {
+        return validator.validate(valido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteRequestDTO>> validarDtoInvalido() {
+        return validator.validate(invalido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteRequestDTO>> validarSoloCuit() {
+        return validator.validateProperty(valido, "cuit");
+    }
+}
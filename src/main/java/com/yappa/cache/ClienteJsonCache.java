@@ -0,0 +1,173 @@
+package com.yappa.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.yappa.dto.CacheEstadisticasDTO;
+import com.yappa.dto.ClavesCliente;
+import com.yappa.dto.ClienteResponseDTO;
+import com.yappa.config.RuteoDataSource;
+import com.yappa.dto.VersionClientes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caché acotada de clientes ya serializados a JSON, indexada por id, CUIT y email.
+ * Un acierto devuelve los bytes listos para escribir en la respuesta, sin tocar
+ * la base de datos ni el ObjectMapper.
+ * <p>
+ * Con réplicas solo se guardan los clientes leídos de la primaria: una réplica
+ * atrasada puede devolver el valor anterior a una escritura ya invalidada, y la
+ * caché lo serviría durante todo el TTL, también a quien hizo la escritura.
+ */
+@Component
+@Slf4j
+public class ClienteJsonCache implements MeterBinder {
+
+    private final ObjectMapper objectMapper;
+    private final boolean conReplicas;
+    private final Cache<Long, Entrada> porId;
+    private final Cache<String, Long> idPorCuit;
+    private final Cache<String, Long> idPorEmail;
+
+    // Se incrementa en cada invalidación: una carga que se solapó con una escritura no se guarda
+    private final AtomicLong invalidaciones = new AtomicLong();
+
+    public ClienteJsonCache(ObjectMapper objectMapper,
+                            @Value("${yappa.replicas.habilitado:false}") boolean conReplicas,
+                            @Value("${yappa.cache.clientes.max-size:10000}") long maxSize,
+                            @Value("${yappa.cache.clientes.ttl:10m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.conReplicas = conReplicas;
+        this.porId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idPorCuit = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+        this.idPorEmail = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, porId, "clientes");
+    }
+
+    public Entrada obtenerPorId(Long id, Supplier<ClienteResponseDTO> cargador) {
+        Entrada entrada = porId.getIfPresent(id);
+        return entrada != null ? entrada : cargar(cargador);
+    }
+
+    /**
+     * ETag del cliente si está en caché, sin cargarlo ni contabilizar aciertos.
+     */
+    public Optional<String> etagEnCache(Long id) {
+        return Optional.ofNullable(porId.asMap().get(id)).map(Entrada::getEtag);
+    }
+
+    public Entrada obtenerPorCuit(String cuit, Supplier<ClienteResponseDTO> cargador) {
+        String clave = ClavesCliente.normalizarCuit(cuit);
+        Entrada entrada = buscar(idPorCuit.getIfPresent(clave));
+        return entrada != null && clave.equals(entrada.getCuit()) ? entrada : cargar(cargador);
+    }
+
+    public Entrada obtenerPorEmail(String email, Supplier<ClienteResponseDTO> cargador) {
+        String clave = ClavesCliente.normalizarEmail(email);
+        Entrada entrada = buscar(idPorEmail.getIfPresent(clave));
+        return entrada != null && clave.equals(entrada.getEmail()) ? entrada : cargar(cargador);
+    }
+
+    /**
+     * Invalida el cliente en forma inmediata y, si hay una transacción activa,
+     * nuevamente después del commit para descartar lecturas concurrentes del valor anterior.
+     */
+    public void invalidar(Long id) {
+        invalidarAhora(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidarAhora(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Cambia con cada invalidación, es decir, con cada escritura de clientes.
+     */
+    public long generacion() {
+        return invalidaciones.get();
+    }
+
+    public void invalidarTodo() {
+        invalidaciones.incrementAndGet();
+        porId.invalidateAll();
+        idPorCuit.invalidateAll();
+        idPorEmail.invalidateAll();
+    }
+
+    public CacheEstadisticasDTO estadisticas() {
+        CacheStats stats = porId.stats();
+        return CacheEstadisticasDTO.builder()
+                .entradas(porId.estimatedSize())
+                .aciertos(stats.hitCount())
+                .fallos(stats.missCount())
+                .desalojos(stats.evictionCount())
+                .tasaAciertos(stats.hitRate())
+                .build();
+    }
+
+    private Entrada buscar(Long id) {
+        return id != null ? porId.getIfPresent(id) : null;
+    }
+
+    private Entrada cargar(Supplier<ClienteResponseDTO> cargador) {
+        long version = invalidaciones.get();
+        boolean leeEnPrimaria = !conReplicas || RuteoDataSource.primariaForzada();
+        ClienteResponseDTO cliente = cargador.get();
+        Entrada entrada = new Entrada(serializar(cliente), cliente.getCuit(), ClavesCliente.normalizarEmail(cliente.getEmail()),
+                VersionClientes.etagCliente(cliente.getId(), cliente.getFechaModificacion()));
+        if (leeEnPrimaria && version == invalidaciones.get()) {
+            porId.put(cliente.getId(), entrada);
+            idPorCuit.put(entrada.getCuit(), cliente.getId());
+            idPorEmail.put(entrada.getEmail(), cliente.getId());
+        }
+        return entrada;
+    }
+
+    private void invalidarAhora(Long id) {
+        invalidaciones.incrementAndGet();
+        porId.invalidate(id);
+    }
+
+    private byte[] serializar(ClienteResponseDTO cliente) {
+        try {
+            return objectMapper.writeValueAsBytes(cliente);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo serializar el cliente " + cliente.getId(), ex);
+        }
+    }
+
+    @lombok.Value
+    public static class Entrada {
+        byte[] json;
+        String cuit;
+        // En minúsculas, como se compara
+        String email;
+        String etag;
+    }
+}
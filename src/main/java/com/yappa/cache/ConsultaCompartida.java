@@ -0,0 +1,80 @@
+package com.yappa.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa las consultas concurrentes por la misma clave: la primera se ejecuta y
+ * las que llegan mientras está en curso esperan y reciben el mismo resultado (o
+ * la misma excepción). Al terminar la clave se descarta; no guarda resultados.
+ * <p>
+ * Cada consulta queda asociada a la generación de datos en que empezó. Quien
+ * llega con una generación posterior (hubo una escritura en el medio) no se suma
+ * a ella y ejecuta su propia consulta, para no recibir datos anteriores a la escritura.
+ */
+public class ConsultaCompartida<K, V> {
+
+    private final ConcurrentHashMap<K, EnCurso<V>> enCurso = new ConcurrentHashMap<>();
+    private final AtomicLong ejecutadas = new AtomicLong();
+    private final AtomicLong coalescidas = new AtomicLong();
+
+    public V ejecutar(K clave, long generacion, Supplier<V> consulta) {
+        EnCurso<V> propia = new EnCurso<>(generacion);
+        EnCurso<V> actual = enCurso.compute(clave,
+                (k, existente) -> existente != null && existente.generacion == generacion ? existente : propia);
+        if (actual != propia) {
+            coalescidas.incrementAndGet();
+            return actual.esperar();
+        }
+        ejecutadas.incrementAndGet();
+        try {
+            V resultado = consulta.get();
+            propia.resultado.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error ex) {
+            propia.resultado.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            // Solo si sigue siendo la registrada: una consulta de otra generación pudo reemplazarla
+            enCurso.remove(clave, propia);
+        }
+    }
+
+    public long getEjecutadas() {
+        return ejecutadas.get();
+    }
+
+    public long getCoalescidas() {
+        return coalescidas.get();
+    }
+
+    int getEnCurso() {
+        return enCurso.size();
+    }
+
+    private static class EnCurso<V> {
+        private final long generacion;
+        private final CompletableFuture<V> resultado = new CompletableFuture<>();
+
+        EnCurso(long generacion) {
+            this.generacion = generacion;
+        }
+
+        V esperar() {
+            try {
+                return resultado.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException causa) {
+                    throw causa;
+                }
+                if (ex.getCause() instanceof Error causa) {
+                    throw causa;
+                }
+                throw ex;
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.yappa.cache;
+
+import com.yappa.config.RuteoDataSource;
+import com.yappa.dto.ClienteResponseDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Consultas individuales de clientes en curso, por id, CUIT y email. Cuando
+ * muchas peticiones piden el mismo cliente a la vez (por ejemplo, al vencer su
+ * entrada en la caché) se resuelven con una sola consulta a la base.
+ * <p>
+ * Con réplicas, las lecturas que deben ir a la primaria (lectura de las propias
+ * escrituras) no se suman a una consulta en curso que va a una réplica.
+ */
+@Component
+public class ConsultasClientesEnCurso implements MeterBinder {
+
+    private final boolean conReplicas;
+    private final Consultas enPrimaria = new Consultas();
+    private final Consultas enReplicas = new Consultas();
+
+    public ConsultasClientesEnCurso(@Value("${yappa.replicas.habilitado:false}") boolean conReplicas) {
+        this.conReplicas = conReplicas;
+    }
+
+    public ConsultaCompartida<Long, ClienteResponseDTO> porId() {
+        return destino().porId;
+    }
+
+    public ConsultaCompartida<String, ClienteResponseDTO> porCuit() {
+        return destino().porCuit;
+    }
+
+    public ConsultaCompartida<String, ClienteResponseDTO> porEmail() {
+        return destino().porEmail;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Map.<String, Function<Consultas, ConsultaCompartida<?, ?>>>of(
+                "id", consultas -> consultas.porId,
+                "cuit", consultas -> consultas.porCuit,
+                "email", consultas -> consultas.porEmail).forEach((consulta, compartida) -> {
+            FunctionCounter.builder("yappa.consultas.clientes", this,
+                            enCurso -> enCurso.sumar(compartida, ConsultaCompartida::getEjecutadas))
+                    .description("Consultas individuales según si fueron a la base o esperaron una igual en curso")
+                    .tag("consulta", consulta)
+                    .tag("resultado", "ejecutada")
+                    .register(registry);
+            FunctionCounter.builder("yappa.consultas.clientes", this,
+                            enCurso -> enCurso.sumar(compartida, ConsultaCompartida::getCoalescidas))
+                    .description("Consultas individuales según si fueron a la base o esperaron una igual en curso")
+                    .tag("consulta", consulta)
+                    .tag("resultado", "coalescida")
+                    .register(registry);
+            Gauge.builder("yappa.consultas.clientes.coalescencia", this, enCurso -> enCurso.proporcion(compartida))
+                    .description("Proporción de consultas resueltas con el resultado de otra en curso, desde el inicio")
+                    .tag("consulta", consulta)
+                    .register(registry);
+        });
+    }
+
+    private Consultas destino() {
+        return conReplicas && !RuteoDataSource.primariaForzada() ? enReplicas : enPrimaria;
+    }
+
+    private double sumar(Function<Consultas, ConsultaCompartida<?, ?>> compartida,
+                         ToLongFunction<ConsultaCompartida<?, ?>> contador) {
+        return contador.applyAsLong(compartida.apply(enPrimaria)) + contador.applyAsLong(compartida.apply(enReplicas));
+    }
+
+    private double proporcion(Function<Consultas, ConsultaCompartida<?, ?>> compartida) {
+        double coalescidas = sumar(compartida, ConsultaCompartida::getCoalescidas);
+        double total = sumar(compartida, ConsultaCompartida::getEjecutadas) + coalescidas;
+        return total == 0 ? 0 : coalescidas / total;
+    }
+
+    private static class Consultas {
+        private final ConsultaCompartida<Long, ClienteResponseDTO> porId = new ConsultaCompartida<>();
+        private final ConsultaCompartida<String, ClienteResponseDTO> porCuit = new ConsultaCompartida<>();
+        private final ConsultaCompartida<String, ClienteResponseDTO> porEmail = new ConsultaCompartida<>();
+    }
+}
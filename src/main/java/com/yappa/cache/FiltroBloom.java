@@ -0,0 +1,125 @@
+package com.yappa.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de cadenas, seguro para agregar y consultar desde varios hilos.
+ * Una respuesta negativa es definitiva; una positiva puede ser un falso positivo.
+ */
+class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long cantidadBits;
+    private final int funcionesHash;
+    private final AtomicLong bitsEncendidos = new AtomicLong();
+    private final AtomicLong elementos = new AtomicLong();
+
+    private FiltroBloom(long cantidadBits, int funcionesHash) {
+        this.bits = new AtomicLongArray((int) ((cantidadBits + 63) / 64));
+        this.cantidadBits = cantidadBits;
+        this.funcionesHash = funcionesHash;
+    }
+
+    /**
+     * Dimensiona el filtro para la capacidad y tasa de falsos positivos pedidas,
+     * sin superar el máximo de bits indicado.
+     */
+    static FiltroBloom crear(long capacidad, double tasaFalsosPositivos, long maximoBits) {
+        long n = Math.max(1, capacidad);
+        long optimo = (long) Math.ceil(-n * Math.log(tasaFalsosPositivos) / (Math.log(2) * Math.log(2)));
+        // Las posiciones se calculan sobre un int no negativo
+        long cantidadBits = Math.max(64, Math.min(Math.min(optimo, maximoBits), Integer.MAX_VALUE));
+        int funcionesHash = (int) Math.max(1, Math.round((double) cantidadBits / n * Math.log(2)));
+        return new FiltroBloom(cantidadBits, Math.min(funcionesHash, 30));
+    }
+
+    void agregar(String valor) {
+        agregarHash(hash64(valor));
+    }
+
+    /**
+     * Agrega un valor a partir de su {@link #hash64}, que no depende del tamaño del filtro.
+     */
+    void agregarHash(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        boolean nuevo = false;
+        for (int i = 1; i <= funcionesHash; i++) {
+            nuevo |= encender(posicion(h1 + i * h2));
+        }
+        if (nuevo) {
+            elementos.incrementAndGet();
+        }
+    }
+
+    boolean puedeContener(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= funcionesHash; i++) {
+            long posicion = posicion(h1 + i * h2);
+            if ((bits.get((int) (posicion >>> 6)) & (1L << posicion)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long getCantidadBits() {
+        return cantidadBits;
+    }
+
+    int getFuncionesHash() {
+        return funcionesHash;
+    }
+
+    long getElementos() {
+        return elementos.get();
+    }
+
+    long getMemoriaBytes() {
+        return (long) bits.length() * Long.BYTES;
+    }
+
+    /**
+     * Tasa de falsos positivos esperada según la proporción de bits encendidos.
+     */
+    double tasaFalsosPositivosEstimada() {
+        return Math.pow((double) bitsEncendidos.get() / cantidadBits, funcionesHash);
+    }
+
+    private long posicion(int hashCombinado) {
+        return (hashCombinado & Integer.MAX_VALUE) % cantidadBits;
+    }
+
+    private boolean encender(long posicion) {
+        int palabra = (int) (posicion >>> 6);
+        long mascara = 1L << posicion;
+        long actual;
+        do {
+            actual = bits.get(palabra);
+            if ((actual & mascara) != 0) {
+                return false;
+            }
+        } while (!bits.compareAndSet(palabra, actual, actual | mascara));
+        bitsEncendidos.incrementAndGet();
+        return true;
+    }
+
+    // FNV-1a de 64 bits con el mezclador final de MurmurHash3
+    static long hash64(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,321 @@
+package com.yappa.cache;
+
+import com.yappa.dto.ClavesCliente;
+import com.yappa.dto.FiltroUnicidadEstadisticasDTO;
+import com.yappa.repository.ClienteRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Filtros de Bloom en memoria con los CUIT y emails existentes. Permiten
+ * responder "no existe" sin consultar la base de datos; un positivo siempre
+ * se confirma con la consulta.
+ * <p>
+ * Las claves se registran antes de escribirlas, por lo que el filtro nunca
+ * niega un cliente existente. Una reconstrucción no ve las escrituras que se
+ * confirman después de que empieza su recorrido: las claves registradas mientras
+ * se reconstruye se agregan al filtro nuevo antes de publicarlo, y las de cada
+ * transacción se vuelven a agregar al confirmarse. Las bajas y cambios de CUIT/email dejan entradas
+ * obsoletas (solo cuestan una consulta) que se descartan en la reconstrucción periódica.
+ * <p>
+ * Solo ve las altas de esta instancia: un cliente creado por otra instancia o fuera
+ * de la aplicación se niega hasta la próxima reconstrucción. Por eso está
+ * deshabilitado por defecto y solo debe habilitarse en despliegues de una instancia.
+ */
+@Component
+@Slf4j
+public class FiltroUnicidadClientes implements MeterBinder {
+
+    private final ClienteRepository clienteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final double tasaFalsosPositivos;
+    private final long capacidadMinima;
+    private final long maximoBits;
+    private final int fetchSize;
+
+    private final AtomicLong consultasEvitadas = new AtomicLong();
+    private final AtomicLong consultasRealizadas = new AtomicLong();
+    private final AtomicLong falsosPositivos = new AtomicLong();
+    private final ReentrantLock reconstruccion = new ReentrantLock();
+
+    // Null hasta la primera construcción: mientras tanto toda clave "puede existir"
+    private volatile Filtros actuales;
+    // Durante una reconstrucción, las claves registradas para agregarlas a los filtros nuevos
+    private volatile ClavesRegistradas registradasEnReconstruccion;
+    private volatile LocalDateTime ultimaReconstruccion;
+
+    public FiltroUnicidadClientes(ClienteRepository clienteRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${yappa.filtro-unicidad.habilitado:false}") boolean habilitado,
+                                  @Value("${yappa.filtro-unicidad.tasa-falsos-positivos:0.01}") double tasaFalsosPositivos,
+                                  @Value("${yappa.filtro-unicidad.capacidad-minima:100000}") long capacidadMinima,
+                                  @Value("${yappa.filtro-unicidad.memoria-maxima:32MB}") DataSize memoriaMaxima,
+                                  @Value("${yappa.filtro-unicidad.fetch-size:1000}") int fetchSize) {
+        if (tasaFalsosPositivos <= 0 || tasaFalsosPositivos >= 1) {
+            throw new IllegalArgumentException("La tasa de falsos positivos debe estar entre 0 y 1");
+        }
+        this.clienteRepository = clienteRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.habilitado = habilitado;
+        this.tasaFalsosPositivos = tasaFalsosPositivos;
+        this.capacidadMinima = capacidadMinima;
+        // La memoria máxima se reparte entre el filtro de CUIT y el de email
+        this.maximoBits = memoriaMaxima.toBytes() * 8 / 2;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("yappa.filtro.unicidad.consultas", consultasEvitadas, AtomicLong::get)
+                .description("Búsquedas por CUIT o email según si el filtro evitó la consulta a la base")
+                .tag("resultado", "evitada")
+                .register(registry);
+        FunctionCounter.builder("yappa.filtro.unicidad.consultas", consultasRealizadas, AtomicLong::get)
+                .description("Búsquedas por CUIT o email según si el filtro evitó la consulta a la base")
+                .tag("resultado", "realizada")
+                .register(registry);
+        FunctionCounter.builder("yappa.filtro.unicidad.falsos.positivos", falsosPositivos, AtomicLong::get)
+                .register(registry);
+        Gauge.builder("yappa.filtro.unicidad.memoria", this, filtro -> filtro.actuales != null ? filtro.actuales.memoriaBytes() : 0)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        try {
+            reconstruir();
+        } catch (DataAccessException ex) {
+            // Sin filtro se consulta siempre la base; se reintenta en la próxima reconstrucción programada
+            log.warn("No se pudo construir el filtro de unicidad al iniciar: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Reconstruye ambos filtros desde un recorrido completo de {@code clientes},
+     * descartando las entradas de clientes eliminados o modificados.
+     */
+    @Scheduled(initialDelayString = "${yappa.filtro-unicidad.intervalo-reconstruccion:PT6H}",
+            fixedDelayString = "${yappa.filtro-unicidad.intervalo-reconstruccion:PT6H}")
+    public void reconstruir() {
+        if (!habilitado) {
+            return;
+        }
+        // Lock en lugar de synchronized: con hilos virtuales un monitor retenido durante el JDBC fija el carrier
+        reconstruccion.lock();
+        try {
+            reconstruirFiltros();
+        } finally {
+            reconstruccion.unlock();
+        }
+    }
+
+    private void reconstruirFiltros() {
+        long inicio = System.nanoTime();
+        // Antes del conteo: lo que se registre desde aquí puede confirmarse fuera del recorrido
+        ClavesRegistradas registradas = new ClavesRegistradas();
+        registradasEnReconstruccion = registradas;
+        Filtros nuevos;
+        try {
+            // Se dimensiona con margen para el crecimiento hasta la próxima reconstrucción
+            long capacidad = Math.max(capacidadMinima, clienteRepository.count() * 2);
+            nuevos = new Filtros(
+                    FiltroBloom.crear(capacidad, tasaFalsosPositivos, maximoBits),
+                    FiltroBloom.crear(capacidad, tasaFalsosPositivos, maximoBits));
+            transactionTemplate.executeWithoutResult(status ->
+                    clienteRepository.recorrerClavesUnicas(fetchSize, nuevos::agregar));
+            actuales = nuevos;
+            // Después del reemplazo: quien registre tras el volcado ya encuentra los filtros nuevos
+            registradas.agregarA(nuevos);
+            ultimaReconstruccion = LocalDateTime.now();
+        } finally {
+            registradasEnReconstruccion = null;
+        }
+        log.info("Filtro de unicidad reconstruido con {} CUIT en {} ms ({} bytes)",
+                nuevos.cuits.getElementos(), (System.nanoTime() - inicio) / 1_000_000, nuevos.memoriaBytes());
+    }
+
+    /**
+     * Registra las claves de un cliente que está por crearse o actualizarse.
+     * Debe invocarse antes de la escritura y, si hay una transacción en curso,
+     * dentro de ella: al confirmarse se vuelven a registrar.
+     */
+    public void registrar(String cuit, String email) {
+        ClavesRegistradas claves = new ClavesRegistradas();
+        claves.agregar(ClavesCliente.normalizarCuit(cuit), ClavesCliente.normalizarEmail(email));
+        agregar(claves);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            registradasEnTransaccion().agregar(claves);
+        }
+    }
+
+    // Primero en la reconstrucción en curso y después en los filtros vigentes, en el orden inverso al del reemplazo
+    private void agregar(ClavesRegistradas claves) {
+        ClavesRegistradas enReconstruccion = registradasEnReconstruccion;
+        if (enReconstruccion != null) {
+            enReconstruccion.agregar(claves);
+        }
+        Filtros filtros = actuales;
+        if (filtros != null) {
+            claves.agregarA(filtros);
+        }
+    }
+
+    private ClavesRegistradas registradasEnTransaccion() {
+        ClavesRegistradas claves = (ClavesRegistradas) TransactionSynchronizationManager.getResource(this);
+        if (claves != null) {
+            return claves;
+        }
+        ClavesRegistradas nuevas = new ClavesRegistradas();
+        TransactionSynchronizationManager.bindResource(this, nuevas);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // Una reconstrucción que empezó antes de la confirmación no vio estas filas
+                agregar(nuevas);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(FiltroUnicidadClientes.this);
+            }
+        });
+        return nuevas;
+    }
+
+    public boolean puedeExistirCuit(String cuit) {
+        Filtros filtros = actuales;
+        return contabilizar(filtros == null || filtros.cuits.puedeContener(ClavesCliente.normalizarCuit(cuit)));
+    }
+
+    public boolean puedeExistirEmail(String email) {
+        Filtros filtros = actuales;
+        return contabilizar(filtros == null || filtros.emails.puedeContener(ClavesCliente.normalizarEmail(email)));
+    }
+
+    /**
+     * Informa que una consulta autorizada por el filtro no encontró el cliente.
+     */
+    public void registrarFalsoPositivo() {
+        falsosPositivos.incrementAndGet();
+    }
+
+    public FiltroUnicidadEstadisticasDTO estadisticas() {
+        Filtros filtros = actuales;
+        FiltroUnicidadEstadisticasDTO.FiltroUnicidadEstadisticasDTOBuilder builder = FiltroUnicidadEstadisticasDTO.builder()
+                .habilitado(habilitado)
+                .inicializado(filtros != null)
+                .tasaFalsosPositivosConfigurada(tasaFalsosPositivos)
+                .consultasEvitadas(consultasEvitadas.get())
+                .consultasRealizadas(consultasRealizadas.get())
+                .falsosPositivos(falsosPositivos.get())
+                .ultimaReconstruccion(ultimaReconstruccion);
+        if (filtros != null) {
+            builder.elementos(filtros.cuits.getElementos())
+                    .bitsPorFiltro(filtros.cuits.getCantidadBits())
+                    .funcionesHash(filtros.cuits.getFuncionesHash())
+                    .memoriaBytes(filtros.memoriaBytes())
+                    .tasaFalsosPositivosEstimada(Math.max(
+                            filtros.cuits.tasaFalsosPositivosEstimada(), filtros.emails.tasaFalsosPositivosEstimada()));
+        }
+        return builder.build();
+    }
+
+    private boolean contabilizar(boolean puedeExistir) {
+        (puedeExistir ? consultasRealizadas : consultasEvitadas).incrementAndGet();
+        return puedeExistir;
+    }
+
+    private static class Filtros {
+        private final FiltroBloom cuits;
+        private final FiltroBloom emails;
+
+        Filtros(FiltroBloom cuits, FiltroBloom emails) {
+            this.cuits = cuits;
+            this.emails = emails;
+        }
+
+        void agregar(String cuit, String email) {
+            if (cuit != null) {
+                cuits.agregar(cuit);
+            }
+            if (email != null) {
+                emails.agregar(email);
+            }
+        }
+
+        long memoriaBytes() {
+            return cuits.getMemoriaBytes() + emails.getMemoriaBytes();
+        }
+    }
+
+    // Hashes de claves ya registradas, independientes del tamaño del filtro: ocupan 8 bytes por clave
+    private static class ClavesRegistradas {
+        private long[] cuits = new long[1];
+        private int cantidadCuits;
+        private long[] emails = new long[1];
+        private int cantidadEmails;
+
+        synchronized void agregar(String cuit, String email) {
+            if (cuit != null) {
+                cuits = agregar(cuits, cantidadCuits++, FiltroBloom.hash64(cuit));
+            }
+            if (email != null) {
+                emails = agregar(emails, cantidadEmails++, FiltroBloom.hash64(email));
+            }
+        }
+
+        void agregar(ClavesRegistradas otras) {
+            long[] otrosCuits;
+            long[] otrosEmails;
+            synchronized (otras) {
+                otrosCuits = Arrays.copyOf(otras.cuits, otras.cantidadCuits);
+                otrosEmails = Arrays.copyOf(otras.emails, otras.cantidadEmails);
+            }
+            synchronized (this) {
+                for (long hash : otrosCuits) {
+                    cuits = agregar(cuits, cantidadCuits++, hash);
+                }
+                for (long hash : otrosEmails) {
+                    emails = agregar(emails, cantidadEmails++, hash);
+                }
+            }
+        }
+
+        synchronized void agregarA(Filtros filtros) {
+            for (int i = 0; i < cantidadCuits; i++) {
+                filtros.cuits.agregarHash(cuits[i]);
+            }
+            for (int i = 0; i < cantidadEmails; i++) {
+                filtros.emails.agregarHash(emails[i]);
+            }
+        }
+
+        private static long[] agregar(long[] hashes, int posicion, long hash) {
+            if (posicion == hashes.length) {
+                hashes = Arrays.copyOf(hashes, hashes.length * 2);
+            }
+            hashes[posicion] = hash;
+            return hashes;
+        }
+    }
+}
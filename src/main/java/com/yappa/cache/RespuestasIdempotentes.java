@@ -0,0 +1,158 @@
+package com.yappa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yappa.dto.RespuestaGuardada;
+import com.yappa.repository.RespuestaIdempotenteRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Respuestas de las peticiones con {@code Idempotency-Key}, para repetirlas ante
+ * un reintento sin volver a ejecutarlas. Se guardan en memoria, acotadas por tamaño
+ * y por {@code ttl}, y opcionalmente en la tabla {@code respuestas_idempotentes}
+ * para que un reintento que llega a otra instancia, o después de un reinicio,
+ * también las encuentre.
+ * <p>
+ * Los reintentos concurrentes con la misma clave esperan a la ejecución en curso
+ * y reciben su respuesta. Entre instancias no hay coordinación: dos copias de la
+ * misma petición que llegan a la vez a instancias distintas se ejecutan ambas.
+ */
+@Component
+@Slf4j
+public class RespuestasIdempotentes implements MeterBinder {
+
+    // Costo aproximado de la entrada sin el cuerpo: clave, huella, cabeceras y objetos
+    private static final int PESO_ENTRADA = 256;
+
+    private final RespuestaIdempotenteRepository repository;
+    private final boolean persistente;
+    private final Duration ttl;
+    private final Cache<String, RespuestaGuardada> respuestas;
+    private final ConsultaCompartida<String, RespuestaGuardada> enCurso = new ConsultaCompartida<>();
+    private final AtomicLong repetidas = new AtomicLong();
+    private final AtomicLong conflictos = new AtomicLong();
+
+    public RespuestasIdempotentes(RespuestaIdempotenteRepository repository,
+                                  @Value("${yappa.idempotencia.persistente:false}") boolean persistente,
+                                  @Value("${yappa.idempotencia.ttl:PT24H}") Duration ttl,
+                                  @Value("${yappa.idempotencia.memoria-maxima:16MB}") DataSize memoriaMaxima) {
+        this.repository = repository;
+        this.persistente = persistente;
+        this.ttl = ttl;
+        this.respuestas = Caffeine.newBuilder()
+                .maximumWeight(memoriaMaxima.toBytes())
+                .weigher((String clave, RespuestaGuardada respuesta) -> PESO_ENTRADA + clave.length() + respuesta.getCuerpo().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, respuestas, "idempotencia");
+        FunctionCounter.builder("yappa.idempotencia", enCurso, ConsultaCompartida::getEjecutadas)
+                .description("Peticiones con Idempotency-Key según si se ejecutaron, se repitió una respuesta " +
+                        "guardada, esperaron una ejecución en curso o la clave ya se usó con otra petición")
+                .tag("resultado", "ejecutada")
+                .register(registry);
+        FunctionCounter.builder("yappa.idempotencia", repetidas, AtomicLong::get)
+                .tag("resultado", "repetida")
+                .register(registry);
+        FunctionCounter.builder("yappa.idempotencia", enCurso, ConsultaCompartida::getCoalescidas)
+                .tag("resultado", "esperada")
+                .register(registry);
+        FunctionCounter.builder("yappa.idempotencia", conflictos, AtomicLong::get)
+                .tag("resultado", "conflicto")
+                .register(registry);
+    }
+
+    /**
+     * La respuesta guardada para la clave o, si no hay, la de {@code ejecucion}.
+     * Si hay una ejecución en curso con la misma clave se espera su respuesta.
+     * Quien llama debe comparar la huella: la respuesta puede ser de otra petición.
+     */
+    public RespuestaGuardada obtener(String clave, Supplier<RespuestaGuardada> ejecucion) {
+        RespuestaGuardada guardada = buscar(clave);
+        if (guardada != null) {
+            repetidas.incrementAndGet();
+            return guardada;
+        }
+        return enCurso.ejecutar(clave, 0, () -> {
+            // Una ejecución con la misma clave pudo terminar entre la búsqueda y el registro
+            RespuestaGuardada terminada = buscar(clave);
+            if (terminada != null) {
+                repetidas.incrementAndGet();
+                return terminada;
+            }
+            RespuestaGuardada respuesta = ejecucion.get();
+            if (respuesta.esDefinitiva()) {
+                guardar(clave, respuesta);
+            }
+            return respuesta;
+        });
+    }
+
+    public void registrarConflicto() {
+        conflictos.incrementAndGet();
+    }
+
+    @Scheduled(initialDelayString = "${yappa.idempotencia.intervalo-purga:PT1H}",
+            fixedDelayString = "${yappa.idempotencia.intervalo-purga:PT1H}")
+    public void purgarVencidas() {
+        if (!persistente) {
+            return;
+        }
+        try {
+            int purgadas = repository.purgar(LocalDateTime.now().minus(ttl));
+            if (purgadas > 0) {
+                log.info("Purgadas {} respuestas idempotentes anteriores al TTL de {}", purgadas, ttl);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("No se pudieron purgar las respuestas idempotentes vencidas: {}", ex.getMessage());
+        }
+    }
+
+    private RespuestaGuardada buscar(String clave) {
+        RespuestaGuardada guardada = respuestas.getIfPresent(clave);
+        if (guardada != null || !persistente) {
+            return guardada;
+        }
+        try {
+            guardada = repository.buscar(clave, LocalDateTime.now().minus(ttl)).orElse(null);
+        } catch (DataAccessException ex) {
+            // Sin la tabla se sigue con la memoria de esta instancia
+            log.warn("No se pudo leer la respuesta idempotente de la clave {}: {}", clave, ex.getMessage());
+            return null;
+        }
+        if (guardada != null) {
+            respuestas.put(clave, guardada);
+        }
+        return guardada;
+    }
+
+    private void guardar(String clave, RespuestaGuardada respuesta) {
+        respuestas.put(clave, respuesta);
+        if (!persistente) {
+            return;
+        }
+        try {
+            repository.guardar(clave, respuesta, LocalDateTime.now());
+        } catch (DataAccessException ex) {
+            log.warn("No se pudo guardar la respuesta idempotente de la clave {}: {}", clave, ex.getMessage());
+        }
+    }
+}
@@ -16,8 +16,9 @@ public class CorsConfig implements WebMvcConfigurer {
                     "http://frontend",
                     "http://frontend:80"
                 )
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("X-Next-Cursor", "Link", "ETag")
                 .allowCredentials(true)
                 .maxAge(3600);
     }
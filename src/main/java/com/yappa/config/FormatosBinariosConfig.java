@@ -0,0 +1,70 @@
+package com.yappa.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Representaciones binarias de los mismos DTOs, por negociación de contenido
+ * ({@code Accept} / {@code Content-Type}): CBOR, Smile y MessagePack. Cada
+ * formato usa la configuración de Jackson de la aplicación, salvo las fechas,
+ * que viajan como arrays de enteros en lugar de texto ISO.
+ * <p>
+ * Los converters se agregan después del de JSON: un {@code Accept} ausente o
+ * {@code *}{@code /*} sigue respondiendo JSON.
+ */
+@Configuration
+public class FormatosBinariosConfig implements WebMvcConfigurer {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    public static final MediaType APPLICATION_MSGPACK = new MediaType("application", "msgpack");
+
+    // Los formatos binarios aceptados, en el orden en que se prefieren ante un Accept ambiguo
+    public static final List<MediaType> FORMATOS_BINARIOS = List.of(
+            MediaType.APPLICATION_CBOR, APPLICATION_SMILE, APPLICATION_MSGPACK);
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    public FormatosBinariosConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.builders = builders;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring MVC registra Smile y CBOR por defecto con un ObjectMapper propio: se reemplazan
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(mapperBinario(new CBORFactory())));
+        // Smile referencia los nombres de campo ya escritos: en una lista cada nombre se envía una sola vez
+        converters.add(new MappingJackson2SmileHttpMessageConverter(mapperBinario(new SmileFactory())));
+        converters.add(new MessagePackHttpMessageConverter(mapperBinario(new MessagePackFactory())));
+    }
+
+    private ObjectMapper mapperBinario(JsonFactory factory) {
+        Jackson2ObjectMapperBuilder builder = builders.getIfAvailable(Jackson2ObjectMapperBuilder::json);
+        return builder.factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    public static class MessagePackHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+        public MessagePackHttpMessageConverter(ObjectMapper objectMapper) {
+            super(objectMapper, APPLICATION_MSGPACK, new MediaType("application", "x-msgpack"));
+        }
+    }
+}
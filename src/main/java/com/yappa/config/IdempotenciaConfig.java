@@ -0,0 +1,26 @@
+package com.yappa.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yappa.cache.RespuestasIdempotentes;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra el soporte de {@code Idempotency-Key} sobre la API. Se desactiva con
+ * {@code yappa.idempotencia.habilitado=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "yappa.idempotencia", name = "habilitado", havingValue = "true", matchIfMissing = true)
+public class IdempotenciaConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotenciaFilter> idempotenciaFilter(RespuestasIdempotentes respuestas,
+                                                                         ObjectMapper objectMapper) {
+        FilterRegistrationBean<IdempotenciaFilter> registro =
+                new FilterRegistrationBean<>(new IdempotenciaFilter(respuestas, objectMapper));
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+}
@@ -0,0 +1,249 @@
+package com.yappa.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yappa.cache.RespuestasIdempotentes;
+import com.yappa.dto.RespuestaGuardada;
+import com.yappa.exception.GlobalExceptionHandler;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Peticiones POST y PUT con {@code Idempotency-Key}: la primera se ejecuta y su
+ * respuesta (estado, cuerpo, Content-Type, Location, ETag y Preference-Applied) se
+ * guarda; un reintento con la misma clave recibe esa respuesta, con
+ * {@code Idempotent-Replayed: true}, sin llegar al controlador. Un reintento
+ * mientras la primera sigue en curso la espera.
+ * <p>
+ * La clave se asocia a la huella de la petición (método, URI, Accept, Prefer y
+ * cuerpo): reusarla con otra petición responde 422. Las subidas multipart
+ * (importación CSV) no se procesan, para no leer el archivo completo en memoria.
+ */
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_CLAVE = "Idempotency-Key";
+    public static final String HEADER_REPETIDA = "Idempotent-Replayed";
+
+    static final int LONGITUD_MAXIMA_CLAVE = 255;
+
+    private static final Set<String> METODOS = Set.of("POST", "PUT");
+    private static final List<String> HEADERS_REPETIDOS =
+            List.of(HttpHeaders.LOCATION, HttpHeaders.ETAG, "Preference-Applied");
+    // Con otro formato o preferencia la respuesta original no es la que espera el cliente
+    private static final List<String> HEADERS_HUELLA = List.of(HttpHeaders.ACCEPT, "Prefer");
+
+    private final RespuestasIdempotentes respuestas;
+    private final ObjectMapper objectMapper;
+
+    public IdempotenciaFilter(RespuestasIdempotentes respuestas, ObjectMapper objectMapper) {
+        this.respuestas = respuestas;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return !METODOS.contains(request.getMethod())
+                || request.getHeader(HEADER_CLAVE) == null
+                || (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String clave = request.getHeader(HEADER_CLAVE).trim();
+        if (clave.isEmpty() || clave.length() > LONGITUD_MAXIMA_CLAVE) {
+            escribirError(response, HttpStatus.BAD_REQUEST,
+                    "El header " + HEADER_CLAVE + " debe tener entre 1 y " + LONGITUD_MAXIMA_CLAVE + " caracteres");
+            return;
+        }
+        byte[] cuerpo = request.getInputStream().readAllBytes();
+        String huella = huella(request, cuerpo);
+        ContentCachingResponseWrapper respuesta = new ContentCachingResponseWrapper(response);
+        AtomicBoolean ejecutada = new AtomicBoolean();
+
+        RespuestaGuardada guardada;
+        try {
+            guardada = respuestas.obtener(clave, () -> {
+                ejecutada.set(true);
+                ejecutar(chain, new CuerpoLeido(request, cuerpo), respuesta);
+                return new RespuestaGuardada(huella, respuesta.getStatus(), respuesta.getContentType(),
+                        headersRepetidos(respuesta), respuesta.getContentAsByteArray());
+            });
+        } catch (ErrorDeCadena ex) {
+            throw ex.getCause();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+
+        if (ejecutada.get()) {
+            respuesta.copyBodyToResponse();
+        } else if (!huella.equals(guardada.getHuella())) {
+            respuestas.registrarConflicto();
+            escribirError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "La " + HEADER_CLAVE + " ya se usó con una petición distinta");
+        } else {
+            repetir(guardada, response);
+        }
+    }
+
+    private static void ejecutar(FilterChain chain, HttpServletRequest request, HttpServletResponse response) {
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (ServletException ex) {
+            throw new ErrorDeCadena(ex);
+        }
+    }
+
+    private static void repetir(RespuestaGuardada guardada, HttpServletResponse response) throws IOException {
+        response.setStatus(guardada.getEstado());
+        if (guardada.getContentType() != null) {
+            response.setContentType(guardada.getContentType());
+        }
+        guardada.getHeaders().forEach(response::setHeader);
+        response.setHeader(HEADER_REPETIDA, "true");
+        response.setContentLength(guardada.getCuerpo().length);
+        response.getOutputStream().write(guardada.getCuerpo());
+    }
+
+    private static Map<String, String> headersRepetidos(HttpServletResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String nombre : HEADERS_REPETIDOS) {
+            String valor = response.getHeader(nombre);
+            if (valor != null) {
+                headers.put(nombre, valor);
+            }
+        }
+        return headers;
+    }
+
+    private void escribirError(HttpServletResponse response, HttpStatus estado, String mensaje) throws IOException {
+        GlobalExceptionHandler.ErrorResponse error = GlobalExceptionHandler.ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(estado.value())
+                .error(estado.getReasonPhrase())
+                .message(mensaje)
+                .build();
+        response.setStatus(estado.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    // SHA-256 de método, URI con query, Accept, Prefer y cuerpo
+    static String huella(HttpServletRequest request, byte[] cuerpo) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        String uri = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+        digest.update((request.getMethod() + " " + uri + "\n").getBytes(StandardCharsets.UTF_8));
+        for (String nombre : HEADERS_HUELLA) {
+            String valores = String.join(", ", Collections.list(request.getHeaders(nombre)));
+            digest.update((nombre + ": " + valores + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest(cuerpo));
+    }
+
+    // El cuerpo ya se leyó para calcular la huella: se vuelve a ofrecer desde memoria
+    private static class CuerpoLeido extends HttpServletRequestWrapper {
+        private final byte[] cuerpo;
+
+        CuerpoLeido(HttpServletRequest request, byte[] cuerpo) {
+            super(request);
+            this.cuerpo = cuerpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(cuerpo);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return cuerpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return cuerpo.length;
+        }
+    }
+
+    private static class ErrorDeCadena extends RuntimeException {
+        ErrorDeCadena(ServletException causa) {
+            super(causa);
+        }
+
+        @Override
+        public synchronized ServletException getCause() {
+            return (ServletException) super.getCause();
+        }
+    }
+}
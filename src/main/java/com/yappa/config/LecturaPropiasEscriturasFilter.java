@@ -0,0 +1,84 @@
+package com.yappa.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Lectura de las propias escrituras con réplicas asincrónicas: cada escritura
+ * deja una cookie que vence al terminar la ventana, y mientras esté vigente las
+ * lecturas de ese cliente se resuelven en la primaria.
+ */
+public class LecturaPropiasEscriturasFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "yappa-escritura";
+
+    private static final Set<String> METODOS_LECTURA = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Duration ventana;
+
+    public LecturaPropiasEscriturasFilter(Duration ventana) {
+        this.ventana = ventana;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return ventana.isZero();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!METODOS_LECTURA.contains(request.getMethod())) {
+            // La cookie se agrega antes de procesar: la respuesta puede quedar confirmada durante el chain
+            response.addCookie(cookieDeEscritura(request));
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!escribioRecientemente(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        RuteoDataSource.forzarPrimaria();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RuteoDataSource.liberarPrimaria();
+        }
+    }
+
+    private Cookie cookieDeEscritura(HttpServletRequest request) {
+        Cookie cookie = new Cookie(COOKIE, String.valueOf(System.currentTimeMillis() + ventana.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setSecure(request.isSecure());
+        cookie.setMaxAge((int) Math.max(1, ventana.toSeconds() + 1));
+        return cookie;
+    }
+
+    private boolean escribioRecientemente(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        return Arrays.stream(cookies)
+                .filter(cookie -> COOKIE.equals(cookie.getName()))
+                .anyMatch(cookie -> vencimiento(cookie.getValue()) > System.currentTimeMillis());
+    }
+
+    private static long vencimiento(String valor) {
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.yappa.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de concurrencia adaptativo guiado por el gradiente de la latencia.
+ * <p>
+ * Se siguen dos promedios exponenciales de la latencia: uno de largo plazo, que
+ * es la latencia normal del servicio con su carga habitual, y uno de corto plazo,
+ * que refleja las últimas peticiones. El gradiente {@code tolerancia * largo / corto},
+ * acotado entre 0,5 y 1, indica si se está formando una cola: vale 1 mientras la
+ * latencia reciente no supere a la normal más allá de la tolerancia, y entonces el
+ * límite crece de a {@code sqrt(limite)}; si la supera, se reduce en proporción.
+ * Cada ajuste se suaviza, así que una petición lenta aislada no lo mueve. Solo se
+ * ajusta cuando el límite se está usando: un límite ocioso no prueba nada sobre la
+ * capacidad.
+ * <p>
+ * Una petición fallida lo reduce un 10%, como máximo una vez por latencia observada,
+ * para que una misma ráfaga no lo colapse al mínimo. Lo que excede el límite se
+ * rechaza de inmediato en lugar de esperar una conexión del pool.
+ */
+public class LimitadorAdaptativo {
+
+    // Muestras que abarca cada promedio exponencial (factor 2 / (N + 1))
+    static final int MUESTRAS_LARGO_PLAZO = 500;
+    static final int MUESTRAS_CORTO_PLAZO = 20;
+    static final double SUAVIZADO = 0.2;
+    static final double GRADIENTE_MINIMO = 0.5;
+    static final double FACTOR_REDUCCION = 0.9;
+
+    private static final double ALFA_LARGO_PLAZO = 2.0 / (MUESTRAS_LARGO_PLAZO + 1);
+    private static final double ALFA_CORTO_PLAZO = 2.0 / (MUESTRAS_CORTO_PLAZO + 1);
+
+    private final int minimo;
+    private final int maximo;
+    private final double tolerancia;
+    private final LongSupplier reloj;
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final AtomicLong rechazos = new AtomicLong();
+
+    private volatile double limite;
+
+    // Protegidos por this; en nanosegundos, 0 hasta la primera muestra
+    private double latenciaLargoPlazo;
+    private double latenciaCortoPlazo;
+    private long ultimaReduccion;
+    private boolean reducido;
+
+    public LimitadorAdaptativo(int inicial, int minimo, int maximo, double tolerancia) {
+        this(inicial, minimo, maximo, tolerancia, System::nanoTime);
+    }
+
+    LimitadorAdaptativo(int inicial, int minimo, int maximo, double tolerancia, LongSupplier reloj) {
+        if (minimo < 1 || minimo > maximo || inicial < minimo || inicial > maximo) {
+            throw new IllegalArgumentException("Se requiere 1 <= minimo <= inicial <= maximo");
+        }
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.tolerancia = tolerancia;
+        this.reloj = reloj;
+        this.limite = inicial;
+    }
+
+    /**
+     * Toma un lugar si hay disponible. Quien lo obtiene debe llamar a
+     * {@link #liberar(long, boolean)} al terminar.
+     */
+    public boolean adquirir() {
+        while (true) {
+            int actual = enCurso.get();
+            if (actual >= (int) limite) {
+                rechazos.incrementAndGet();
+                return false;
+            }
+            if (enCurso.compareAndSet(actual, actual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void liberar(long latenciaNanos, boolean fallida) {
+        int enVuelo = enCurso.getAndDecrement();
+        synchronized (this) {
+            if (fallida) {
+                long ahora = reloj.getAsLong();
+                if (!reducido || ahora - ultimaReduccion >= latenciaNanos) {
+                    limite = Math.max(minimo, limite * FACTOR_REDUCCION);
+                    ultimaReduccion = ahora;
+                    reducido = true;
+                }
+                return;
+            }
+            registrarMuestra(latenciaNanos);
+            if (enVuelo * 2 < limite) {
+                return;
+            }
+            double gradiente = Math.max(GRADIENTE_MINIMO,
+                    Math.min(1.0, tolerancia * latenciaLargoPlazo / latenciaCortoPlazo));
+            double nuevo = limite * gradiente + Math.sqrt(limite);
+            limite = Math.max(minimo, Math.min(maximo, limite * (1 - SUAVIZADO) + nuevo * SUAVIZADO));
+        }
+    }
+
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+
+    public long getRechazos() {
+        return rechazos.get();
+    }
+
+    public synchronized double getLatenciaBaseSegundos() {
+        return latenciaLargoPlazo / 1e9;
+    }
+
+    private void registrarMuestra(long latenciaNanos) {
+        if (latenciaLargoPlazo == 0) {
+            latenciaLargoPlazo = latenciaNanos;
+            latenciaCortoPlazo = latenciaNanos;
+            return;
+        }
+        latenciaLargoPlazo += ALFA_LARGO_PLAZO * (latenciaNanos - latenciaLargoPlazo);
+        latenciaCortoPlazo += ALFA_CORTO_PLAZO * (latenciaNanos - latenciaCortoPlazo);
+        if (latenciaLargoPlazo > 2 * latenciaCortoPlazo) {
+            // Tras una congestión larga el promedio de largo plazo quedó alto: se lo acerca a la latencia actual
+            latenciaLargoPlazo *= 0.95;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.yappa.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Somete el endpoint al límite de concurrencia adaptativo de su clase de
+ * operación. Lecturas y escrituras tienen presupuestos independientes: una
+ * ráfaga de una no deja sin lugar a la otra.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LimiteConcurrencia {
+
+    Clase value();
+
+    enum Clase {
+        LECTURA, ESCRITURA
+    }
+}
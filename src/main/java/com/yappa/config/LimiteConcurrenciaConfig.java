@@ -0,0 +1,34 @@
+package com.yappa.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra el límite de concurrencia adaptativo sobre la API. Se desactiva con
+ * {@code yappa.limite-concurrencia.habilitado=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "yappa.limite-concurrencia", name = "habilitado", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(LimiteConcurrenciaProperties.class)
+public class LimiteConcurrenciaConfig implements WebMvcConfigurer {
+
+    private final LimiteConcurrenciaInterceptor interceptor;
+
+    public LimiteConcurrenciaConfig(LimiteConcurrenciaProperties properties) {
+        this.interceptor = new LimiteConcurrenciaInterceptor(properties);
+    }
+
+    @Bean
+    public LimiteConcurrenciaInterceptor limiteConcurrenciaInterceptor() {
+        return interceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,101 @@
+package com.yappa.config;
+
+import com.yappa.exception.SobrecargaException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Admisión de los endpoints anotados con {@link LimiteConcurrencia}: toma un
+ * lugar del limitador de su clase antes de invocar el handler y lo devuelve al
+ * completar la petición con la latencia medida. Sin lugar disponible la petición
+ * se rechaza con 503 antes de tocar el pool de conexiones.
+ */
+public class LimiteConcurrenciaInterceptor implements HandlerInterceptor, MeterBinder {
+
+    private static final String ATRIBUTO_LIMITADOR = LimiteConcurrenciaInterceptor.class.getName() + ".limitador";
+    private static final String ATRIBUTO_INICIO = LimiteConcurrenciaInterceptor.class.getName() + ".inicio";
+
+    private final Map<LimiteConcurrencia.Clase, LimitadorAdaptativo> limitadores =
+            new EnumMap<>(LimiteConcurrencia.Clase.class);
+    private final Duration reintentarEn;
+
+    public LimiteConcurrenciaInterceptor(LimiteConcurrenciaProperties properties) {
+        limitadores.put(LimiteConcurrencia.Clase.LECTURA, crear(properties.getLectura(), properties));
+        limitadores.put(LimiteConcurrencia.Clase.ESCRITURA, crear(properties.getEscritura(), properties));
+        this.reintentarEn = properties.getReintentarEn();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod metodo)) {
+            return true;
+        }
+        LimiteConcurrencia anotacion = metodo.getMethodAnnotation(LimiteConcurrencia.class);
+        if (anotacion == null) {
+            return true;
+        }
+        LimitadorAdaptativo limitador = limitadores.get(anotacion.value());
+        if (!limitador.adquirir()) {
+            throw new SobrecargaException("El servicio está saturado, reintente en unos instantes", reintentarEn);
+        }
+        request.setAttribute(ATRIBUTO_LIMITADOR, limitador);
+        request.setAttribute(ATRIBUTO_INICIO, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(ATRIBUTO_LIMITADOR) instanceof LimitadorAdaptativo limitador)) {
+            return;
+        }
+        request.removeAttribute(ATRIBUTO_LIMITADOR);
+        long latencia = System.nanoTime() - (Long) request.getAttribute(ATRIBUTO_INICIO);
+        // Los 4xx son errores del cliente y no dicen nada sobre la saturación
+        limitador.liberar(latencia, ex != null || response.getStatus() >= 500);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        limitadores.forEach((clase, limitador) -> {
+            String tag = clase.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("yappa.limite.concurrencia", limitador, LimitadorAdaptativo::getLimite)
+                    .description("Peticiones concurrentes admitidas")
+                    .tag("clase", tag)
+                    .register(registry);
+            Gauge.builder("yappa.limite.concurrencia.en.curso", limitador, LimitadorAdaptativo::getEnCurso)
+                    .description("Peticiones en curso")
+                    .tag("clase", tag)
+                    .register(registry);
+            Gauge.builder("yappa.limite.concurrencia.latencia.base", limitador, LimitadorAdaptativo::getLatenciaBaseSegundos)
+                    .description("Latencia normal de referencia (promedio de largo plazo)")
+                    .tag("clase", tag)
+                    .baseUnit("seconds")
+                    .register(registry);
+            FunctionCounter.builder("yappa.limite.concurrencia.rechazos", limitador, LimitadorAdaptativo::getRechazos)
+                    .description("Peticiones rechazadas por superar el límite")
+                    .tag("clase", tag)
+                    .register(registry);
+        });
+    }
+
+    LimitadorAdaptativo limitador(LimiteConcurrencia.Clase clase) {
+        return limitadores.get(clase);
+    }
+
+    private static LimitadorAdaptativo crear(LimiteConcurrenciaProperties.Presupuesto presupuesto,
+                                             LimiteConcurrenciaProperties properties) {
+        return new LimitadorAdaptativo(presupuesto.getInicial(), presupuesto.getMinimo(), presupuesto.getMaximo(),
+                properties.getToleranciaLatencia());
+    }
+}
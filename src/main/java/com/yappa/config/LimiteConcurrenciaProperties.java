@@ -0,0 +1,35 @@
+package com.yappa.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Límite de concurrencia adaptativo ({@code yappa.limite-concurrencia.*}).
+ */
+@ConfigurationProperties(prefix = "yappa.limite-concurrencia")
+@Getter
+@Setter
+public class LimiteConcurrenciaProperties {
+
+    private boolean habilitado = true;
+    // Una latencia mayor a la base multiplicada por este factor se toma como congestión
+    private double toleranciaLatencia = 2.0;
+    private Duration reintentarEn = Duration.ofSeconds(1);
+    private Presupuesto lectura = new Presupuesto(20, 2, 200);
+    private Presupuesto escritura = new Presupuesto(10, 1, 50);
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Presupuesto {
+        private int inicial;
+        private int minimo;
+        private int maximo;
+    }
+}
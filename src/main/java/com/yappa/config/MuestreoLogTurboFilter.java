@@ -0,0 +1,45 @@
+package com.yappa.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Muestreo de los logs INFO repetitivos de la aplicación: de cada mensaje
+ * (identificado por su plantilla) se escribe la primera aparición y luego una
+ * de cada {@code unoCada}. Se decide antes de formatear el mensaje, así que un
+ * evento descartado no cuesta más que un incremento atómico.
+ * <p>
+ * WARN y ERROR nunca se muestrean; DEBUG y TRACE quedan sujetos al nivel del logger.
+ */
+public class MuestreoLogTurboFilter extends TurboFilter {
+
+    // Las plantillas son literales del código: la cantidad de claves está acotada
+    private final ConcurrentMap<String, AtomicLong> apariciones = new ConcurrentHashMap<>();
+    private String paquete = "com.yappa";
+    private long unoCada = 100;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format es null en las llamadas a isXxxEnabled()
+        if (format == null || level != Level.INFO || unoCada <= 1 || !logger.getName().startsWith(paquete)) {
+            return FilterReply.NEUTRAL;
+        }
+        long aparicion = apariciones.computeIfAbsent(format, clave -> new AtomicLong()).getAndIncrement();
+        return aparicion % unoCada == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setPaquete(String paquete) {
+        this.paquete = paquete;
+    }
+
+    public void setUnoCada(long unoCada) {
+        this.unoCada = unoCada;
+    }
+}
@@ -0,0 +1,85 @@
+package com.yappa.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Con {@code yappa.replicas.habilitado=true} reemplaza el DataSource de Spring Boot
+ * por uno que reparte las transacciones de solo lectura entre las réplicas.
+ * La primaria sigue configurándose con {@code spring.datasource.*}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "yappa.replicas", name = "habilitado", havingValue = "true")
+@EnableConfigurationProperties(ReplicasProperties.class)
+public class ReplicasDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primaria");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "cerrarReplicas")
+    public RuteoDataSource ruteoDataSource(HikariDataSource dataSourcePrimaria,
+                                           DataSourceProperties properties,
+                                           ReplicasProperties replicas,
+                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        List<ReplicasProperties.Replica> instancias = replicas.getInstancias();
+        if (instancias.isEmpty()) {
+            throw new IllegalStateException("yappa.replicas.habilitado requiere al menos una réplica en yappa.replicas.instancias");
+        }
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        for (int i = 0; i < instancias.size(); i++) {
+            String nombre = "replica-" + (i + 1);
+            pools.put(nombre, crearPoolReplica(nombre, instancias.get(i), properties, replicas, meterRegistry));
+        }
+        return new RuteoDataSource(dataSourcePrimaria, pools);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RuteoDataSource ruteoDataSource) {
+        return new LazyConnectionDataSourceProxy(ruteoDataSource);
+    }
+
+    @Bean
+    public LecturaPropiasEscriturasFilter lecturaPropiasEscriturasFilter(ReplicasProperties replicas) {
+        return new LecturaPropiasEscriturasFilter(replicas.getVentanaLecturaPropiasEscrituras());
+    }
+
+    private HikariDataSource crearPoolReplica(String nombre,
+                                              ReplicasProperties.Replica replica,
+                                              DataSourceProperties primaria,
+                                              ReplicasProperties replicas,
+                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(nombre);
+        config.setJdbcUrl(replica.getUrl());
+        config.setUsername(replica.getUsername() != null ? replica.getUsername() : primaria.determineUsername());
+        config.setPassword(replica.getPassword() != null ? replica.getPassword() : primaria.determinePassword());
+        config.setMaximumPoolSize(replicas.getTamanoPool());
+        config.setReadOnly(true);
+        // Una réplica caída no debe impedir el arranque: se la saca de rotación y se reintenta
+        config.setInitializationFailTimeout(-1);
+        meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return new HikariDataSource(config);
+    }
+}
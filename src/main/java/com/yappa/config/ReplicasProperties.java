@@ -0,0 +1,34 @@
+package com.yappa.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de lectura ({@code yappa.replicas.*}). Usuario y contraseña que no
+ * se indiquen se toman de {@code spring.datasource}.
+ */
+@ConfigurationProperties(prefix = "yappa.replicas")
+@Getter
+@Setter
+public class ReplicasProperties {
+
+    private boolean habilitado = false;
+    private List<Replica> instancias = new ArrayList<>();
+    private int tamanoPool = 10;
+    private Duration intervaloVerificacion = Duration.ofSeconds(5);
+    // Tras una escritura, las lecturas del mismo cliente van a la primaria durante esta ventana (0 la desactiva)
+    private Duration ventanaLecturaPropiasEscrituras = Duration.ofSeconds(2);
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
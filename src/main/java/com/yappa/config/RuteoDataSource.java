@@ -0,0 +1,155 @@
+package com.yappa.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envía las transacciones {@code readOnly} a las réplicas, en round-robin entre
+ * las disponibles, y todo lo demás a la primaria. Debe usarse detrás de un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: la
+ * conexión se pide recién en la primera sentencia, cuando la transacción ya
+ * está marcada como de solo lectura.
+ * <p>
+ * Una réplica que falla al entregar una conexión se saca de la rotación hasta
+ * que la verificación periódica la vuelva a encontrar sana; mientras no haya
+ * réplicas disponibles las lecturas van a la primaria.
+ */
+@Slf4j
+public class RuteoDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARIA = "primaria";
+
+    private static final ThreadLocal<Boolean> forzarPrimaria = new ThreadLocal<>();
+
+    private final DataSource primaria;
+    private final List<Replica> replicas;
+    private final AtomicInteger siguiente = new AtomicInteger();
+
+    public RuteoDataSource(DataSource primaria, Map<String, DataSource> replicas) {
+        this.primaria = primaria;
+        this.replicas = replicas.entrySet().stream()
+                .map(entrada -> new Replica(entrada.getKey(), entrada.getValue()))
+                .toList();
+        Map<Object, Object> destinos = new HashMap<>(replicas);
+        destinos.put(PRIMARIA, primaria);
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primaria);
+    }
+
+    /**
+     * Hace que las lecturas del hilo actual vayan a la primaria hasta {@link #liberarPrimaria()}.
+     */
+    public static void forzarPrimaria() {
+        forzarPrimaria.set(Boolean.TRUE);
+    }
+
+    public static void liberarPrimaria() {
+        forzarPrimaria.remove();
+    }
+
+    /**
+     * Si las lecturas del hilo actual van a la primaria por {@link #forzarPrimaria()}.
+     */
+    public static boolean primariaForzada() {
+        return forzarPrimaria.get() != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || forzarPrimaria.get() != null) {
+            return PRIMARIA;
+        }
+        Replica replica = elegirReplica();
+        return replica != null ? replica.nombre : PRIMARIA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object clave = determineCurrentLookupKey();
+        if (PRIMARIA.equals(clave)) {
+            return primaria.getConnection();
+        }
+        Replica replica = buscar(clave);
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException ex) {
+            marcar(replica, false, ex.getMessage());
+            return primaria.getConnection();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${yappa.replicas.intervalo-verificacion:PT5S}",
+            fixedDelayString = "${yappa.replicas.intervalo-verificacion:PT5S}")
+    public void verificarReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection conexion = replica.dataSource.getConnection()) {
+                marcar(replica, conexion.isValid(1), "la conexión no es válida");
+            } catch (SQLException ex) {
+                marcar(replica, false, ex.getMessage());
+            }
+        }
+    }
+
+    public void cerrarReplicas() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable cerrable) {
+                cerrable.close();
+            }
+        }
+    }
+
+    boolean estaDisponible(String nombre) {
+        return buscar(nombre).disponible;
+    }
+
+    private Replica elegirReplica() {
+        int cantidad = replicas.size();
+        int inicio = Math.floorMod(siguiente.getAndIncrement(), Math.max(cantidad, 1));
+        for (int i = 0; i < cantidad; i++) {
+            Replica replica = replicas.get((inicio + i) % cantidad);
+            if (replica.disponible) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica buscar(Object nombre) {
+        return replicas.stream()
+                .filter(replica -> replica.nombre.equals(nombre))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Réplica desconocida: " + nombre));
+    }
+
+    private void marcar(Replica replica, boolean disponible, String motivo) {
+        if (replica.disponible != disponible) {
+            replica.disponible = disponible;
+            if (disponible) {
+                log.info("Réplica {} disponible nuevamente", replica.nombre);
+            } else {
+                log.warn("Réplica {} fuera de rotación: {}", replica.nombre, motivo);
+            }
+        }
+    }
+
+    private static class Replica {
+        private final String nombre;
+        private final DataSource dataSource;
+        private volatile boolean disponible = true;
+
+        Replica(String nombre, DataSource dataSource) {
+            this.nombre = nombre;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -1,10 +1,28 @@
 package com.yappa.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.yappa.cache.ClienteJsonCache;
+import com.yappa.config.FormatosBinariosConfig;
+import com.yappa.config.LimiteConcurrencia;
+import com.yappa.dto.AltaDiferidaDTO;
+import com.yappa.dto.ClienteCambiosDTO;
+import com.yappa.dto.ClienteCursor;
+import com.yappa.dto.ClienteLookupRequestDTO;
+import com.yappa.dto.ClienteLookupResultadoDTO;
+import com.yappa.dto.ClientePaginaDTO;
 import com.yappa.dto.ClienteRequestDTO;
 import com.yappa.dto.ClienteResponseDTO;
+import com.yappa.eventos.DifusorEventosClientes;
+import com.yappa.exception.BusinessException;
+import com.yappa.exception.ResourceNotFoundException;
+import com.yappa.service.ClienteAltaDiferidaService;
 import com.yappa.service.ClienteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,11 +30,26 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+
+import static com.yappa.config.LimiteConcurrencia.Clase.ESCRITURA;
+import static com.yappa.config.LimiteConcurrencia.Clase.LECTURA;
 
 @RestController
 @RequestMapping("/api/clientes")
@@ -24,42 +57,228 @@ import java.util.List;
 @Tag(name = "Clientes", description = "API para gestión de clientes (ABM)")
 public class ClienteController {
 
+    public static final String HEADER_SIGUIENTE_CURSOR = "X-Next-Cursor";
+    public static final String MEDIA_TYPE_MERGE_PATCH = "application/merge-patch+json";
+    public static final String HEADER_PREFER = "Prefer";
+    public static final String HEADER_PREFERENCIA_APLICADA = "Preference-Applied";
+    public static final String PREFER_RESPOND_ASYNC = "respond-async";
+
     private final ClienteService clienteService;
+    private final ClienteAltaDiferidaService altaDiferidaService;
+    private final ObjectMapper objectMapper;
+    private final ClienteJsonCache clienteJsonCache;
+    private final DifusorEventosClientes difusorEventos;
 
-    @Operation(summary = "Crear un nuevo cliente", description = "Crea un nuevo cliente en el sistema")
+    @Operation(summary = "Crear un nuevo cliente",
+            description = "Crea un nuevo cliente en el sistema. Con el header Prefer: respond-async el alta se valida, " +
+                    "se encola y se escribe en lote en segundo plano: la respuesta es 202 y el header Location " +
+                    "indica la URL donde consultar el resultado")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Cliente creado exitosamente",
             content = @Content(schema = @Schema(implementation = ClienteResponseDTO.class))),
+        @ApiResponse(responseCode = "202", description = "Alta aceptada para escritura diferida (Prefer: respond-async)",
+            content = @Content(schema = @Schema(implementation = AltaDiferidaDTO.class)),
+            headers = @Header(name = HttpHeaders.LOCATION, description = "URL del estado del alta")),
         @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos"),
-        @ApiResponse(responseCode = "409", description = "Cliente ya existe (CUIT o email duplicado)")
+        @ApiResponse(responseCode = "409", description = "Cliente ya existe (CUIT o email duplicado)"),
+        @ApiResponse(responseCode = "503", description = "La cola de altas diferidas está llena, reintentar luego del Retry-After")
     })
     @PostMapping
-    public ResponseEntity<ClienteResponseDTO> crearCliente(
-            @Valid @RequestBody ClienteRequestDTO requestDTO) {
+    @LimiteConcurrencia(ESCRITURA)
+    public ResponseEntity<?> crearCliente(
+            @Valid @RequestBody ClienteRequestDTO requestDTO,
+            @Parameter(description = "respond-async para encolar el alta y recibir 202 con la URL de su estado")
+            @RequestHeader(value = HEADER_PREFER, required = false) String prefer) {
+        if (prefiereAsincronico(prefer) && altaDiferidaService.isHabilitado()) {
+            AltaDiferidaDTO alta = altaDiferidaService.encolar(requestDTO);
+            return ResponseEntity.accepted()
+                    .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                            .path("/altas/{id}")
+                            .buildAndExpand(alta.getId())
+                            .toUri())
+                    .header(HEADER_PREFERENCIA_APLICADA, PREFER_RESPOND_ASYNC)
+                    .body(alta);
+        }
         ClienteResponseDTO response = clienteService.crearCliente(requestDTO);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Estado de un alta diferida",
+            description = "Devuelve PENDIENTE hasta que se confirma el lote que contiene el alta; luego CREADO con el " +
+                    "ID asignado, o RECHAZADO con el motivo (por ejemplo, CUIT o email duplicado). El resultado se " +
+                    "conserva durante yappa.altas-diferidas.retencion")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estado del alta",
+            content = @Content(schema = @Schema(implementation = AltaDiferidaDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Alta inexistente o ya vencida")
+    })
+    @GetMapping("/altas/{id}")
+    @LimiteConcurrencia(LECTURA)
+    public ResponseEntity<AltaDiferidaDTO> obtenerAltaDiferida(
+            @Parameter(description = "ID del alta devuelto en la respuesta 202", required = true)
+            @PathVariable String id) {
+        return altaDiferidaService.consultar(id)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Alta diferida no encontrada: " + id));
+    }
+
     @Operation(summary = "Obtener cliente por ID", description = "Obtiene un cliente específico por su ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Cliente encontrado",
             content = @Content(schema = @Schema(implementation = ClienteResponseDTO.class))),
+        @ApiResponse(responseCode = "304", description = "El cliente no cambió desde el ETag indicado en If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Cliente no encontrado")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<ClienteResponseDTO> obtenerClientePorId(
+    @LimiteConcurrencia(LECTURA)
+    public ResponseEntity<?> obtenerClientePorId(
             @Parameter(description = "ID del cliente", required = true)
-            @PathVariable Long id) {
-        ClienteResponseDTO response = clienteService.obtenerClientePorId(id);
-        return ResponseEntity.ok(response);
+            @PathVariable Long id,
+            WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            // La versión sale de la caché o de una lectura por clave primaria, sin cargar el cliente
+            String etag = clienteJsonCache.etagEnCache(id)
+                    .or(() -> clienteService.obtenerEtagCliente(id))
+                    .map(version -> etagDelFormato(version, request))
+                    .orElse(null);
+            if (etag != null && request.checkNotModified(etag)) {
+                // checkNotModified ya dejó la respuesta en 304 con el ETag
+                return null;
+            }
+        }
+        ClienteJsonCache.Entrada entrada = clienteJsonCache.obtenerPorId(id,
+                () -> clienteService.obtenerClientePorId(id));
+        return respuestaCliente(entrada, request);
     }
 
-    @Operation(summary = "Listar todos los clientes", description = "Obtiene una lista de todos los clientes")
-    @ApiResponse(responseCode = "200", description = "Lista de clientes obtenida exitosamente")
+    @Operation(summary = "Listar clientes paginados",
+            description = "Obtiene una página de clientes usando paginación keyset. " +
+                    "El cursor de la página siguiente se devuelve en el header X-Next-Cursor y en el header Link")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de clientes obtenida exitosamente",
+            headers = @Header(name = HEADER_SIGUIENTE_CURSOR, description = "Cursor de la página siguiente (ausente en la última página)")),
+        @ApiResponse(responseCode = "304", description = "La tabla no cambió desde el ETag indicado en If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Límite, orden o cursor inválidos")
+    })
     @GetMapping
-    public ResponseEntity<List<ClienteResponseDTO>> obtenerTodosLosClientes() {
-        List<ClienteResponseDTO> clientes = clienteService.obtenerTodosLosClientes();
-        return ResponseEntity.ok(clientes);
+    @LimiteConcurrencia(LECTURA)
+    public ResponseEntity<List<ClienteResponseDTO>> obtenerClientes(
+            @Parameter(description = "Cantidad máxima de clientes por página (1-1000)")
+            @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Cursor opaco devuelto por la página anterior")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Orden de la paginación: id o apellido")
+            @RequestParam(defaultValue = "id") String sort,
+            WebRequest request) {
+        // La versión cuenta las filas: solo se calcula en la primera página o con If-None-Match, para que
+        // las siguientes mantengan el costo constante del keyset. Se lee antes que la página: si hay una
+        // escritura en el medio, el ETag queda viejo y la próxima consulta recibe la página completa
+        boolean conVersion = after == null || after.isBlank() || request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+        String etag = conVersion ? etagDelFormato(clienteService.obtenerEtagClientes(), request) : null;
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        ClientePaginaDTO pagina = clienteService.obtenerPaginaDeClientes(after, limit, ClienteCursor.Orden.desde(sort));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        if (pagina.getSiguienteCursor() != null) {
+            String siguiente = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", pagina.getSiguienteCursor())
+                    .toUriString();
+            response.header(HEADER_SIGUIENTE_CURSOR, pagina.getSiguienteCursor())
+                    .header(HttpHeaders.LINK, "<" + siguiente + ">; rel=\"next\"");
+        }
+        return response.body(pagina.getClientes());
+    }
+
+    @Operation(summary = "Buscar clientes por texto",
+            description = "Busca clientes cuyo nombre, apellido, razón social, CUIT o email contengan el texto " +
+                    "(mínimo 3 caracteres, sin distinguir mayúsculas). Los resultados se ordenan por relevancia")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Clientes encontrados"),
+        @ApiResponse(responseCode = "400", description = "Texto demasiado corto o límite inválido")
+    })
+    @GetMapping("/search")
+    @LimiteConcurrencia(LECTURA)
+    public ResponseEntity<List<ClienteResponseDTO>> buscarClientes(
+            @Parameter(description = "Texto a buscar", required = true)
+            @RequestParam("q") String texto,
+            @Parameter(description = "Cantidad máxima de resultados (1-100)")
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(clienteService.buscarClientes(texto, limit));
+    }
+
+    @Operation(summary = "Resolver clientes por lote",
+            description = "Resuelve hasta 1000 IDs, CUIT y emails en una sola petición. Cada clave se asocia a su " +
+                    "cliente, o a null si no existe; las claves inexistentes no generan errores")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Claves resueltas",
+            content = @Content(schema = @Schema(implementation = ClienteLookupResultadoDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Se superó la cantidad máxima de claves")
+    })
+    @PostMapping("/lookup")
+    @LimiteConcurrencia(LECTURA)
+    public ResponseEntity<ClienteLookupResultadoDTO> resolverClientes(
+            @RequestBody ClienteLookupRequestDTO claves) {
+        return ResponseEntity.ok(clienteService.resolverClientes(claves));
+    }
+
+    @Operation(summary = "Cambios de clientes desde un cursor",
+            description = "Devuelve las altas, modificaciones (UPSERT) y bajas (DELETE) posteriores al cursor, en " +
+                    "orden. Sin cursor empieza desde el principio. La respuesta siempre trae el cursor para la " +
+                    "próxima consulta; si hayMas es true se puede pedir de inmediato")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cambios obtenidos exitosamente",
+            content = @Content(schema = @Schema(implementation = ClienteCambiosDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Límite inválido, o cursor inválido o vencido " +
+                "(requiere una sincronización completa)")
+    })
+    @GetMapping("/changes")
+    @LimiteConcurrencia(LECTURA)
+    public ResponseEntity<ClienteCambiosDTO> obtenerCambios(
+            @Parameter(description = "Cursor devuelto por la consulta anterior")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Cantidad máxima de cambios (1-1000)")
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(clienteService.obtenerCambios(since, limit));
+    }
+
+    @Operation(summary = "Eventos de cambios de clientes (SSE)",
+            description = "Mantiene abierta una conexión Server-Sent Events que recibe un evento 'cambio' por cada " +
+                    "alta, modificación o baja confirmada, y 'resincronizar' cuando el cliente se atrasó o se " +
+                    "reconectó y debe recargar. El id de cada evento sirve como cursor de /changes")
+    @ApiResponse(responseCode = "200", description = "Flujo de eventos abierto")
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribirEventos(
+            @Parameter(description = "Id del último evento recibido, lo envía el navegador al reconectar")
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return difusorEventos.suscribir(ultimoEventoId);
+    }
+
+    @Operation(summary = "Exportar clientes en streaming (NDJSON)",
+            description = "Devuelve todos los clientes, uno por línea, leyendo la tabla con un cursor forward-only. " +
+                    "La memoria del servidor no depende de la cantidad de filas")
+    @ApiResponse(responseCode = "200", description = "Stream de clientes",
+        content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+            schema = @Schema(implementation = ClienteResponseDTO.class)))
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarClientesNdjson() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> escribirClientes(out, false));
+    }
+
+    @Operation(summary = "Exportar clientes en streaming (JSON)",
+            description = "Igual que la exportación NDJSON pero como un array JSON enviado en chunks")
+    @ApiResponse(responseCode = "200", description = "Array de clientes enviado en streaming")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarClientesJson() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> escribirClientes(out, true));
     }
 
     @Operation(summary = "Actualizar cliente", description = "Actualiza los datos de un cliente existente")
@@ -70,6 +289,7 @@ public class ClienteController {
         @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos")
     })
     @PutMapping("/{id}")
+    @LimiteConcurrencia(ESCRITURA)
     public ResponseEntity<ClienteResponseDTO> actualizarCliente(
             @Parameter(description = "ID del cliente", required = true)
             @PathVariable Long id,
@@ -78,12 +298,37 @@ public class ClienteController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Actualizar cliente parcialmente",
+            description = "Aplica un JSON Merge Patch (RFC 7396): solo se validan y modifican los campos enviados. " +
+                    "Si ningún valor cambia, la fila no se escribe y fechaModificacion se mantiene")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cliente actualizado (o sin cambios)",
+            content = @Content(schema = @Schema(implementation = ClienteResponseDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Cliente no encontrado"),
+        @ApiResponse(responseCode = "400", description = "Campos inválidos o no editables")
+    })
+    @PatchMapping(value = "/{id}", consumes = {MEDIA_TYPE_MERGE_PATCH, MediaType.APPLICATION_JSON_VALUE})
+    @LimiteConcurrencia(ESCRITURA)
+    public ResponseEntity<ClienteResponseDTO> actualizarClienteParcialmente(
+            @Parameter(description = "ID del cliente", required = true)
+            @PathVariable Long id,
+            @RequestBody Map<String, Object> cambios) {
+        ClienteRequestDTO dto;
+        try {
+            dto = objectMapper.convertValue(cambios, ClienteRequestDTO.class);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Formato inválido en los datos a modificar: " + ex.getMessage());
+        }
+        return ResponseEntity.ok(clienteService.actualizarClienteParcialmente(id, dto, cambios.keySet()));
+    }
+
     @Operation(summary = "Eliminar cliente", description = "Elimina un cliente del sistema")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Cliente eliminado exitosamente"),
         @ApiResponse(responseCode = "404", description = "Cliente no encontrado")
     })
     @DeleteMapping("/{id}")
+    @LimiteConcurrencia(ESCRITURA)
     public ResponseEntity<Void> eliminarCliente(
             @Parameter(description = "ID del cliente", required = true)
             @PathVariable Long id) {
@@ -98,11 +343,14 @@ public class ClienteController {
         @ApiResponse(responseCode = "404", description = "Cliente no encontrado")
     })
     @GetMapping("/cuit/{cuit}")
-    public ResponseEntity<ClienteResponseDTO> buscarPorCuit(
+    @LimiteConcurrencia(LECTURA)
+    public ResponseEntity<?> buscarPorCuit(
             @Parameter(description = "CUIT del cliente (formato: XX-XXXXXXXX-X)", required = true)
-            @PathVariable String cuit) {
-        ClienteResponseDTO response = clienteService.buscarPorCuit(cuit);
-        return ResponseEntity.ok(response);
+            @PathVariable String cuit,
+            WebRequest request) {
+        ClienteJsonCache.Entrada entrada = clienteJsonCache.obtenerPorCuit(cuit,
+                () -> clienteService.buscarPorCuit(cuit));
+        return respuestaCliente(entrada, request);
     }
 
     @Operation(summary = "Buscar cliente por email", description = "Busca un cliente por su email")
@@ -112,10 +360,103 @@ public class ClienteController {
         @ApiResponse(responseCode = "404", description = "Cliente no encontrado")
     })
     @GetMapping("/email/{email}")
-    public ResponseEntity<ClienteResponseDTO> buscarPorEmail(
+    @LimiteConcurrencia(LECTURA)
+    public ResponseEntity<?> buscarPorEmail(
             @Parameter(description = "Email del cliente", required = true)
-            @PathVariable String email) {
-        ClienteResponseDTO response = clienteService.buscarPorEmail(email);
-        return ResponseEntity.ok(response);
+            @PathVariable String email,
+            WebRequest request) {
+        ClienteJsonCache.Entrada entrada = clienteJsonCache.obtenerPorEmail(email,
+                () -> clienteService.buscarPorEmail(email));
+        return respuestaCliente(entrada, request);
+    }
+
+    // Las consultas individuales responden con el JSON ya serializado por la caché. Con un Accept
+    // binario el cliente se decodifica de esos bytes y lo escribe el converter del formato pedido
+    private ResponseEntity<?> respuestaCliente(ClienteJsonCache.Entrada entrada, WebRequest request) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etagDelFormato(entrada.getEtag(), request))
+                .varyBy(HttpHeaders.ACCEPT);
+        MediaType binario = formatoBinarioPreferido(request.getHeader(HttpHeaders.ACCEPT));
+        if (binario == null) {
+            return response.contentType(MediaType.APPLICATION_JSON).body(entrada.getJson());
+        }
+        try {
+            return response.contentType(binario).body(objectMapper.readValue(entrada.getJson(), ClienteResponseDTO.class));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Un ETag fuerte por representación: cada formato binario agrega su nombre al de JSON ("c1-...-cbor")
+    static String etagDelFormato(String etag, WebRequest request) {
+        MediaType binario = formatoBinarioPreferido(request.getHeader(HttpHeaders.ACCEPT));
+        if (binario == null) {
+            return etag;
+        }
+        String formato = binario.getSubtype().replaceFirst("^x-(jackson-)?", "");
+        return etag.substring(0, etag.length() - 1) + "-" + formato + "\"";
+    }
+
+    // Prefer (RFC 7240) puede traer varias preferencias separadas por coma, cada una con parámetros
+    static boolean prefiereAsincronico(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preferencia : prefer.split(",")) {
+            String nombre = preferencia.split(";", 2)[0].trim();
+            if (nombre.equalsIgnoreCase(PREFER_RESPOND_ASYNC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Primer formato binario que el cliente prefiere a JSON, o null si JSON sirve
+    static MediaType formatoBinarioPreferido(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return null;
+        }
+        List<MediaType> aceptados = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        aceptados.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType aceptado : aceptados) {
+            if (aceptado.getQualityValue() == 0) {
+                continue;
+            }
+            if (aceptado.includes(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+            for (MediaType binario : FormatosBinariosConfig.FORMATOS_BINARIOS) {
+                if (aceptado.includes(binario)) {
+                    return binario;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void escribirClientes(OutputStream out, boolean comoArray) throws IOException {
+        // Sin flush por cliente: el generador vuelca su buffer al response a medida que se llena
+        ObjectWriter writer = objectMapper.writerFor(ClienteResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            if (comoArray) {
+                generator.writeStartArray();
+            } else {
+                generator.setRootValueSeparator(null);
+            }
+            clienteService.exportarClientes(cliente -> {
+                try {
+                    writer.writeValue(generator, cliente);
+                    if (!comoArray) {
+                        generator.writeRaw('\n');
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            if (comoArray) {
+                generator.writeEndArray();
+            }
+        }
     }
 }
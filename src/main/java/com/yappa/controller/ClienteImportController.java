@@ -0,0 +1,42 @@
+package com.yappa.controller;
+
+import com.yappa.dto.ClienteImportResultadoDTO;
+import com.yappa.service.ClienteImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/clientes")
+@RequiredArgsConstructor
+@Tag(name = "Clientes", description = "API para gestión de clientes (ABM)")
+public class ClienteImportController {
+
+    private final ClienteImportService clienteImportService;
+
+    @Operation(summary = "Importar clientes desde CSV",
+            description = "Importa clientes en forma masiva desde un CSV con cabecera " +
+                    "(nombre, apellido, razonSocial, cuit, fechaNacimiento, telefonoCelular, email). " +
+                    "Las filas inválidas o duplicadas se informan en el resultado y no impiden la carga del resto",
+            requestBody = @RequestBody(content = @Content(mediaType = "text/csv")))
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Importación procesada",
+            content = @Content(schema = @Schema(implementation = ClienteImportResultadoDTO.class))),
+        @ApiResponse(responseCode = "400", description = "CSV ilegible o cabecera incompleta")
+    })
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ClienteImportResultadoDTO> importarClientes(InputStream csv) {
+        return ResponseEntity.ok(clienteImportService.importarClientes(csv));
+    }
+}
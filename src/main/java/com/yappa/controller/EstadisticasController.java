@@ -0,0 +1,37 @@
+package com.yappa.controller;
+
+import com.yappa.cache.ClienteJsonCache;
+import com.yappa.cache.FiltroUnicidadClientes;
+import com.yappa.dto.CacheEstadisticasDTO;
+import com.yappa.dto.FiltroUnicidadEstadisticasDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/estadisticas")
+@RequiredArgsConstructor
+@Tag(name = "Estadísticas", description = "Estadísticas internas de la aplicación")
+public class EstadisticasController {
+
+    private final ClienteJsonCache clienteJsonCache;
+    private final FiltroUnicidadClientes filtroUnicidad;
+
+    @Operation(summary = "Estadísticas de la caché de clientes",
+            description = "Aciertos, fallos y desalojos de la caché de respuestas por id, CUIT y email")
+    @GetMapping("/cache")
+    public ResponseEntity<CacheEstadisticasDTO> obtenerEstadisticasCache() {
+        return ResponseEntity.ok(clienteJsonCache.estadisticas());
+    }
+
+    @Operation(summary = "Estadísticas del filtro de unicidad",
+            description = "Tamaño, tasa de falsos positivos y consultas evitadas del filtro de Bloom de CUIT y email")
+    @GetMapping("/filtro-unicidad")
+    public ResponseEntity<FiltroUnicidadEstadisticasDTO> obtenerEstadisticasFiltroUnicidad() {
+        return ResponseEntity.ok(filtroUnicidad.estadisticas());
+    }
+}
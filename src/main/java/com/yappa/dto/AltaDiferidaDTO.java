@@ -0,0 +1,32 @@
+package com.yappa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Estado de un alta de cliente aceptada con Prefer: respond-async")
+public class AltaDiferidaDTO {
+
+    public enum Estado {
+        PENDIENTE, CREADO, RECHAZADO
+    }
+
+    @Schema(description = "Identificador del alta, usado en la URL de estado", example = "3f1c2b9e-8a4d-4e8f-9c1a-2b7d5e6f8a90")
+    private String id;
+
+    @Schema(description = "PENDIENTE hasta que se confirma el lote que la contiene", example = "CREADO")
+    private Estado estado;
+
+    @Schema(description = "ID asignado al cliente (solo si estado es CREADO)", example = "1")
+    private Long clienteId;
+
+    @Schema(description = "Motivo del rechazo (solo si estado es RECHAZADO)",
+            example = "Ya existe un cliente con el CUIT: 20-12345678-9")
+    private String mensaje;
+}
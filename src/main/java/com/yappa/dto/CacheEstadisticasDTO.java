@@ -0,0 +1,30 @@
+package com.yappa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Estadísticas de la caché de respuestas de clientes")
+public class CacheEstadisticasDTO {
+
+    @Schema(description = "Cantidad de entradas en la caché", example = "1250")
+    private long entradas;
+
+    @Schema(description = "Consultas resueltas desde la caché", example = "95000")
+    private long aciertos;
+
+    @Schema(description = "Consultas que tuvieron que ir a la base de datos", example = "5000")
+    private long fallos;
+
+    @Schema(description = "Entradas desalojadas por tamaño o expiración", example = "120")
+    private long desalojos;
+
+    @Schema(description = "Proporción de aciertos sobre el total de consultas", example = "0.95")
+    private double tasaAciertos;
+}
@@ -0,0 +1,33 @@
+package com.yappa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Alta, modificación o baja de un cliente")
+public class CambioClienteDTO {
+
+    public enum Tipo {
+        UPSERT, DELETE
+    }
+
+    @Schema(description = "UPSERT (el cliente existe con estos datos) o DELETE (el cliente fue eliminado)", example = "UPSERT")
+    private Tipo tipo;
+
+    @Schema(description = "ID del cliente", example = "1")
+    private Long id;
+
+    @Schema(description = "Fecha del cambio (modificación o eliminación)", example = "2024-11-21T10:30:00")
+    private LocalDateTime fecha;
+
+    @Schema(description = "Estado actual del cliente; null en las bajas")
+    private ClienteResponseDTO cliente;
+}
@@ -0,0 +1,67 @@
+package com.yappa.dto;
+
+import java.util.Locale;
+
+/**
+ * Forma canónica de las claves únicas de un cliente. El CUIT se guarda como
+ * número de 11 dígitos y recién se formatea ({@code XX-XXXXXXXX-X}) al salir
+ * por la API; el email se guarda además en minúsculas, que es como se compara.
+ */
+public final class ClavesCliente {
+
+    private ClavesCliente() {
+    }
+
+    /**
+     * CUIT como número, con o sin guiones; {@code null} si no tiene forma de CUIT.
+     * Un CUIT no empieza con 0: sin ese dígito no tendría los 11 que exige la columna.
+     */
+    public static Long cuitANumero(String cuit) {
+        if (cuit == null) {
+            return null;
+        }
+        boolean conGuiones = cuit.length() == 13 && cuit.charAt(2) == '-' && cuit.charAt(11) == '-';
+        if ((!conGuiones && cuit.length() != 11) || cuit.charAt(0) == '0') {
+            return null;
+        }
+        long numero = 0;
+        for (int i = 0; i < cuit.length(); i++) {
+            if (conGuiones && (i == 2 || i == 11)) {
+                continue;
+            }
+            char digito = cuit.charAt(i);
+            if (digito < '0' || digito > '9') {
+                return null;
+            }
+            numero = numero * 10 + (digito - '0');
+        }
+        return numero;
+    }
+
+    public static String formatearCuit(long cuit) {
+        // Se arma a mano: corre una vez por fila leída y String.format es varias veces más caro
+        char[] texto = new char[13];
+        long resto = cuit;
+        for (int i = texto.length - 1; i >= 0; i--) {
+            if (i == 2 || i == 11) {
+                texto[i] = '-';
+            } else {
+                texto[i] = (char) ('0' + resto % 10);
+                resto /= 10;
+            }
+        }
+        return new String(texto);
+    }
+
+    /**
+     * CUIT con guiones; si no tiene forma de CUIT se devuelve sin cambios.
+     */
+    public static String normalizarCuit(String cuit) {
+        Long numero = cuitANumero(cuit);
+        return numero != null ? formatearCuit(numero) : cuit;
+    }
+
+    public static String normalizarEmail(String email) {
+        return email != null ? email.toLowerCase(Locale.ROOT) : null;
+    }
+}
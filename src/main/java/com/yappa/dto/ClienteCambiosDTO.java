@@ -0,0 +1,26 @@
+package com.yappa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Cambios de clientes posteriores a un cursor, en orden de fecha")
+public class ClienteCambiosDTO {
+
+    @Schema(description = "Cambios en orden (fecha, id)")
+    private List<CambioClienteDTO> cambios;
+
+    @Schema(description = "Cursor para la próxima consulta; se devuelve aunque no haya cambios", example = "MjAyNC0xMS0yMVQxMDozMHwx")
+    private String siguienteCursor;
+
+    @Schema(description = "Indica si hay más cambios disponibles sin esperar", example = "false")
+    private boolean hayMas;
+}
@@ -0,0 +1,57 @@
+package com.yappa.dto;
+
+import com.yappa.exception.BusinessException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Cursor opaco de paginación keyset. Codifica el orden usado y la última
+ * clave devuelta, {@code (id)} o {@code (apellido, id)}, en Base64 URL-safe.
+ */
+@Value
+public class ClienteCursor {
+
+    public enum Orden {
+        ID, APELLIDO;
+
+        public static Orden desde(String valor) {
+            try {
+                return Orden.valueOf(valor.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new BusinessException("Orden de paginación no soportado: " + valor);
+            }
+        }
+    }
+
+    private static final String SEPARADOR = "|";
+
+    Orden orden;
+    Long id;
+    String apellido;
+
+    public static ClienteCursor de(Orden orden, ClienteResponseDTO ultimo) {
+        return new ClienteCursor(orden, ultimo.getId(), orden == Orden.APELLIDO ? ultimo.getApellido() : null);
+    }
+
+    public String codificar() {
+        String valor = orden.name() + SEPARADOR + id + (apellido != null ? SEPARADOR + apellido : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ClienteCursor decodificar(String cursor, Orden ordenEsperado) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = valor.split("\\" + SEPARADOR, 3);
+            Orden orden = Orden.valueOf(partes[0]);
+            if (orden != ordenEsperado || (orden == Orden.APELLIDO) != (partes.length == 3)) {
+                throw new BusinessException("El cursor no corresponde al orden solicitado: " + ordenEsperado.name().toLowerCase(Locale.ROOT));
+            }
+            return new ClienteCursor(orden, Long.parseLong(partes[1]), orden == Orden.APELLIDO ? partes[2] : null);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            throw new BusinessException("Cursor de paginación inválido: " + cursor);
+        }
+    }
+}
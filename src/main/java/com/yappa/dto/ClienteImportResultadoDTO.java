@@ -0,0 +1,41 @@
+package com.yappa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado de una importación masiva de clientes")
+public class ClienteImportResultadoDTO {
+
+    @Schema(description = "Cantidad de filas de datos leídas del CSV", example = "200000")
+    private long totalFilas;
+
+    @Schema(description = "Cantidad de clientes insertados", example = "199990")
+    private long importados;
+
+    @Schema(description = "Cantidad de filas rechazadas", example = "10")
+    private long rechazados;
+
+    @Schema(description = "Detalle de las filas rechazadas (acotado por yappa.import.max-errores-reportados)")
+    private List<ErrorFila> errores;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Error de una fila del CSV")
+    public static class ErrorFila {
+        @Schema(description = "Número de línea del CSV (la cabecera es la línea 1)", example = "42")
+        private long linea;
+
+        @Schema(description = "Motivo del rechazo", example = "Ya existe un cliente con el CUIT: 20-12345678-9")
+        private String mensaje;
+    }
+}
@@ -0,0 +1,26 @@
+package com.yappa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Claves de los clientes a resolver en una sola petición (ids, CUIT y/o emails)")
+public class ClienteLookupRequestDTO {
+
+    @Schema(description = "IDs de clientes", example = "[1, 2, 3]")
+    private List<Long> ids;
+
+    @Schema(description = "CUIT de clientes", example = "[\"20-12345678-9\", \"27-23456789-0\"]")
+    private List<String> cuits;
+
+    @Schema(description = "Emails de clientes", example = "[\"juan.perez@example.com\"]")
+    private List<String> emails;
+}
@@ -0,0 +1,29 @@
+package com.yappa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Clientes resueltos por clave, en el orden pedido. Una clave sin cliente tiene valor null")
+public class ClienteLookupResultadoDTO {
+
+    @Schema(description = "Cliente por ID")
+    private Map<Long, ClienteResponseDTO> ids;
+
+    @Schema(description = "Cliente por CUIT")
+    private Map<String, ClienteResponseDTO> cuits;
+
+    @Schema(description = "Cliente por email")
+    private Map<String, ClienteResponseDTO> emails;
+
+    @Schema(description = "Cantidad de claves sin cliente", example = "2")
+    private int noEncontrados;
+}
@@ -0,0 +1,23 @@
+package com.yappa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Página de clientes obtenida por paginación keyset")
+public class ClientePaginaDTO {
+
+    @Schema(description = "Clientes de la página actual")
+    private List<ClienteResponseDTO> clientes;
+
+    @Schema(description = "Cursor opaco para pedir la página siguiente (null si no hay más)", example = "SUR8MTA")
+    private String siguienteCursor;
+}
@@ -32,7 +32,7 @@ public class ClienteRequestDTO {
     private String razonSocial;
 
     @NotBlank(message = "El CUIT es obligatorio")
-    @Pattern(regexp = "^\\d{2}-\\d{8}-\\d{1}$", message = "El CUIT debe tener formato XX-XXXXXXXX-X")
+    @Pattern(regexp = "^[1-9]\\d-\\d{8}-\\d$", message = "El CUIT debe tener formato XX-XXXXXXXX-X")
     @Schema(description = "CUIT del cliente (formato: XX-XXXXXXXX-X)", example = "20-12345678-9", required = true)
     private String cuit;
 
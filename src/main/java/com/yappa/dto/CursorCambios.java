@@ -0,0 +1,43 @@
+package com.yappa.dto;
+
+import com.yappa.exception.BusinessException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor opaco del feed de cambios: la clave {@code (fecha, id)} del último
+ * cambio entregado, en Base64 URL-safe.
+ */
+@Value
+public class CursorCambios {
+
+    public static final CursorCambios INICIO = new CursorCambios(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    private static final String SEPARADOR = "|";
+
+    LocalDateTime fecha;
+    Long id;
+
+    public static CursorCambios de(CambioClienteDTO ultimo) {
+        return new CursorCambios(ultimo.getFecha(), ultimo.getId());
+    }
+
+    public String codificar() {
+        String valor = fecha + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorCambios decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = valor.split("\\" + SEPARADOR, 2);
+            return new CursorCambios(LocalDateTime.parse(partes[0]), Long.parseLong(partes[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new BusinessException("Cursor de cambios inválido: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.yappa.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Estadísticas del filtro de Bloom de CUIT y email")
+public class FiltroUnicidadEstadisticasDTO {
+
+    @Schema(description = "Indica si el filtro está habilitado por configuración", example = "true")
+    private boolean habilitado;
+
+    @Schema(description = "Indica si el filtro ya fue construido", example = "true")
+    private boolean inicializado;
+
+    @Schema(description = "Claves distintas registradas en el filtro de CUIT", example = "250000")
+    private long elementos;
+
+    @Schema(description = "Tamaño de cada filtro en bits", example = "4792530")
+    private long bitsPorFiltro;
+
+    @Schema(description = "Cantidad de funciones hash por clave", example = "7")
+    private int funcionesHash;
+
+    @Schema(description = "Memoria ocupada por ambos filtros en bytes", example = "1198144")
+    private long memoriaBytes;
+
+    @Schema(description = "Tasa de falsos positivos configurada", example = "0.01")
+    private double tasaFalsosPositivosConfigurada;
+
+    @Schema(description = "Tasa de falsos positivos estimada según la ocupación actual", example = "0.0021")
+    private double tasaFalsosPositivosEstimada;
+
+    @Schema(description = "Búsquedas resueltas como inexistentes sin consultar la base", example = "12000")
+    private long consultasEvitadas;
+
+    @Schema(description = "Búsquedas que el filtro derivó a la base de datos", example = "48000")
+    private long consultasRealizadas;
+
+    @Schema(description = "Búsquedas derivadas a la base que no encontraron el cliente", example = "35")
+    private long falsosPositivos;
+
+    @Schema(description = "Fecha de la última reconstrucción completa", example = "2024-11-21T10:30:00")
+    private LocalDateTime ultimaReconstruccion;
+}
@@ -0,0 +1,29 @@
+package com.yappa.dto;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Respuesta de una petición con {@code Idempotency-Key}, tal como se envió, para
+ * repetirla ante un reintento. La huella identifica la petición original: un
+ * reintento con la misma clave y otra huella no es un reintento.
+ */
+@Value
+public class RespuestaGuardada {
+
+    String huella;
+    int estado;
+    String contentType;
+    // Los headers que se repiten con el cuerpo (Location, ETag, Preference-Applied), por nombre
+    Map<String, String> headers;
+    byte[] cuerpo;
+
+    /**
+     * Solo se guardan las respuestas definitivas: un 5xx (por ejemplo, un 503 por
+     * sobrecarga) debe poder reintentarse.
+     */
+    public boolean esDefinitiva() {
+        return estado < 500;
+    }
+}
@@ -0,0 +1,42 @@
+package com.yappa.dto;
+
+import lombok.Value;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Versión de la tabla de clientes (cantidad de filas y suma de las fechas de
+ * modificación), usada para derivar ETags sin leer los registros.
+ * <p>
+ * La suma cambia con cada escritura confirmada, aunque se confirme después de otra
+ * con una fecha posterior o venga de una instancia con el reloj atrasado: la última
+ * fecha de modificación no cambiaría en esos casos.
+ */
+@Value
+public class VersionClientes {
+
+    long cantidad;
+    // En microsegundos, la precisión con que la base guarda las fechas
+    BigInteger sumaModificaciones;
+
+    public String etag() {
+        return "\"t" + Long.toHexString(cantidad) + "-" + sumaModificaciones.toString(16) + "\"";
+    }
+
+    /**
+     * ETag fuerte de un cliente, derivado de su id y su fecha de modificación.
+     */
+    public static String etagCliente(Long id, LocalDateTime fechaModificacion) {
+        return "\"c" + Long.toHexString(id) + "-" + Long.toHexString(micros(fechaModificacion)) + "\"";
+    }
+
+    // La base guarda microsegundos: se descarta el resto para que el ETag no dependa de dónde se leyó la fecha
+    private static long micros(LocalDateTime fecha) {
+        if (fecha == null) {
+            return 0;
+        }
+        return fecha.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + fecha.getNano() / 1_000;
+    }
+}
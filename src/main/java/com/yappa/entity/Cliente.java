@@ -1,5 +1,6 @@
 package com.yappa.entity;
 
+import com.yappa.dto.ClavesCliente;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -13,7 +14,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "clientes")
+// Mismos nombres que en las migraciones: las violaciones de unicidad se identifican por ellos
+@Table(name = "clientes", uniqueConstraints = {
+        @UniqueConstraint(name = "clientes_cuit_key", columnNames = "cuit"),
+        @UniqueConstraint(name = "clientes_email_normalizado_key", columnNames = "email_normalizado")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,10 +44,12 @@ public class Cliente {
     @Column(name = "razon_social", nullable = false, length = 150)
     private String razonSocial;
 
-    @NotBlank(message = "El CUIT es obligatorio")
-    @Pattern(regexp = "^\\d{2}-\\d{8}-\\d{1}$", message = "El CUIT debe tener formato XX-XXXXXXXX-X")
-    @Column(nullable = false, unique = true, length = 20)
-    private String cuit;
+    // Los 11 dígitos del CUIT; el formato XX-XXXXXXXX-X es solo de la API (ClavesCliente)
+    @NotNull(message = "El CUIT es obligatorio")
+    @Min(value = 10_000_000_000L, message = "El CUIT debe tener 11 dígitos")
+    @Max(value = 99_999_999_999L, message = "El CUIT debe tener 11 dígitos")
+    @Column(nullable = false)
+    private Long cuit;
 
     @NotNull(message = "La fecha de nacimiento es obligatoria")
     @Past(message = "La fecha de nacimiento debe ser en el pasado")
@@ -57,9 +64,13 @@ public class Cliente {
     @NotBlank(message = "El email es obligatorio")
     @Email(message = "El email debe ser válido")
     @Size(max = 150, message = "El email no puede exceder 150 caracteres")
-    @Column(nullable = false, unique = true, length = 150)
+    @Column(nullable = false, length = 150)
     private String email;
 
+    // La unicidad se controla sobre el email en minúsculas
+    @Column(name = "email_normalizado", nullable = false, length = 150)
+    private String emailNormalizado;
+
     @CreationTimestamp
     @Column(name = "fecha_creacion", nullable = false, updatable = false)
     private LocalDateTime fechaCreacion;
@@ -67,4 +78,10 @@ public class Cliente {
     @UpdateTimestamp
     @Column(name = "fecha_modificacion", nullable = false)
     private LocalDateTime fechaModificacion;
+
+    @PrePersist
+    @PreUpdate
+    void normalizarEmail() {
+        emailNormalizado = ClavesCliente.normalizarEmail(email);
+    }
 }
@@ -0,0 +1,33 @@
+package com.yappa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de baja de un cliente, para informar la eliminación en el feed de cambios.
+ * Se escribe y se lee con JDBC; la entidad describe la tabla para la validación del esquema.
+ */
+@Entity
+@Table(name = "clientes_eliminados",
+        indexes = @Index(name = "idx_clientes_eliminados_fecha_id", columnList = "fecha_eliminacion, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClienteEliminado {
+
+    @Id
+    private Long id;
+
+    @Column(name = "fecha_eliminacion", nullable = false)
+    private LocalDateTime fechaEliminacion;
+}
@@ -0,0 +1,51 @@
+package com.yappa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Respuesta guardada de una petición con {@code Idempotency-Key}, compartida entre
+ * instancias con {@code yappa.idempotencia.persistente=true}.
+ * Se escribe y se lee con JDBC; la entidad describe la tabla para la validación del esquema.
+ */
+@Entity
+@Table(name = "respuestas_idempotentes",
+        indexes = @Index(name = "idx_respuestas_idempotentes_fecha", columnList = "fecha_creacion"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RespuestaIdempotente {
+
+    @Id
+    @Column(length = 255)
+    private String clave;
+
+    @Column(nullable = false, length = 64)
+    private String huella;
+
+    @Column(nullable = false)
+    private Integer estado;
+
+    @Column(name = "content_type", length = 255)
+    private String contentType;
+
+    // Un header por línea, "Nombre: valor"
+    @Column(length = 4096)
+    private String headers;
+
+    @Column(nullable = false, length = 16_777_216)
+    private byte[] cuerpo;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+}
@@ -0,0 +1,13 @@
+package com.yappa.eventos;
+
+import lombok.Value;
+
+/**
+ * Se publica al terminar una importación masiva: en lugar de un evento por
+ * cliente, los suscriptores reciben una única indicación de resincronizar.
+ */
+@Value
+public class ClientesImportados {
+
+    long importados;
+}
@@ -0,0 +1,290 @@
+package com.yappa.eventos;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yappa.dto.CambioClienteDTO;
+import com.yappa.dto.CursorCambios;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Difunde por Server-Sent Events las altas, modificaciones y bajas de clientes
+ * una vez confirmada la transacción que las produjo.
+ * <p>
+ * Las conexiones son asincrónicas (ningún hilo queda tomado mientras esperan) y
+ * cada suscriptor tiene una cola acotada que se vacía de a un envío por vez en un
+ * executor propio y acotado. No se usa el de la aplicación: lo ocupan también las
+ * exportaciones en streaming, y unas pocas exportaciones largas dejarían sin
+ * eventos a todos los suscriptores. Si un cliente lento llena su cola, sus
+ * eventos pendientes se descartan y recibe un único {@code resincronizar}: debe
+ * recargar la lista o ponerse al día con {@code /api/clientes/changes}.
+ * <p>
+ * Los últimos eventos se conservan en un historial acotado para que una
+ * reconexión con {@code Last-Event-ID} reciba lo que se perdió sin resincronizar.
+ */
+@Component
+@Slf4j
+public class DifusorEventosClientes implements MeterBinder {
+
+    static final String EVENTO_CAMBIO = "cambio";
+    static final String EVENTO_RESINCRONIZAR = "resincronizar";
+
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> LATIDO = SseEmitter.event().comment("ping").build();
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> RESINCRONIZAR =
+            SseEmitter.event().name(EVENTO_RESINCRONIZAR).data("{}").build();
+
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor executor;
+    private final int capacidadCola;
+    private final Duration duracionConexion;
+    private final int tamanoHistorial;
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+    // Se agrega al historial y se reparte bajo el mismo lock: una suscripción nueva no pierde ni duplica eventos
+    private final Deque<EventoDifundido> historial = new ArrayDeque<>();
+    private final AtomicLong eventosDescartados = new AtomicLong();
+    private final AtomicLong resincronizaciones = new AtomicLong();
+
+    @Autowired
+    public DifusorEventosClientes(ObjectMapper objectMapper,
+                                  @Value("${yappa.eventos.hilos-envio:4}") int hilosEnvio,
+                                  @Value("${yappa.eventos.envios-pendientes:1024}") int enviosPendientes,
+                                  @Value("${yappa.eventos.capacidad-cola:256}") int capacidadCola,
+                                  @Value("${yappa.eventos.duracion-conexion:PT30M}") Duration duracionConexion,
+                                  @Value("${yappa.eventos.tamano-historial:1024}") int tamanoHistorial) {
+        this(objectMapper, executorDeEnvios(hilosEnvio, enviosPendientes), capacidadCola, duracionConexion, tamanoHistorial);
+    }
+
+    DifusorEventosClientes(ObjectMapper objectMapper, TaskExecutor executor, int capacidadCola,
+                           Duration duracionConexion, int tamanoHistorial) {
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.capacidadCola = capacidadCola;
+        this.duracionConexion = duracionConexion;
+        this.tamanoHistorial = tamanoHistorial;
+    }
+
+    private static ThreadPoolTaskExecutor executorDeEnvios(int hilos, int pendientes) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(hilos);
+        executor.setMaxPoolSize(hilos);
+        // Como máximo un envío programado por suscriptor: la cola acota los suscriptores en espera
+        executor.setQueueCapacity(pendientes);
+        executor.setThreadNamePrefix("eventos-sse-");
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        if (executor instanceof ThreadPoolTaskExecutor propio) {
+            propio.shutdown();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("yappa.eventos.suscriptores", suscriptores, Set::size)
+                .description("Conexiones SSE abiertas en /api/clientes/events")
+                .register(registry);
+        FunctionCounter.builder("yappa.eventos.descartados", eventosDescartados, AtomicLong::get)
+                .description("Eventos descartados por desborde de la cola de un suscriptor")
+                .register(registry);
+        FunctionCounter.builder("yappa.eventos.resincronizaciones", resincronizaciones, AtomicLong::get)
+                .register(registry);
+    }
+
+    /**
+     * Abre una conexión. Con {@code Last-Event-ID} (reconexión automática del
+     * navegador) se reenvían los eventos posteriores que sigan en el historial;
+     * si ese id ya no está, el primer evento es un {@code resincronizar}.
+     */
+    public SseEmitter suscribir(String ultimoEventoId) {
+        SseEmitter emitter = new SseEmitter(duracionConexion.toMillis());
+        Suscriptor suscriptor = new Suscriptor(emitter, capacidadCola);
+        emitter.onCompletion(() -> suscriptores.remove(suscriptor));
+        emitter.onTimeout(() -> suscriptores.remove(suscriptor));
+        emitter.onError(error -> suscriptores.remove(suscriptor));
+
+        // Un primer comentario confirma la respuesta de inmediato, sin esperar al primer cambio
+        suscriptor.cola.offer(SseEmitter.event().comment("conectado").build());
+        synchronized (historial) {
+            if (ultimoEventoId != null && !ultimoEventoId.isBlank()) {
+                reenviarDesde(suscriptor, ultimoEventoId);
+            }
+            suscriptores.add(suscriptor);
+        }
+        programarEnvio(suscriptor);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void difundir(CambioClienteDTO cambio) {
+        // Se serializa una sola vez para todos los suscriptores
+        String id = new CursorCambios(cambio.getFecha(), cambio.getId()).codificar();
+        Set<ResponseBodyEmitter.DataWithMediaType> evento;
+        try {
+            evento = SseEmitter.event()
+                    .id(id)
+                    .name(EVENTO_CAMBIO)
+                    .data(objectMapper.writeValueAsString(cambio))
+                    .build();
+        } catch (JsonProcessingException ex) {
+            log.error("No se pudo serializar el cambio del cliente {}", cambio.getId(), ex);
+            return;
+        }
+        difundir(new EventoDifundido(id, evento));
+    }
+
+    @TransactionalEventListener
+    public void difundir(ClientesImportados importacion) {
+        if (importacion.getImportados() > 0) {
+            difundir(new EventoDifundido(null, RESINCRONIZAR));
+        }
+    }
+
+    /**
+     * El latido mantiene abiertas las conexiones a través de proxies con timeout
+     * de inactividad y detecta las cerradas del lado del cliente.
+     */
+    @Scheduled(initialDelayString = "${yappa.eventos.intervalo-latido:PT15S}",
+            fixedDelayString = "${yappa.eventos.intervalo-latido:PT15S}")
+    public void enviarLatidos() {
+        suscriptores.forEach(suscriptor -> encolar(suscriptor, LATIDO));
+    }
+
+    int cantidadSuscriptores() {
+        return suscriptores.size();
+    }
+
+    private void difundir(EventoDifundido evento) {
+        synchronized (historial) {
+            if (historial.size() == tamanoHistorial) {
+                historial.removeFirst();
+            }
+            historial.addLast(evento);
+            suscriptores.forEach(suscriptor -> encolar(suscriptor, evento.datos));
+        }
+    }
+
+    private void reenviarDesde(Suscriptor suscriptor, String ultimoEventoId) {
+        boolean encontrado = false;
+        for (EventoDifundido evento : historial) {
+            if (encontrado) {
+                suscriptor.agregar(evento.datos);
+            } else {
+                encontrado = ultimoEventoId.equals(evento.id);
+            }
+        }
+        if (!encontrado) {
+            suscriptor.marcarDesborde();
+        }
+    }
+
+    private void encolar(Suscriptor suscriptor, Set<ResponseBodyEmitter.DataWithMediaType> evento) {
+        if (!suscriptor.agregar(evento)) {
+            eventosDescartados.addAndGet(suscriptor.cola.size() + 1L);
+        }
+        programarEnvio(suscriptor);
+    }
+
+    private void programarEnvio(Suscriptor suscriptor) {
+        if (suscriptor.enviando.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> enviar(suscriptor));
+            } catch (TaskRejectedException ex) {
+                // Los eventos siguen en su cola: se reintenta con el próximo evento o latido
+                suscriptor.enviando.set(false);
+                log.debug("Envío de eventos postergado, executor de envíos lleno: {}", ex.getMessage());
+            }
+        }
+    }
+
+    // Como máximo un envío en curso por suscriptor: el orden de los eventos se respeta
+    private void enviar(Suscriptor suscriptor) {
+        try {
+            do {
+                if (suscriptor.desbordado.compareAndSet(true, false)) {
+                    suscriptor.cola.clear();
+                    resincronizaciones.incrementAndGet();
+                    suscriptor.emitter.send(RESINCRONIZAR);
+                }
+                Set<ResponseBodyEmitter.DataWithMediaType> evento;
+                while ((evento = suscriptor.cola.poll()) != null && !suscriptor.desbordado.get()) {
+                    suscriptor.emitter.send(evento);
+                }
+                suscriptor.enviando.set(false);
+            } while (suscriptor.pendiente() && suscriptor.enviando.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException ex) {
+            // El cliente cerró la conexión: no se reintenta, el navegador reconecta solo
+            log.debug("Suscriptor de eventos desconectado: {}", ex.getMessage());
+            suscriptores.remove(suscriptor);
+            suscriptor.cola.clear();
+            suscriptor.emitter.completeWithError(ex);
+        }
+    }
+
+    private static class EventoDifundido {
+        private final String id;
+        private final Set<ResponseBodyEmitter.DataWithMediaType> datos;
+
+        EventoDifundido(String id, Set<ResponseBodyEmitter.DataWithMediaType> datos) {
+            this.id = id;
+            this.datos = datos;
+        }
+    }
+
+    private static class Suscriptor {
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> cola;
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private final AtomicBoolean desbordado = new AtomicBoolean();
+
+        Suscriptor(SseEmitter emitter, int capacidad) {
+            this.emitter = emitter;
+            this.cola = new ArrayBlockingQueue<>(capacidad);
+        }
+
+        // Un evento que no entra marca el desborde: el suscriptor recibirá 'resincronizar'
+        boolean agregar(Set<ResponseBodyEmitter.DataWithMediaType> evento) {
+            if (evento == RESINCRONIZAR || !cola.offer(evento)) {
+                marcarDesborde();
+                return evento == RESINCRONIZAR;
+            }
+            return true;
+        }
+
+        void marcarDesborde() {
+            desbordado.set(true);
+        }
+
+        boolean pendiente() {
+            return desbordado.get() || !cola.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.yappa.eventos;
+
+import lombok.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fechas de modificación estampadas por transacciones de esta instancia que
+ * todavía no terminaron. El feed de cambios no avanza más allá de la más vieja:
+ * sus filas se confirman después, con una fecha que un cursor ya habría pasado.
+ * <p>
+ * Cubre escrituras de cualquier duración, como una importación masiva o un lote
+ * de altas diferidas. Las de otras instancias quedan cubiertas solo por
+ * {@code yappa.cambios.margen-confirmacion}.
+ */
+@Component
+public class EscriturasEnCurso {
+
+    private final ConcurrentSkipListSet<Escritura> enCurso = new ConcurrentSkipListSet<>(
+            Comparator.comparing(Escritura::getFecha).thenComparingLong(Escritura::getSecuencia));
+    private final AtomicLong secuencia = new AtomicLong();
+
+    /**
+     * Fecha de modificación para una escritura de la transacción en curso, con la
+     * precisión de la base. Queda registrada hasta que la transacción termina.
+     */
+    public LocalDateTime registrar() {
+        LocalDateTime fecha = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Sin transacción la escritura se confirma con la propia sentencia
+            return fecha;
+        }
+        Escritura escritura = new Escritura(fecha, secuencia.incrementAndGet());
+        enCurso.add(escritura);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                enCurso.remove(escritura);
+            }
+        });
+        return fecha;
+    }
+
+    /**
+     * La fecha más vieja estampada por una transacción que aún no terminó.
+     */
+    public Optional<LocalDateTime> masAntigua() {
+        return enCurso.stream().findFirst().map(Escritura::getFecha);
+    }
+
+    @Value
+    private static class Escritura {
+        LocalDateTime fecha;
+        // Desempata escrituras con la misma fecha
+        long secuencia;
+    }
+}
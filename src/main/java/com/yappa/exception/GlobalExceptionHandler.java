@@ -1,7 +1,13 @@
 package com.yappa.exception;
 
+import com.yappa.repository.RestriccionUnicaCliente;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -17,9 +23,19 @@ import java.util.Map;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    // Registrados en el registro global, al que Spring Boot agrega el de la aplicación
+    private static final Counter ERRORES_NO_ENCONTRADO = contadorDeErrores("no_encontrado");
+    private static final Counter ERRORES_NEGOCIO = contadorDeErrores("negocio");
+    private static final Counter ERRORES_INTEGRIDAD = contadorDeErrores("integridad");
+    private static final Counter ERRORES_VALIDACION = contadorDeErrores("validacion");
+    private static final Counter ERRORES_RESTRICCION = contadorDeErrores("restriccion");
+    private static final Counter ERRORES_SOBRECARGA = contadorDeErrores("sobrecarga");
+    private static final Counter ERRORES_INTERNOS = contadorDeErrores("interno");
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex) {
-        log.error("Resource not found: {}", ex.getMessage());
+        ERRORES_NO_ENCONTRADO.increment();
+        log.debug("Resource not found: {}", ex.getMessage());
         ErrorResponse error = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.NOT_FOUND.value())
@@ -31,7 +47,8 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex) {
-        log.error("Business exception: {}", ex.getMessage());
+        ERRORES_NEGOCIO.increment();
+        log.debug("Business exception: {}", ex.getMessage());
         ErrorResponse error = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.BAD_REQUEST.value())
@@ -41,8 +58,27 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        ERRORES_INTEGRIDAD.increment();
+        log.debug("Data integrity violation: {}", ex.getMostSpecificCause().getMessage());
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Bad Request")
+                .message(RestriccionUnicaCliente.violada(ex)
+                        .map(restriccion -> switch (restriccion) {
+                            case CUIT -> "Ya existe un cliente con el mismo CUIT";
+                            case EMAIL -> "Ya existe un cliente con el mismo email";
+                        })
+                        .orElse("Los datos violan una restricción de integridad"))
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        ERRORES_VALIDACION.increment();
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
@@ -61,8 +97,42 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolationException(ConstraintViolationException ex) {
+        ERRORES_RESTRICCION.increment();
+        Map<String, String> errors = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Validation Error")
+                .message("Error de validación en los datos")
+                .validationErrors(errors)
+                .build();
+
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(SobrecargaException.class)
+    public ResponseEntity<ErrorResponse> handleSobrecargaException(SobrecargaException ex) {
+        ERRORES_SOBRECARGA.increment();
+        log.debug("Request rejected by concurrency limit: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getReintentarEn().toSeconds())))
+                .body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex) {
+        ERRORES_INTERNOS.increment();
         log.error("Unexpected error: ", ex);
         ErrorResponse error = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
@@ -73,6 +143,13 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    private static Counter contadorDeErrores(String tipo) {
+        return Counter.builder("yappa.errores")
+                .description("Respuestas de error por rama del manejador de excepciones")
+                .tag("tipo", tipo)
+                .register(Metrics.globalRegistry);
+    }
+
     @lombok.Data
     @lombok.Builder
     @Schema(description = "Respuesta de error estándar")
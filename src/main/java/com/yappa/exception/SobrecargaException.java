@@ -0,0 +1,21 @@
+package com.yappa.exception;
+
+import java.time.Duration;
+
+/**
+ * La petición se rechaza sin procesarla porque se alcanzó el límite de
+ * concurrencia; el cliente puede reintentar pasado {@link #getReintentarEn()}.
+ */
+public class SobrecargaException extends RuntimeException {
+
+    private final Duration reintentarEn;
+
+    public SobrecargaException(String message, Duration reintentarEn) {
+        super(message);
+        this.reintentarEn = reintentarEn;
+    }
+
+    public Duration getReintentarEn() {
+        return reintentarEn;
+    }
+}
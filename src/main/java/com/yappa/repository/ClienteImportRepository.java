@@ -0,0 +1,141 @@
+package com.yappa.repository;
+
+import com.yappa.dto.ClavesCliente;
+import com.yappa.dto.ClienteImportResultadoDTO;
+import com.yappa.dto.ClienteRequestDTO;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carga masiva de clientes a través de una tabla de staging temporal.
+ * En PostgreSQL las filas se cargan con {@code COPY ... FROM STDIN}; en otros
+ * motores (H2) se usa un batch de inserts. La detección de duplicados y el
+ * merge a {@code clientes} se resuelven con sentencias set-based.
+ * Todos los métodos deben ejecutarse dentro de la misma transacción.
+ */
+@Repository
+public class ClienteImportRepository {
+
+    private static final String STAGING = "clientes_import";
+    // cuit y email quedan como llegaron, para los mensajes de error; las claves únicas van en sus columnas normalizadas
+    private static final String COLUMNAS = "linea, nombre, apellido, razon_social, cuit, cuit_numero, fecha_nacimiento, " +
+            "telefono_celular, email, email_normalizado";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MotorBaseDatos motor;
+
+    public ClienteImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.motor = new MotorBaseDatos(jdbcTemplate);
+    }
+
+    public void prepararStaging() {
+        String columnas = "(linea BIGINT NOT NULL, nombre VARCHAR(100), apellido VARCHAR(100), " +
+                "razon_social VARCHAR(150), cuit VARCHAR(20), cuit_numero BIGINT, fecha_nacimiento DATE, " +
+                "telefono_celular VARCHAR(30), email VARCHAR(150), email_normalizado VARCHAR(150), error VARCHAR(500))";
+        // La tabla desaparece con el commit; en H2 TRANSACTIONAL evita el commit implícito del DDL
+        jdbcTemplate.execute(motor.esPostgres()
+                ? "CREATE TEMP TABLE IF NOT EXISTS " + STAGING + " " + columnas + " ON COMMIT DROP"
+                : "CREATE LOCAL TEMPORARY TABLE IF NOT EXISTS " + STAGING + " " + columnas + " ON COMMIT DROP TRANSACTIONAL");
+        jdbcTemplate.update("DELETE FROM " + STAGING);
+    }
+
+    public void cargarStaging(Map<Long, ClienteRequestDTO> filasPorLinea) {
+        if (filasPorLinea.isEmpty()) {
+            return;
+        }
+        if (motor.esPostgres()) {
+            copiarStaging(filasPorLinea);
+        } else {
+            List<Object[]> parametros = new ArrayList<>(filasPorLinea.size());
+            filasPorLinea.forEach((linea, dto) -> parametros.add(new Object[] {
+                    linea, dto.getNombre(), dto.getApellido(), dto.getRazonSocial(), dto.getCuit(),
+                    ClavesCliente.cuitANumero(dto.getCuit()), Date.valueOf(dto.getFechaNacimiento()),
+                    dto.getTelefonoCelular(), dto.getEmail(), ClavesCliente.normalizarEmail(dto.getEmail())
+            }));
+            jdbcTemplate.batchUpdate("INSERT INTO " + STAGING + " (" + COLUMNAS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    parametros);
+        }
+    }
+
+    /**
+     * Marca las filas que chocan con clientes existentes o con una fila anterior
+     * del mismo archivo (se conserva la primera aparición de cada CUIT/email).
+     */
+    public void marcarDuplicados() {
+        jdbcTemplate.update("UPDATE " + STAGING + " s SET error = 'Ya existe un cliente con el CUIT: ' || s.cuit " +
+                "WHERE EXISTS (SELECT 1 FROM clientes c WHERE c.cuit = s.cuit_numero)");
+        jdbcTemplate.update("UPDATE " + STAGING + " s SET error = 'Ya existe un cliente con el email: ' || s.email " +
+                "WHERE s.error IS NULL AND EXISTS (SELECT 1 FROM clientes c WHERE c.email_normalizado = s.email_normalizado)");
+        marcarRepetidosEnArchivo("cuit_numero", "cuit", "CUIT");
+        marcarRepetidosEnArchivo("email_normalizado", "email", "email");
+    }
+
+    public int insertarDesdeStaging(LocalDateTime fecha) {
+        Timestamp ahora = Timestamp.valueOf(fecha);
+        return jdbcTemplate.update("INSERT INTO clientes (nombre, apellido, razon_social, cuit, fecha_nacimiento, " +
+                "telefono_celular, email, email_normalizado, fecha_creacion, fecha_modificacion) " +
+                "SELECT nombre, apellido, razon_social, cuit_numero, fecha_nacimiento, telefono_celular, email, " +
+                "email_normalizado, ?, ? " +
+                "FROM " + STAGING + " WHERE error IS NULL ORDER BY linea", ahora, ahora);
+    }
+
+    public long contarErrores() {
+        Long cantidad = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + STAGING + " WHERE error IS NOT NULL",
+                Long.class);
+        return cantidad != null ? cantidad : 0;
+    }
+
+    public List<ClienteImportResultadoDTO.ErrorFila> obtenerErrores(int maximo) {
+        return jdbcTemplate.query("SELECT linea, error FROM " + STAGING + " WHERE error IS NOT NULL " +
+                        "ORDER BY linea FETCH FIRST " + maximo + " ROWS ONLY",
+                (rs, rowNum) -> new ClienteImportResultadoDTO.ErrorFila(rs.getLong("linea"), rs.getString("error")));
+    }
+
+    private void marcarRepetidosEnArchivo(String clave, String columna, String etiqueta) {
+        jdbcTemplate.update("UPDATE " + STAGING + " SET error = 'El " + etiqueta + " está repetido en el archivo: ' || " +
+                columna + " WHERE error IS NULL AND linea IN (" +
+                "SELECT linea FROM (SELECT linea, ROW_NUMBER() OVER (PARTITION BY " + clave + " ORDER BY linea) AS rn " +
+                "FROM " + STAGING + " WHERE error IS NULL) t WHERE t.rn > 1)");
+    }
+
+    private void copiarStaging(Map<Long, ClienteRequestDTO> filasPorLinea) {
+        StringBuilder csv = new StringBuilder(filasPorLinea.size() * 160);
+        filasPorLinea.forEach((linea, dto) -> csv.append(linea).append(',')
+                .append(escapar(dto.getNombre())).append(',')
+                .append(escapar(dto.getApellido())).append(',')
+                .append(escapar(dto.getRazonSocial())).append(',')
+                .append(escapar(dto.getCuit())).append(',')
+                .append(ClavesCliente.cuitANumero(dto.getCuit())).append(',')
+                .append(dto.getFechaNacimiento()).append(',')
+                .append(escapar(dto.getTelefonoCelular())).append(',')
+                .append(escapar(dto.getEmail())).append(',')
+                .append(escapar(ClavesCliente.normalizarEmail(dto.getEmail()))).append('\n'));
+
+        jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            try {
+                return con.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                        "COPY " + STAGING + " (" + COLUMNAS + ") FROM STDIN WITH (FORMAT csv)",
+                        new StringReader(csv.toString()));
+            } catch (IOException ex) {
+                throw new SQLException("Error al copiar filas a la tabla de staging", ex);
+            }
+        });
+    }
+
+    private static String escapar(String valor) {
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,125 @@
+package com.yappa.repository;
+
+import com.yappa.dto.CambioClienteDTO;
+import com.yappa.dto.ClienteRequestDTO;
+import com.yappa.dto.ClienteResponseDTO;
+import com.yappa.dto.VersionClientes;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Operaciones sobre {@code clientes} implementadas con JDBC plano, sin
+ * hidratar entidades ni pasar por el contexto de persistencia.
+ */
+public interface ClienteJdbcRepository {
+
+    /**
+     * Lecturas de un cliente directo al DTO de respuesta. Devuelven vacío si no existe.
+     * El CUIT se acepta con o sin guiones y el email sin distinguir mayúsculas.
+     */
+    Optional<ClienteResponseDTO> obtenerPorId(Long id);
+
+    Optional<ClienteResponseDTO> obtenerPorCuit(String cuit);
+
+    Optional<ClienteResponseDTO> obtenerPorEmail(String email);
+
+    /**
+     * Clientes con alguno de los ids, CUIT o emails indicados, en cualquier orden.
+     * Las claves repetidas se consultan una sola vez y las inexistentes se omiten.
+     */
+    List<ClienteResponseDTO> obtenerPorIds(Collection<Long> ids);
+
+    List<ClienteResponseDTO> obtenerPorCuits(Collection<String> cuits);
+
+    List<ClienteResponseDTO> obtenerPorEmails(Collection<String> emails);
+
+    /**
+     * Página keyset (seek) ordenada por id: los clientes con id mayor a {@code desdeId}.
+     * Nunca usa OFFSET, el costo no depende del número de página.
+     */
+    List<ClienteResponseDTO> obtenerPaginaPorId(long desdeId, int limite);
+
+    /**
+     * Página keyset ordenada por apellido e id, a continuación de ({@code apellido}, {@code id}),
+     * o la primera página si {@code apellido} es null.
+     */
+    List<ClienteResponseDTO> obtenerPaginaPorApellido(String apellido, Long id, int limite);
+
+    /**
+     * Altas, modificaciones y bajas posteriores a ({@code desdeFecha}, {@code desdeId}) y no más
+     * nuevas que {@code hasta}, ordenadas por (fecha, id). Cada tabla se lee por su índice
+     * (fecha, id) con el mismo límite y los resultados se intercalan.
+     */
+    List<CambioClienteDTO> obtenerCambios(LocalDateTime desdeFecha, long desdeId, LocalDateTime hasta, int limite);
+
+    /**
+     * Versión de la tabla para el ETag del listado: cantidad de filas y suma de las
+     * fechas de modificación, leídas del índice {@code idx_clientes_fecha_modificacion}.
+     */
+    VersionClientes obtenerVersion();
+
+    /**
+     * Deja la marca de baja del cliente para el feed de cambios. Debe ejecutarse en la
+     * misma transacción que el DELETE.
+     */
+    void registrarBaja(Long id, LocalDateTime fecha);
+
+    /**
+     * Elimina las marcas de baja anteriores a {@code antesDe} y devuelve cuántas borró.
+     */
+    int purgarBajas(LocalDateTime antesDe);
+
+    /**
+     * Recorre todos los clientes ordenados por id con un cursor forward-only.
+     * Debe invocarse dentro de una transacción para que el driver respete el fetch size.
+     */
+    void recorrerTodos(int fetchSize, Consumer<ClienteResponseDTO> consumidor);
+
+    /**
+     * Recorre el CUIT (con guiones) y el email en minúsculas de todos los clientes
+     * con un cursor forward-only.
+     * Debe invocarse dentro de una transacción para que el driver respete el fetch size.
+     */
+    void recorrerClavesUnicas(int fetchSize, BiConsumer<String, String> consumidor);
+
+    /**
+     * Busca clientes cuyo nombre, apellido, razón social, CUIT o email contengan
+     * el texto (sin distinguir mayúsculas), ordenados por relevancia.
+     */
+    List<ClienteResponseDTO> buscarPorTexto(String texto, int limite);
+
+    /**
+     * Inserta el cliente y devuelve la fila resultante en un único viaje a la base
+     * ({@code INSERT ... RETURNING}). Un CUIT o email duplicado se informa con
+     * {@link org.springframework.dao.DuplicateKeyException}.
+     */
+    ClienteResponseDTO insertar(ClienteRequestDTO cliente, LocalDateTime fecha);
+
+    /**
+     * Inserta todos los clientes con sentencias multi-fila ({@code INSERT ... VALUES (...), (...)
+     * RETURNING}) y devuelve las filas resultantes, en cualquier orden. Un CUIT o email
+     * duplicado se informa con {@link org.springframework.dao.DuplicateKeyException}; la
+     * transacción que lo invoca debe descartarse entera.
+     */
+    List<ClienteResponseDTO> insertarLote(List<ClienteRequestDTO> clientes, LocalDateTime fecha);
+
+    /**
+     * Actualiza el cliente y devuelve la fila resultante en un único viaje a la base
+     * ({@code UPDATE ... RETURNING}), o vacío si no existe.
+     */
+    Optional<ClienteResponseDTO> actualizar(Long id, ClienteRequestDTO cliente, LocalDateTime fecha);
+
+    /**
+     * Actualiza solo los campos indicados, y solo si alguno difiere del valor guardado:
+     * si ninguno cambia no se escribe la fila ni {@code fecha_modificacion}.
+     * Devuelve la fila resultante (modificada o no), o vacío si el cliente no existe.
+     */
+    Optional<ClienteResponseDTO> actualizarCampos(Long id, ClienteRequestDTO cambios, Set<String> campos,
+                                                  LocalDateTime fecha);
+}
@@ -0,0 +1,377 @@
+package com.yappa.repository;
+
+import com.yappa.dto.CambioClienteDTO;
+import com.yappa.dto.ClavesCliente;
+import com.yappa.dto.ClienteRequestDTO;
+import com.yappa.dto.ClienteResponseDTO;
+import com.yappa.dto.VersionClientes;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+public class ClienteJdbcRepositoryImpl implements ClienteJdbcRepository {
+
+    static final String COLUMNAS = "id, nombre, apellido, razon_social, cuit, fecha_nacimiento, " +
+            "telefono_celular, email, fecha_creacion, fecha_modificacion";
+
+    // El CUIT guardado como número, con el formato de la API, para la búsqueda de texto
+    static final String CUIT_FORMATEADO = "substr(CAST(cuit AS VARCHAR(11)), 1, 2) || '-' || " +
+            "substr(CAST(cuit AS VARCHAR(11)), 3, 8) || '-' || substr(CAST(cuit AS VARCHAR(11)), 11, 1)";
+
+    // Claves por sentencia en las consultas por lote: acota el tamaño del IN y de cada resultado
+    static final int TAMANO_BLOQUE_CLAVES = 500;
+
+    // Filas por INSERT multi-fila: el driver de PostgreSQL admite hasta 32767 parámetros por sentencia
+    static final int TAMANO_BLOQUE_INSERCION = 1000;
+
+    // Debe coincidir con la expresión del índice idx_clientes_busqueda_trgm (V6)
+    private static final String DOCUMENTO_BUSQUEDA =
+            "lower(nombre || ' ' || apellido || ' ' || razon_social || ' ' || " + CUIT_FORMATEADO + " || ' ' || email)";
+
+    static final RowMapper<ClienteResponseDTO> RESPONSE_MAPPER = (rs, rowNum) -> ClienteResponseDTO.builder()
+            .id(rs.getLong("id"))
+            .nombre(rs.getString("nombre"))
+            .apellido(rs.getString("apellido"))
+            .razonSocial(rs.getString("razon_social"))
+            .cuit(ClavesCliente.formatearCuit(rs.getLong("cuit")))
+            .fechaNacimiento(rs.getDate("fecha_nacimiento").toLocalDate())
+            .telefonoCelular(rs.getString("telefono_celular"))
+            .email(rs.getString("email"))
+            .fechaCreacion(aLocalDateTime(rs.getTimestamp("fecha_creacion")))
+            .fechaModificacion(aLocalDateTime(rs.getTimestamp("fecha_modificacion")))
+            .build();
+
+    // Campos editables del DTO y su columna, en el orden en que se arma el UPDATE parcial
+    private static final Map<String, String> COLUMNA_POR_CAMPO = new LinkedHashMap<>();
+
+    static {
+        COLUMNA_POR_CAMPO.put("nombre", "nombre");
+        COLUMNA_POR_CAMPO.put("apellido", "apellido");
+        COLUMNA_POR_CAMPO.put("razonSocial", "razon_social");
+        COLUMNA_POR_CAMPO.put("cuit", "cuit");
+        COLUMNA_POR_CAMPO.put("fechaNacimiento", "fecha_nacimiento");
+        COLUMNA_POR_CAMPO.put("telefonoCelular", "telefono_celular");
+        COLUMNA_POR_CAMPO.put("email", "email");
+        COLUMNA_POR_CAMPO.put("emailNormalizado", "email_normalizado");
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MotorBaseDatos motor;
+
+    public ClienteJdbcRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.motor = new MotorBaseDatos(jdbcTemplate);
+    }
+
+    @Override
+    public Optional<ClienteResponseDTO> obtenerPorId(Long id) {
+        return primero(jdbcTemplate.query("SELECT " + COLUMNAS + " FROM clientes WHERE id = ?", RESPONSE_MAPPER, id));
+    }
+
+    @Override
+    public Optional<ClienteResponseDTO> obtenerPorCuit(String cuit) {
+        Long numero = ClavesCliente.cuitANumero(cuit);
+        if (numero == null) {
+            return Optional.empty();
+        }
+        return primero(jdbcTemplate.query("SELECT " + COLUMNAS + " FROM clientes WHERE cuit = ?", RESPONSE_MAPPER, numero));
+    }
+
+    @Override
+    public Optional<ClienteResponseDTO> obtenerPorEmail(String email) {
+        return primero(jdbcTemplate.query("SELECT " + COLUMNAS + " FROM clientes WHERE email_normalizado = ?",
+                RESPONSE_MAPPER, ClavesCliente.normalizarEmail(email)));
+    }
+
+    @Override
+    public List<ClienteResponseDTO> obtenerPorIds(Collection<Long> ids) {
+        return obtenerPorClaves("id", "bigint", ids);
+    }
+
+    @Override
+    public List<ClienteResponseDTO> obtenerPorCuits(Collection<String> cuits) {
+        List<Long> numeros = cuits.stream().map(ClavesCliente::cuitANumero).filter(Objects::nonNull).toList();
+        return obtenerPorClaves("cuit", "bigint", numeros);
+    }
+
+    @Override
+    public List<ClienteResponseDTO> obtenerPorEmails(Collection<String> emails) {
+        return obtenerPorClaves("email_normalizado", "varchar", emails.stream().map(ClavesCliente::normalizarEmail).toList());
+    }
+
+    @Override
+    public List<ClienteResponseDTO> obtenerPaginaPorId(long desdeId, int limite) {
+        return jdbcTemplate.query("SELECT " + COLUMNAS + " FROM clientes WHERE id > ? " +
+                "ORDER BY id FETCH FIRST ? ROWS ONLY", RESPONSE_MAPPER, desdeId, limite);
+    }
+
+    @Override
+    public List<ClienteResponseDTO> obtenerPaginaPorApellido(String apellido, Long id, int limite) {
+        if (apellido == null) {
+            return jdbcTemplate.query("SELECT " + COLUMNAS + " FROM clientes " +
+                    "ORDER BY apellido, id FETCH FIRST ? ROWS ONLY", RESPONSE_MAPPER, limite);
+        }
+        return jdbcTemplate.query("SELECT " + COLUMNAS + " FROM clientes " +
+                        "WHERE apellido > ? OR (apellido = ? AND id > ?) " +
+                        "ORDER BY apellido, id FETCH FIRST ? ROWS ONLY",
+                RESPONSE_MAPPER, apellido, apellido, id, limite);
+    }
+
+    @Override
+    public List<CambioClienteDTO> obtenerCambios(LocalDateTime desdeFecha, long desdeId, LocalDateTime hasta, int limite) {
+        Timestamp desde = Timestamp.valueOf(desdeFecha);
+        Timestamp tope = Timestamp.valueOf(hasta);
+        List<CambioClienteDTO> modificados = jdbcTemplate.query("SELECT " + COLUMNAS + " FROM clientes " +
+                        "WHERE (fecha_modificacion > ? OR (fecha_modificacion = ? AND id > ?)) AND fecha_modificacion <= ? " +
+                        "ORDER BY fecha_modificacion, id FETCH FIRST ? ROWS ONLY",
+                (rs, rowNum) -> {
+                    ClienteResponseDTO cliente = RESPONSE_MAPPER.mapRow(rs, rowNum);
+                    return new CambioClienteDTO(CambioClienteDTO.Tipo.UPSERT, cliente.getId(),
+                            cliente.getFechaModificacion(), cliente);
+                },
+                desde, desde, desdeId, tope, limite);
+        List<CambioClienteDTO> eliminados = jdbcTemplate.query("SELECT id, fecha_eliminacion FROM clientes_eliminados " +
+                        "WHERE (fecha_eliminacion > ? OR (fecha_eliminacion = ? AND id > ?)) AND fecha_eliminacion <= ? " +
+                        "ORDER BY fecha_eliminacion, id FETCH FIRST ? ROWS ONLY",
+                (rs, rowNum) -> new CambioClienteDTO(CambioClienteDTO.Tipo.DELETE, rs.getLong(1),
+                        rs.getTimestamp(2).toLocalDateTime(), null),
+                desde, desde, desdeId, tope, limite);
+        return intercalar(modificados, eliminados, limite);
+    }
+
+    @Override
+    public VersionClientes obtenerVersion() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*), " +
+                        "SUM(CAST(EXTRACT(EPOCH FROM fecha_modificacion) * 1000000 AS BIGINT)) FROM clientes",
+                (rs, rowNum) -> {
+                    BigDecimal suma = rs.getBigDecimal(2);
+                    return new VersionClientes(rs.getLong(1), suma != null ? suma.toBigInteger() : BigInteger.ZERO);
+                });
+    }
+
+    @Override
+    public void registrarBaja(Long id, LocalDateTime fecha) {
+        jdbcTemplate.update("INSERT INTO clientes_eliminados (id, fecha_eliminacion) VALUES (?, ?)",
+                id, Timestamp.valueOf(fecha));
+    }
+
+    @Override
+    public int purgarBajas(LocalDateTime antesDe) {
+        return jdbcTemplate.update("DELETE FROM clientes_eliminados WHERE fecha_eliminacion < ?", Timestamp.valueOf(antesDe));
+    }
+
+    @Override
+    public void recorrerTodos(int fetchSize, Consumer<ClienteResponseDTO> consumidor) {
+        String sql = "SELECT " + COLUMNAS + " FROM clientes ORDER BY id";
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumidor.accept(RESPONSE_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    @Override
+    public void recorrerClavesUnicas(int fetchSize, BiConsumer<String, String> consumidor) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT cuit, email_normalizado FROM clientes",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumidor.accept(ClavesCliente.formatearCuit(rs.getLong(1)), rs.getString(2)));
+    }
+
+    @Override
+    public List<ClienteResponseDTO> buscarPorTexto(String texto, int limite) {
+        String normalizado = texto.toLowerCase(Locale.ROOT);
+        String patron = "%" + normalizado.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        if (motor.esPostgres()) {
+            // LIKE usa el índice de trigramas; word_similarity ordena por relevancia
+            return jdbcTemplate.query("SELECT " + COLUMNAS + " FROM clientes " +
+                            "WHERE " + DOCUMENTO_BUSQUEDA + " LIKE ? ESCAPE '\\' " +
+                            "ORDER BY word_similarity(?, " + DOCUMENTO_BUSQUEDA + ") DESC, apellido, id LIMIT ?",
+                    RESPONSE_MAPPER, patron, normalizado, limite);
+        }
+        return jdbcTemplate.query("SELECT " + COLUMNAS + " FROM clientes " +
+                        "WHERE " + DOCUMENTO_BUSQUEDA + " LIKE ? ESCAPE '\\' " +
+                        "ORDER BY LOCATE(?, " + DOCUMENTO_BUSQUEDA + "), apellido, id FETCH FIRST ? ROWS ONLY",
+                RESPONSE_MAPPER, patron, normalizado, limite);
+    }
+
+    @Override
+    public ClienteResponseDTO insertar(ClienteRequestDTO cliente, LocalDateTime fecha) {
+        Timestamp ahora = Timestamp.valueOf(fecha);
+        return jdbcTemplate.queryForObject(conRetorno("INSERT INTO clientes (nombre, apellido, razon_social, cuit, " +
+                        "fecha_nacimiento, telefono_celular, email, email_normalizado, fecha_creacion, fecha_modificacion) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"),
+                RESPONSE_MAPPER, cliente.getNombre(), cliente.getApellido(), cliente.getRazonSocial(),
+                cuitComoNumero(cliente.getCuit()), Date.valueOf(cliente.getFechaNacimiento()), cliente.getTelefonoCelular(),
+                cliente.getEmail(), ClavesCliente.normalizarEmail(cliente.getEmail()), ahora, ahora);
+    }
+
+    @Override
+    public List<ClienteResponseDTO> insertarLote(List<ClienteRequestDTO> clientes, LocalDateTime fecha) {
+        Timestamp ahora = Timestamp.valueOf(fecha);
+        List<ClienteResponseDTO> insertados = new ArrayList<>(clientes.size());
+        for (int desde = 0; desde < clientes.size(); desde += TAMANO_BLOQUE_INSERCION) {
+            List<ClienteRequestDTO> bloque = clientes.subList(desde, Math.min(desde + TAMANO_BLOQUE_INSERCION, clientes.size()));
+            // Un único INSERT con todas las filas del bloque: un viaje a la base en lugar de uno por cliente
+            String filas = String.join(", ", Collections.nCopies(bloque.size(), "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"));
+            List<Object> parametros = new ArrayList<>(bloque.size() * 10);
+            for (ClienteRequestDTO cliente : bloque) {
+                parametros.addAll(Arrays.asList(cliente.getNombre(), cliente.getApellido(), cliente.getRazonSocial(),
+                        cuitComoNumero(cliente.getCuit()), Date.valueOf(cliente.getFechaNacimiento()),
+                        cliente.getTelefonoCelular(), cliente.getEmail(), ClavesCliente.normalizarEmail(cliente.getEmail()),
+                        ahora, ahora));
+            }
+            insertados.addAll(jdbcTemplate.query(conRetorno("INSERT INTO clientes (nombre, apellido, razon_social, cuit, " +
+                            "fecha_nacimiento, telefono_celular, email, email_normalizado, fecha_creacion, fecha_modificacion) " +
+                            "VALUES " + filas),
+                    RESPONSE_MAPPER, parametros.toArray()));
+        }
+        return insertados;
+    }
+
+    @Override
+    public Optional<ClienteResponseDTO> actualizar(Long id, ClienteRequestDTO cliente, LocalDateTime fecha) {
+        return jdbcTemplate.query(conRetorno("UPDATE clientes SET nombre = ?, apellido = ?, razon_social = ?, cuit = ?, " +
+                                "fecha_nacimiento = ?, telefono_celular = ?, email = ?, email_normalizado = ?, " +
+                                "fecha_modificacion = ? WHERE id = ?"),
+                        RESPONSE_MAPPER, cliente.getNombre(), cliente.getApellido(), cliente.getRazonSocial(),
+                        cuitComoNumero(cliente.getCuit()), Date.valueOf(cliente.getFechaNacimiento()),
+                        cliente.getTelefonoCelular(), cliente.getEmail(), ClavesCliente.normalizarEmail(cliente.getEmail()),
+                        Timestamp.valueOf(fecha), id)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<ClienteResponseDTO> actualizarCampos(Long id, ClienteRequestDTO cambios, Set<String> campos,
+                                                         LocalDateTime fecha) {
+        StringBuilder asignaciones = new StringBuilder();
+        StringBuilder diferencias = new StringBuilder();
+        List<Object> valores = new ArrayList<>();
+        COLUMNA_POR_CAMPO.forEach((campo, columna) -> {
+            // El email normalizado acompaña siempre al email
+            if (campos.contains(campo) || ("emailNormalizado".equals(campo) && campos.contains("email"))) {
+                asignaciones.append(columna).append(" = ?, ");
+                diferencias.append(diferencias.length() == 0 ? "" : " OR ").append(columna).append(" IS DISTINCT FROM ?");
+                valores.add(valorDeCampo(cambios, campo));
+            }
+        });
+
+        if (!valores.isEmpty()) {
+            // El WHERE descarta la escritura cuando ningún valor cambia: no hay nueva versión de la fila ni de los índices
+            List<Object> parametros = new ArrayList<>(valores);
+            parametros.add(Timestamp.valueOf(fecha));
+            parametros.add(id);
+            parametros.addAll(valores);
+            Optional<ClienteResponseDTO> actualizado = jdbcTemplate.query(conRetorno("UPDATE clientes SET " +
+                                    asignaciones + "fecha_modificacion = ? WHERE id = ? AND (" + diferencias + ")"),
+                            RESPONSE_MAPPER, parametros.toArray())
+                    .stream()
+                    .findFirst();
+            if (actualizado.isPresent()) {
+                return actualizado;
+            }
+        }
+        return obtenerPorId(id);
+    }
+
+    private List<ClienteResponseDTO> obtenerPorClaves(String columna, String tipoSql, Collection<?> claves) {
+        List<?> distintas = List.copyOf(new LinkedHashSet<>(claves));
+        List<ClienteResponseDTO> clientes = new ArrayList<>(distintas.size());
+        for (int desde = 0; desde < distintas.size(); desde += TAMANO_BLOQUE_CLAVES) {
+            Object[] bloque = distintas.subList(desde, Math.min(desde + TAMANO_BLOQUE_CLAVES, distintas.size())).toArray();
+            if (motor.esPostgres()) {
+                // Un único parámetro array: el mismo plan sirve para cualquier cantidad de claves
+                clientes.addAll(jdbcTemplate.query("SELECT " + COLUMNAS + " FROM clientes WHERE " + columna + " = ANY(?)",
+                        ps -> ps.setArray(1, ps.getConnection().createArrayOf(tipoSql, bloque)), RESPONSE_MAPPER));
+            } else {
+                String marcadores = String.join(", ", Collections.nCopies(bloque.length, "?"));
+                clientes.addAll(jdbcTemplate.query("SELECT " + COLUMNAS + " FROM clientes WHERE " + columna +
+                        " IN (" + marcadores + ")", RESPONSE_MAPPER, bloque));
+            }
+        }
+        return clientes;
+    }
+
+    // Une dos listas ya ordenadas por (fecha, id) conservando el orden, hasta el límite
+    private static List<CambioClienteDTO> intercalar(List<CambioClienteDTO> a, List<CambioClienteDTO> b, int limite) {
+        List<CambioClienteDTO> cambios = new ArrayList<>(Math.min(limite, a.size() + b.size()));
+        int i = 0;
+        int j = 0;
+        while (cambios.size() < limite && (i < a.size() || j < b.size())) {
+            if (j == b.size() || (i < a.size() && anterior(a.get(i), b.get(j)))) {
+                cambios.add(a.get(i++));
+            } else {
+                cambios.add(b.get(j++));
+            }
+        }
+        return cambios;
+    }
+
+    private static boolean anterior(CambioClienteDTO a, CambioClienteDTO b) {
+        int porFecha = a.getFecha().compareTo(b.getFecha());
+        return porFecha < 0 || (porFecha == 0 && a.getId() < b.getId());
+    }
+
+    private static Object valorDeCampo(ClienteRequestDTO cliente, String campo) {
+        return switch (campo) {
+            case "nombre" -> cliente.getNombre();
+            case "apellido" -> cliente.getApellido();
+            case "razonSocial" -> cliente.getRazonSocial();
+            case "cuit" -> cuitComoNumero(cliente.getCuit());
+            case "fechaNacimiento" -> Date.valueOf(cliente.getFechaNacimiento());
+            case "telefonoCelular" -> cliente.getTelefonoCelular();
+            case "email" -> cliente.getEmail();
+            case "emailNormalizado" -> ClavesCliente.normalizarEmail(cliente.getEmail());
+            default -> throw new IllegalArgumentException("Campo no editable: " + campo);
+        };
+    }
+
+    // Lo que llega a escribirse ya pasó la validación del formato; un CUIT inválido aquí es un error de programación
+    private static Long cuitComoNumero(String cuit) {
+        Long numero = ClavesCliente.cuitANumero(cuit);
+        if (numero == null) {
+            throw new IllegalArgumentException("CUIT inválido: " + cuit);
+        }
+        return numero;
+    }
+
+    // PostgreSQL devuelve las filas modificadas con RETURNING; H2 con una data change delta table
+    private String conRetorno(String dml) {
+        return motor.esPostgres()
+                ? dml + " RETURNING " + COLUMNAS
+                : "SELECT " + COLUMNAS + " FROM FINAL TABLE (" + dml + ")";
+    }
+
+    private static <T> Optional<T> primero(List<T> filas) {
+        return filas.isEmpty() ? Optional.empty() : Optional.of(filas.get(0));
+    }
+
+    private static LocalDateTime aLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
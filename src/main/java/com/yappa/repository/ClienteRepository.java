@@ -2,18 +2,32 @@ package com.yappa.repository;
 
 import com.yappa.entity.Cliente;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, ClienteJdbcRepository {
     
-    boolean existsByCuit(String cuit);
-    
-    boolean existsByEmail(String email);
-    
-    Optional<Cliente> findByCuit(String cuit);
-    
-    Optional<Cliente> findByEmail(String email);
+    // CUIT como número (ClavesCliente.cuitANumero) y email en minúsculas: las mismas claves de los índices únicos
+    boolean existsByCuit(Long cuit);
+
+    boolean existsByEmailNormalizado(String emailNormalizado);
+
+    Optional<Cliente> findByCuit(Long cuit);
+
+    Optional<Cliente> findByEmailNormalizado(String emailNormalizado);
+
+    // Versión de un cliente para ETags: lectura por clave primaria sin hidratar la entidad
+    @Query("SELECT c.fechaModificacion FROM Cliente c WHERE c.id = :id")
+    Optional<LocalDateTime> findFechaModificacionById(@Param("id") Long id);
+
+    // Baja en una sola sentencia: a diferencia de deleteById no lee la entidad antes de borrarla
+    @Modifying
+    @Query("DELETE FROM Cliente c WHERE c.id = :id")
+    int eliminarPorId(@Param("id") Long id);
 }
@@ -0,0 +1,28 @@
+package com.yappa.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Detecta de forma perezosa el motor de base de datos para elegir entre las
+ * sentencias específicas de PostgreSQL y su alternativa portable (H2 en tests).
+ */
+class MotorBaseDatos {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    MotorBaseDatos(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    boolean esPostgres() {
+        Boolean resultado = postgres;
+        if (resultado == null) {
+            resultado = jdbcTemplate.execute((ConnectionCallback<Boolean>) con ->
+                    "PostgreSQL".equalsIgnoreCase(con.getMetaData().getDatabaseProductName()));
+            postgres = resultado;
+        }
+        return resultado;
+    }
+}
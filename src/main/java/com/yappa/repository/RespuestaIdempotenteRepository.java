@@ -0,0 +1,83 @@
+package com.yappa.repository;
+
+import com.yappa.dto.RespuestaGuardada;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * Respuestas de peticiones con {@code Idempotency-Key} guardadas en la tabla
+ * {@code respuestas_idempotentes}. Cada operación es una sentencia autónoma:
+ * no requiere transacción.
+ */
+@Repository
+public class RespuestaIdempotenteRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RespuestaIdempotenteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * La respuesta guardada para la clave, si se guardó a partir de {@code vigenteDesde}.
+     */
+    public Optional<RespuestaGuardada> buscar(String clave, LocalDateTime vigenteDesde) {
+        return jdbcTemplate.query("SELECT huella, estado, content_type, headers, cuerpo FROM respuestas_idempotentes " +
+                                "WHERE clave = ? AND fecha_creacion >= ?",
+                        (rs, rowNum) -> new RespuestaGuardada(rs.getString("huella"), rs.getInt("estado"),
+                                rs.getString("content_type"), leerHeaders(rs.getString("headers")), rs.getBytes("cuerpo")),
+                        clave, Timestamp.valueOf(vigenteDesde))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Guarda la respuesta; si otra instancia ya guardó una para la misma clave se conserva la primera.
+     */
+    public void guardar(String clave, RespuestaGuardada respuesta, LocalDateTime fecha) {
+        try {
+            jdbcTemplate.update("INSERT INTO respuestas_idempotentes (clave, huella, estado, content_type, headers, " +
+                            "cuerpo, fecha_creacion) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    clave, respuesta.getHuella(), respuesta.getEstado(), respuesta.getContentType(),
+                    escribirHeaders(respuesta.getHeaders()), respuesta.getCuerpo(), Timestamp.valueOf(fecha));
+        } catch (DuplicateKeyException ex) {
+            // La primera respuesta es la que ya recibió el cliente
+        }
+    }
+
+    /**
+     * Elimina las respuestas guardadas antes de {@code antesDe} y devuelve cuántas borró.
+     */
+    public int purgar(LocalDateTime antesDe) {
+        return jdbcTemplate.update("DELETE FROM respuestas_idempotentes WHERE fecha_creacion < ?", Timestamp.valueOf(antesDe));
+    }
+
+    // Un header por línea, "Nombre: valor": los valores de un header no tienen saltos de línea
+    private static String escribirHeaders(Map<String, String> headers) {
+        if (headers.isEmpty()) {
+            return null;
+        }
+        StringJoiner lineas = new StringJoiner("\n");
+        headers.forEach((nombre, valor) -> lineas.add(nombre + ": " + valor));
+        return lineas.toString();
+    }
+
+    private static Map<String, String> leerHeaders(String lineas) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (lineas != null) {
+            for (String linea : lineas.split("\n")) {
+                int separador = linea.indexOf(": ");
+                headers.put(linea.substring(0, separador), linea.substring(separador + 2));
+            }
+        }
+        return headers;
+    }
+}
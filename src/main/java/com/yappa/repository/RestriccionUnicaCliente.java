@@ -0,0 +1,79 @@
+package com.yappa.repository;
+
+import org.postgresql.util.PSQLException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Restricciones de unicidad de la tabla clientes, con el nombre que tienen en la
+ * base (migraciones y {@code @Table} de la entidad).
+ */
+public enum RestriccionUnicaCliente {
+
+    CUIT("clientes_cuit_key"),
+    EMAIL("clientes_email_normalizado_key");
+
+    // unique_violation, igual en PostgreSQL y H2
+    private static final String SQLSTATE_UNICIDAD = "23505";
+
+    private final String nombre;
+
+    RestriccionUnicaCliente(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * La restricción de unicidad que provocó la excepción, o vacío si fue otra
+     * violación de integridad (NOT NULL, CHECK, longitud) o una restricción ajena.
+     * <p>
+     * PostgreSQL informa el nombre de la restricción en un campo propio del error,
+     * independiente del idioma de sus mensajes ({@code lc_messages}). H2 solo lo
+     * incluye en el mensaje, como primer identificador entre comillas del índice que
+     * la respalda ({@code "PUBLIC.CLIENTES_CUIT_KEY_INDEX_1 ON ..."}).
+     */
+    public static Optional<RestriccionUnicaCliente> violada(DataIntegrityViolationException ex) {
+        for (Throwable causa = ex; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sql && SQLSTATE_UNICIDAD.equals(sql.getSQLState())) {
+                return porNombre(nombreRestriccion(sql));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<RestriccionUnicaCliente> porNombre(String nombre) {
+        if (nombre == null) {
+            return Optional.empty();
+        }
+        for (RestriccionUnicaCliente restriccion : values()) {
+            if (nombre.equals(restriccion.nombre) || nombre.startsWith(restriccion.nombre + "_index")) {
+                return Optional.of(restriccion);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String nombreRestriccion(SQLException ex) {
+        if (ex instanceof PSQLException psql && psql.getServerErrorMessage() != null) {
+            return psql.getServerErrorMessage().getConstraint();
+        }
+        return nombreEnMensaje(ex.getMessage());
+    }
+
+    private static String nombreEnMensaje(String mensaje) {
+        int inicio = mensaje == null ? -1 : mensaje.indexOf('"');
+        int fin = inicio < 0 ? -1 : mensaje.indexOf('"', inicio + 1);
+        if (fin < 0) {
+            return null;
+        }
+        String identificador = mensaje.substring(inicio + 1, fin);
+        int espacio = identificador.indexOf(' ');
+        if (espacio >= 0) {
+            identificador = identificador.substring(0, espacio);
+        }
+        // Sin el esquema, que H2 antepone al índice
+        return identificador.substring(identificador.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,23 @@
+package com.yappa.service;
+
+import com.yappa.dto.AltaDiferidaDTO;
+import com.yappa.dto.ClienteRequestDTO;
+
+import java.util.Optional;
+
+public interface ClienteAltaDiferidaService {
+
+    boolean isHabilitado();
+
+    /**
+     * Encola el alta de un cliente ya validado y devuelve su estado inicial
+     * ({@code PENDIENTE}). Con la cola llena lanza
+     * {@link com.yappa.exception.SobrecargaException}.
+     */
+    AltaDiferidaDTO encolar(ClienteRequestDTO cliente);
+
+    /**
+     * Estado del alta, o vacío si no existe o ya venció su retención.
+     */
+    Optional<AltaDiferidaDTO> consultar(String id);
+}
@@ -0,0 +1,10 @@
+package com.yappa.service;
+
+import com.yappa.dto.ClienteImportResultadoDTO;
+
+import java.io.InputStream;
+
+public interface ClienteImportService {
+
+    ClienteImportResultadoDTO importarClientes(InputStream csv);
+}
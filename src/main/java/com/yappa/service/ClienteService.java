@@ -1,18 +1,41 @@
 package com.yappa.service;
 
+import com.yappa.dto.ClienteCambiosDTO;
+import com.yappa.dto.ClienteCursor;
+import com.yappa.dto.ClienteLookupRequestDTO;
+import com.yappa.dto.ClienteLookupResultadoDTO;
+import com.yappa.dto.ClientePaginaDTO;
 import com.yappa.dto.ClienteRequestDTO;
 import com.yappa.dto.ClienteResponseDTO;
+
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ClienteService {
     
     ClienteResponseDTO crearCliente(ClienteRequestDTO requestDTO);
     
     ClienteResponseDTO obtenerClientePorId(Long id);
+
+    Optional<String> obtenerEtagCliente(Long id);
+
+    String obtenerEtagClientes();
     
-    List<ClienteResponseDTO> obtenerTodosLosClientes();
+    ClientePaginaDTO obtenerPaginaDeClientes(String cursor, int limite, ClienteCursor.Orden orden);
+
+    void exportarClientes(Consumer<ClienteResponseDTO> consumidor);
+
+    List<ClienteResponseDTO> buscarClientes(String texto, int limite);
+
+    ClienteLookupResultadoDTO resolverClientes(ClienteLookupRequestDTO claves);
+
+    ClienteCambiosDTO obtenerCambios(String cursor, int limite);
     
     ClienteResponseDTO actualizarCliente(Long id, ClienteRequestDTO requestDTO);
+
+    ClienteResponseDTO actualizarClienteParcialmente(Long id, ClienteRequestDTO cambios, Set<String> campos);
     
     void eliminarCliente(Long id);
     
@@ -0,0 +1,318 @@
+package com.yappa.service.impl;
+
+import com.yappa.cache.ClienteJsonCache;
+import com.yappa.cache.FiltroUnicidadClientes;
+import com.yappa.dto.AltaDiferidaDTO;
+import com.yappa.dto.CambioClienteDTO;
+import com.yappa.dto.ClavesCliente;
+import com.yappa.dto.ClienteRequestDTO;
+import com.yappa.dto.ClienteResponseDTO;
+import com.yappa.eventos.EscriturasEnCurso;
+import com.yappa.exception.BusinessException;
+import com.yappa.exception.SobrecargaException;
+import com.yappa.repository.ClienteRepository;
+import com.yappa.service.ClienteAltaDiferidaService;
+import com.yappa.service.ClienteService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Altas de clientes con escritura diferida: la petición se valida y se encola, y
+ * un único hilo escritor vacía la cola de a lotes. Cada lote se inserta con un
+ * INSERT multi-fila en una sola transacción, por lo que muchas altas comparten un
+ * commit (group commit). Lo que llega mientras se escribe un lote forma el siguiente.
+ * <p>
+ * Los duplicados contra la tabla o dentro del mismo lote se rechazan antes de
+ * insertar. Si aun así el lote falla (por ejemplo, un alta sincrónica con el mismo
+ * CUIT que confirmó en el medio) se descarta entero y sus altas se reintentan de a una.
+ * <p>
+ * El estado de cada alta se conserva en memoria hasta {@code retencion} después de
+ * resuelta. Las altas encoladas se pierden si el proceso termina abruptamente; en un
+ * cierre ordenado el escritor vacía la cola antes de terminar.
+ */
+@Service
+@Slf4j
+public class ClienteAltaDiferidaServiceImpl implements ClienteAltaDiferidaService, MeterBinder {
+
+    private static final long ESPERA_COLA_MS = 100;
+    private static final Duration ESPERA_CIERRE = Duration.ofSeconds(30);
+    private static final String ERROR_INTERNO = "Ha ocurrido un error interno al crear el cliente";
+
+    private final ClienteRepository clienteRepository;
+    private final ClienteService clienteService;
+    private final ClienteJsonCache clienteJsonCache;
+    private final FiltroUnicidadClientes filtroUnicidad;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EscriturasEnCurso escriturasEnCurso;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final int tamanoLote;
+    private final Duration retencion;
+    private final Duration reintentarEn;
+    private final BlockingQueue<Pendiente> cola;
+    private final Map<String, Alta> altas = new ConcurrentHashMap<>();
+
+    private final AtomicLong creadas = new AtomicLong();
+    private final AtomicLong rechazadas = new AtomicLong();
+    private final AtomicLong lotes = new AtomicLong();
+    private final AtomicLong lotesReintentados = new AtomicLong();
+
+    private volatile boolean activo;
+    private Thread escritor;
+
+    public ClienteAltaDiferidaServiceImpl(ClienteRepository clienteRepository,
+                                          ClienteService clienteService,
+                                          ClienteJsonCache clienteJsonCache,
+                                          FiltroUnicidadClientes filtroUnicidad,
+                                          ApplicationEventPublisher eventPublisher,
+                                          EscriturasEnCurso escriturasEnCurso,
+                                          TransactionTemplate transactionTemplate,
+                                          @Value("${yappa.altas-diferidas.habilitado:true}") boolean habilitado,
+                                          @Value("${yappa.altas-diferidas.capacidad-cola:10000}") int capacidadCola,
+                                          @Value("${yappa.altas-diferidas.tamano-lote:500}") int tamanoLote,
+                                          @Value("${yappa.altas-diferidas.retencion:PT5M}") Duration retencion,
+                                          @Value("${yappa.altas-diferidas.reintentar-en:PT1S}") Duration reintentarEn) {
+        this.clienteRepository = clienteRepository;
+        this.clienteService = clienteService;
+        this.clienteJsonCache = clienteJsonCache;
+        this.filtroUnicidad = filtroUnicidad;
+        this.eventPublisher = eventPublisher;
+        this.escriturasEnCurso = escriturasEnCurso;
+        this.transactionTemplate = transactionTemplate;
+        this.habilitado = habilitado;
+        this.tamanoLote = tamanoLote;
+        this.retencion = retencion;
+        this.reintentarEn = reintentarEn;
+        this.cola = new ArrayBlockingQueue<>(capacidadCola);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("yappa.altas.diferidas.cola", cola, BlockingQueue::size)
+                .description("Altas diferidas aceptadas que esperan su lote")
+                .register(registry);
+        FunctionCounter.builder("yappa.altas.diferidas", creadas, AtomicLong::get)
+                .description("Altas diferidas resueltas, según su resultado")
+                .tag("resultado", "creado")
+                .register(registry);
+        FunctionCounter.builder("yappa.altas.diferidas", rechazadas, AtomicLong::get)
+                .description("Altas diferidas resueltas, según su resultado")
+                .tag("resultado", "rechazado")
+                .register(registry);
+        FunctionCounter.builder("yappa.altas.diferidas.lotes", lotes, AtomicLong::get)
+                .description("Lotes escritos, según si se confirmaron juntos o se reintentaron de a una alta")
+                .tag("resultado", "confirmado")
+                .register(registry);
+        FunctionCounter.builder("yappa.altas.diferidas.lotes", lotesReintentados, AtomicLong::get)
+                .description("Lotes escritos, según si se confirmaron juntos o se reintentaron de a una alta")
+                .tag("resultado", "reintentado")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado || activo) {
+            return;
+        }
+        activo = true;
+        escritor = new Thread(this::escribir, "altas-diferidas");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        if (!activo) {
+            return;
+        }
+        // El escritor termina de vaciar la cola antes de salir
+        activo = false;
+        escritor.join(ESPERA_CIERRE.toMillis());
+        if (!cola.isEmpty()) {
+            log.warn("Se cerró la aplicación con {} altas diferidas sin escribir", cola.size());
+        }
+    }
+
+    @Override
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    @Override
+    public AltaDiferidaDTO encolar(ClienteRequestDTO cliente) {
+        Alta alta = new Alta(UUID.randomUUID().toString());
+        // Se publica antes de encolar: el escritor puede resolverla antes de que esto retorne
+        altas.put(alta.id, alta);
+        if (!cola.offer(new Pendiente(alta, cliente))) {
+            altas.remove(alta.id);
+            throw new SobrecargaException("La cola de altas diferidas está llena", reintentarEn);
+        }
+        log.debug("Alta diferida {} encolada para el CUIT: {}", alta.id, cliente.getCuit());
+        return alta.estado;
+    }
+
+    @Override
+    public Optional<AltaDiferidaDTO> consultar(String id) {
+        return Optional.ofNullable(altas.get(id)).map(alta -> alta.estado);
+    }
+
+    @Scheduled(initialDelayString = "${yappa.altas-diferidas.intervalo-purga:PT30S}",
+            fixedDelayString = "${yappa.altas-diferidas.intervalo-purga:PT30S}")
+    public void purgarResueltas() {
+        long limite = System.currentTimeMillis() - retencion.toMillis();
+        altas.values().removeIf(alta -> alta.resueltaEn != 0 && alta.resueltaEn < limite);
+    }
+
+    private void escribir() {
+        List<Pendiente> lote = new ArrayList<>(tamanoLote);
+        while (activo || !cola.isEmpty()) {
+            try {
+                Pendiente primera = cola.poll(ESPERA_COLA_MS, TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                lote.add(primera);
+                cola.drainTo(lote, tamanoLote - 1);
+                escribirLote(lote);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void escribirLote(List<Pendiente> lote) {
+        Map<Pendiente, AltaDiferidaDTO> resultados;
+        try {
+            resultados = transactionTemplate.execute(status -> insertarLote(lote));
+        } catch (RuntimeException ex) {
+            log.warn("Falló el lote de {} altas diferidas, se reintentan de a una: {}", lote.size(), ex.getMessage());
+            lotesReintentados.incrementAndGet();
+            lote.forEach(pendiente -> resolver(pendiente, crearIndividualmente(pendiente)));
+            return;
+        }
+        // Recién con el lote confirmado se informa el resultado
+        lotes.incrementAndGet();
+        resultados.forEach(this::resolver);
+        log.debug("Lote de {} altas diferidas confirmado", lote.size());
+    }
+
+    private Map<Pendiente, AltaDiferidaDTO> insertarLote(List<Pendiente> lote) {
+        Map<Pendiente, AltaDiferidaDTO> resultados = new HashMap<>(lote.size() * 2);
+        // Una consulta por lote, no por alta, para las claves que ya existen
+        Set<String> cuitsExistentes = clienteRepository.obtenerPorCuits(lote.stream().map(p -> p.cliente.getCuit()).toList())
+                .stream()
+                .map(ClienteResponseDTO::getCuit)
+                .collect(Collectors.toSet());
+        Set<String> emailsExistentes = clienteRepository.obtenerPorEmails(lote.stream().map(p -> p.cliente.getEmail()).toList())
+                .stream()
+                .map(cliente -> ClavesCliente.normalizarEmail(cliente.getEmail()))
+                .collect(Collectors.toSet());
+
+        Set<String> cuitsDelLote = new HashSet<>();
+        Set<String> emailsDelLote = new HashSet<>();
+        Map<String, Pendiente> aInsertar = new HashMap<>(lote.size() * 2);
+        for (Pendiente pendiente : lote) {
+            String cuit = ClavesCliente.normalizarCuit(pendiente.cliente.getCuit());
+            String email = ClavesCliente.normalizarEmail(pendiente.cliente.getEmail());
+            // La primera alta del lote con cada clave gana, como si hubieran llegado de a una
+            if (cuitsExistentes.contains(cuit) || cuitsDelLote.contains(cuit)) {
+                resultados.put(pendiente, rechazado(pendiente, "Ya existe un cliente con el CUIT: " + pendiente.cliente.getCuit()));
+            } else if (emailsExistentes.contains(email) || emailsDelLote.contains(email)) {
+                resultados.put(pendiente, rechazado(pendiente, "Ya existe un cliente con el email: " + pendiente.cliente.getEmail()));
+            } else {
+                cuitsDelLote.add(cuit);
+                emailsDelLote.add(email);
+                aInsertar.put(cuit, pendiente);
+            }
+        }
+
+        aInsertar.values().forEach(p -> filtroUnicidad.registrar(p.cliente.getCuit(), p.cliente.getEmail()));
+        List<ClienteResponseDTO> insertados = clienteRepository.insertarLote(
+                aInsertar.values().stream().map(p -> p.cliente).toList(), escriturasEnCurso.registrar());
+        for (ClienteResponseDTO cliente : insertados) {
+            Pendiente pendiente = aInsertar.get(cliente.getCuit());
+            resultados.put(pendiente, creado(pendiente, cliente.getId()));
+            clienteJsonCache.invalidar(cliente.getId());
+            eventPublisher.publishEvent(new CambioClienteDTO(CambioClienteDTO.Tipo.UPSERT, cliente.getId(),
+                    cliente.getFechaModificacion(), cliente));
+        }
+        return resultados;
+    }
+
+    // Cada alta en su propia transacción, por el mismo camino que un POST sincrónico
+    private AltaDiferidaDTO crearIndividualmente(Pendiente pendiente) {
+        try {
+            return creado(pendiente, clienteService.crearCliente(pendiente.cliente).getId());
+        } catch (BusinessException ex) {
+            return rechazado(pendiente, ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.error("No se pudo crear el cliente de la alta diferida {}", pendiente.alta.id, ex);
+            return rechazado(pendiente, ERROR_INTERNO);
+        }
+    }
+
+    private void resolver(Pendiente pendiente, AltaDiferidaDTO resultado) {
+        (resultado.getEstado() == AltaDiferidaDTO.Estado.CREADO ? creadas : rechazadas).incrementAndGet();
+        pendiente.alta.resueltaEn = System.currentTimeMillis();
+        pendiente.alta.estado = resultado;
+    }
+
+    private static AltaDiferidaDTO creado(Pendiente pendiente, Long clienteId) {
+        return new AltaDiferidaDTO(pendiente.alta.id, AltaDiferidaDTO.Estado.CREADO, clienteId, null);
+    }
+
+    private static AltaDiferidaDTO rechazado(Pendiente pendiente, String mensaje) {
+        return new AltaDiferidaDTO(pendiente.alta.id, AltaDiferidaDTO.Estado.RECHAZADO, null, mensaje);
+    }
+
+    private static class Alta {
+        private final String id;
+        private volatile AltaDiferidaDTO estado;
+        private volatile long resueltaEn;
+
+        Alta(String id) {
+            this.id = id;
+            this.estado = new AltaDiferidaDTO(id, AltaDiferidaDTO.Estado.PENDIENTE, null, null);
+        }
+    }
+
+    private static class Pendiente {
+        private final Alta alta;
+        private final ClienteRequestDTO cliente;
+
+        Pendiente(Alta alta, ClienteRequestDTO cliente) {
+            this.alta = alta;
+            this.cliente = cliente;
+        }
+    }
+}
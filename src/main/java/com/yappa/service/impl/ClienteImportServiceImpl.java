@@ -0,0 +1,216 @@
+package com.yappa.service.impl;
+
+import com.yappa.cache.FiltroUnicidadClientes;
+import com.yappa.dto.ClienteImportResultadoDTO;
+import com.yappa.dto.ClienteRequestDTO;
+import com.yappa.eventos.ClientesImportados;
+import com.yappa.eventos.EscriturasEnCurso;
+import com.yappa.exception.BusinessException;
+import com.yappa.repository.ClienteImportRepository;
+import com.yappa.service.ClienteImportService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed(value = "yappa.servicio", extraTags = {"servicio", "importacion"})
+public class ClienteImportServiceImpl implements ClienteImportService {
+
+    private static final List<String> COLUMNAS = List.of(
+            "nombre", "apellido", "razonSocial", "cuit", "fechaNacimiento", "telefonoCelular", "email");
+
+    private final ClienteImportRepository importRepository;
+    private final Validator validator;
+    private final FiltroUnicidadClientes filtroUnicidad;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EscriturasEnCurso escriturasEnCurso;
+
+    @Value("${yappa.import.tamano-lote:5000}")
+    private int tamanoLote;
+
+    @Value("${yappa.import.max-errores-reportados:1000}")
+    private int maxErroresReportados;
+
+    @Override
+    @Transactional
+    public ClienteImportResultadoDTO importarClientes(InputStream csv) {
+        log.info("Iniciando importación masiva de clientes");
+        LectorCsv lector = new LectorCsv(new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8)), ',');
+        try {
+            return importar(lector);
+        } catch (IOException ex) {
+            throw new BusinessException("No se pudo leer el archivo CSV: " + ex.getMessage());
+        } catch (DuplicateKeyException ex) {
+            throw new BusinessException("Se crearon clientes con el mismo CUIT o email durante la importación, reintente");
+        }
+    }
+
+    private ClienteImportResultadoDTO importar(LectorCsv lector) throws IOException {
+        Map<String, Integer> indices = leerCabecera(lector.leerRegistro());
+        importRepository.prepararStaging();
+
+        long totalFilas = 0;
+        long rechazados = 0;
+        List<ClienteImportResultadoDTO.ErrorFila> errores = new ArrayList<>();
+        List<FilaCsv> lote = new ArrayList<>(tamanoLote);
+        List<String> campos;
+        do {
+            campos = lector.leerRegistro();
+            if (campos != null) {
+                lote.add(new FilaCsv(lector.getLineaRegistro(), campos));
+            }
+            if (lote.size() == tamanoLote || (campos == null && !lote.isEmpty())) {
+                // La validación de cada lote se reparte entre los núcleos disponibles
+                List<FilaValidada> validadas = lote.parallelStream()
+                        .map(fila -> validar(fila, indices))
+                        .collect(Collectors.toList());
+
+                Map<Long, ClienteRequestDTO> validas = new LinkedHashMap<>();
+                for (FilaValidada fila : validadas) {
+                    if (fila.getError() == null) {
+                        validas.put(fila.getLinea(), fila.getCliente());
+                    } else {
+                        rechazados++;
+                        if (errores.size() < maxErroresReportados) {
+                            errores.add(new ClienteImportResultadoDTO.ErrorFila(fila.getLinea(), fila.getError()));
+                        }
+                    }
+                }
+                // Registrar también las filas que luego resulten duplicadas solo agrega falsos positivos
+                validas.values().forEach(c -> filtroUnicidad.registrar(c.getCuit(), c.getEmail()));
+                importRepository.cargarStaging(validas);
+                totalFilas += lote.size();
+                lote.clear();
+            }
+        } while (campos != null);
+
+        importRepository.marcarDuplicados();
+        // La inserción puede tardar mucho más que el margen de confirmación: mientras no termine,
+        // el feed de cambios no avanza más allá de esta fecha
+        long importados = importRepository.insertarDesdeStaging(escriturasEnCurso.registrar());
+        rechazados += importRepository.contarErrores();
+        if (errores.size() < maxErroresReportados) {
+            errores.addAll(importRepository.obtenerErrores(maxErroresReportados - errores.size()));
+        }
+        errores.sort(Comparator.comparingLong(ClienteImportResultadoDTO.ErrorFila::getLinea));
+
+        // Un único aviso de resincronización para los suscriptores de eventos, no uno por cliente
+        eventPublisher.publishEvent(new ClientesImportados(importados));
+
+        log.info("Importación finalizada: {} filas, {} importadas, {} rechazadas", totalFilas, importados, rechazados);
+        return ClienteImportResultadoDTO.builder()
+                .totalFilas(totalFilas)
+                .importados(importados)
+                .rechazados(rechazados)
+                .errores(errores)
+                .build();
+    }
+
+    private Map<String, Integer> leerCabecera(List<String> cabecera) {
+        if (cabecera == null) {
+            throw new BusinessException("El archivo CSV está vacío");
+        }
+        Map<String, Integer> porNombre = new HashMap<>();
+        for (int i = 0; i < cabecera.size(); i++) {
+            porNombre.put(normalizarColumna(cabecera.get(i)), i);
+        }
+        Map<String, Integer> indices = new HashMap<>();
+        List<String> faltantes = new ArrayList<>();
+        for (String columna : COLUMNAS) {
+            Integer indice = porNombre.get(normalizarColumna(columna));
+            if (indice == null) {
+                faltantes.add(columna);
+            } else {
+                indices.put(columna, indice);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            throw new BusinessException("Faltan columnas en la cabecera del CSV: " + String.join(", ", faltantes));
+        }
+        return indices;
+    }
+
+    private FilaValidada validar(FilaCsv fila, Map<String, Integer> indices) {
+        List<String> campos = fila.getCampos();
+        int maximoIndice = indices.values().stream().max(Integer::compare).orElse(0);
+        if (campos.size() <= maximoIndice) {
+            return FilaValidada.conError(fila.getLinea(),
+                    "La fila tiene " + campos.size() + " columnas, se esperaban al menos " + (maximoIndice + 1));
+        }
+
+        LocalDate fechaNacimiento;
+        String fecha = campo(campos, indices, "fechaNacimiento");
+        try {
+            fechaNacimiento = fecha.isEmpty() ? null : LocalDate.parse(fecha);
+        } catch (DateTimeParseException ex) {
+            return FilaValidada.conError(fila.getLinea(), "fechaNacimiento: formato inválido, se espera AAAA-MM-DD");
+        }
+
+        ClienteRequestDTO cliente = ClienteRequestDTO.builder()
+                .nombre(campo(campos, indices, "nombre"))
+                .apellido(campo(campos, indices, "apellido"))
+                .razonSocial(campo(campos, indices, "razonSocial"))
+                .cuit(campo(campos, indices, "cuit"))
+                .fechaNacimiento(fechaNacimiento)
+                .telefonoCelular(campo(campos, indices, "telefonoCelular"))
+                .email(campo(campos, indices, "email"))
+                .build();
+
+        String errores = validator.validate(cliente).stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining("; "));
+        return errores.isEmpty()
+                ? new FilaValidada(fila.getLinea(), cliente, null)
+                : FilaValidada.conError(fila.getLinea(), errores);
+    }
+
+    private static String campo(List<String> campos, Map<String, Integer> indices, String columna) {
+        return campos.get(indices.get(columna)).trim();
+    }
+
+    private static String normalizarColumna(String columna) {
+        return columna.replace("\uFEFF", "").replace("_", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    @lombok.Value
+    private static class FilaCsv {
+        long linea;
+        List<String> campos;
+    }
+
+    @lombok.Value
+    private static class FilaValidada {
+        long linea;
+        ClienteRequestDTO cliente;
+        String error;
+
+        static FilaValidada conError(long linea, String error) {
+            return new FilaValidada(linea, null, error);
+        }
+    }
+}
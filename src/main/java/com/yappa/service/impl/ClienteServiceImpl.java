@@ -1,158 +1,398 @@
 package com.yappa.service.impl;
 
+import com.yappa.cache.ClienteJsonCache;
+import com.yappa.cache.ConsultasClientesEnCurso;
+import com.yappa.cache.FiltroUnicidadClientes;
+import com.yappa.dto.CambioClienteDTO;
+import com.yappa.dto.ClavesCliente;
+import com.yappa.dto.ClienteCambiosDTO;
+import com.yappa.dto.ClienteCursor;
+import com.yappa.dto.ClienteLookupRequestDTO;
+import com.yappa.dto.ClienteLookupResultadoDTO;
+import com.yappa.dto.ClientePaginaDTO;
 import com.yappa.dto.ClienteRequestDTO;
 import com.yappa.dto.ClienteResponseDTO;
-import com.yappa.entity.Cliente;
+import com.yappa.dto.CursorCambios;
+import com.yappa.dto.VersionClientes;
+import com.yappa.eventos.EscriturasEnCurso;
 import com.yappa.exception.BusinessException;
 import com.yappa.exception.ResourceNotFoundException;
 import com.yappa.repository.ClienteRepository;
+import com.yappa.repository.RestriccionUnicaCliente;
 import com.yappa.service.ClienteService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Timed(value = "yappa.servicio", extraTags = {"servicio", "clientes"})
 public class ClienteServiceImpl implements ClienteService {
 
+    static final int LIMITE_MAXIMO_PAGINA = 1000;
+    static final int LIMITE_MAXIMO_BUSQUEDA = 100;
+    static final int LONGITUD_MINIMA_BUSQUEDA = 3;
+    static final int LIMITE_MAXIMO_LOOKUP = 1000;
+    static final Set<String> CAMPOS_EDITABLES = Set.of(
+            "nombre", "apellido", "razonSocial", "cuit", "fechaNacimiento", "telefonoCelular", "email");
+
     private final ClienteRepository clienteRepository;
+    private final ClienteJsonCache clienteJsonCache;
+    private final FiltroUnicidadClientes filtroUnicidad;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConsultasClientesEnCurso consultasEnCurso;
+    private final EscriturasEnCurso escriturasEnCurso;
+
+    @Value("${yappa.export.fetch-size:500}")
+    private int exportFetchSize;
+
+    @Value("${yappa.cambios.margen-confirmacion:PT5S}")
+    private Duration margenConfirmacion;
+
+    @Value("${yappa.cambios.retencion-bajas:P30D}")
+    private Duration retencionBajas;
 
     @Override
     public ClienteResponseDTO crearCliente(ClienteRequestDTO requestDTO) {
         log.info("Creando nuevo cliente con CUIT: {}", requestDTO.getCuit());
-        
-        // Validar CUIT único
-        if (clienteRepository.existsByCuit(requestDTO.getCuit())) {
-            throw new BusinessException("Ya existe un cliente con el CUIT: " + requestDTO.getCuit());
+
+        // La unicidad de CUIT y email la garantizan los índices únicos: un único INSERT ... RETURNING
+        ClienteResponseDTO clienteCreado;
+        filtroUnicidad.registrar(requestDTO.getCuit(), requestDTO.getEmail());
+        try {
+            clienteCreado = clienteRepository.insertar(requestDTO, escriturasEnCurso.registrar());
+        } catch (DuplicateKeyException ex) {
+            throw clienteDuplicado(ex, requestDTO);
         }
-        
-        // Validar email único
-        if (clienteRepository.existsByEmail(requestDTO.getEmail())) {
-            throw new BusinessException("Ya existe un cliente con el email: " + requestDTO.getEmail());
+        clienteJsonCache.invalidar(clienteCreado.getId());
+        publicarCambio(clienteCreado);
+
+        log.info("Cliente creado exitosamente con ID: {}", clienteCreado.getId());
+        return clienteCreado;
+    }
+
+    // Las consultas individuales no abren transacción (SUPPORTS): quien espera una consulta
+    // igual en curso no debe retener una conexión del pool. Siguen marcadas readOnly para el ruteo a réplicas
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ClienteResponseDTO obtenerClientePorId(Long id) {
+        log.debug("Buscando cliente con ID: {}", id);
+        return consultasEnCurso.porId().ejecutar(id, clienteJsonCache.generacion(),
+                () -> clienteRepository.obtenerPorId(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> obtenerEtagCliente(Long id) {
+        return clienteRepository.findFechaModificacionById(id)
+                .map(fecha -> VersionClientes.etagCliente(id, fecha));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String obtenerEtagClientes() {
+        return clienteRepository.obtenerVersion().etag();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ClientePaginaDTO obtenerPaginaDeClientes(String cursor, int limite, ClienteCursor.Orden orden) {
+        log.debug("Obteniendo página de clientes (orden: {}, limite: {})", orden, limite);
+
+        if (limite < 1 || limite > LIMITE_MAXIMO_PAGINA) {
+            throw new BusinessException("El límite debe estar entre 1 y " + LIMITE_MAXIMO_PAGINA);
         }
-        
-        Cliente cliente = convertirDTOaEntidad(requestDTO);
-        Cliente clienteGuardado = clienteRepository.save(cliente);
-        
-        log.info("Cliente creado exitosamente con ID: {}", clienteGuardado.getId());
-        return convertirEntidadADTO(clienteGuardado);
+
+        ClienteCursor desde = cursor != null && !cursor.isBlank()
+                ? ClienteCursor.decodificar(cursor, orden)
+                : null;
+
+        // Se pide un registro extra para saber si existe una página siguiente
+        List<ClienteResponseDTO> clientes = orden == ClienteCursor.Orden.APELLIDO
+                ? clienteRepository.obtenerPaginaPorApellido(
+                        desde == null ? null : desde.getApellido(), desde == null ? null : desde.getId(), limite + 1)
+                : clienteRepository.obtenerPaginaPorId(desde == null ? 0L : desde.getId(), limite + 1);
+
+        boolean hayMas = clientes.size() > limite;
+        List<ClienteResponseDTO> pagina = hayMas ? clientes.subList(0, limite) : clientes;
+
+        String siguienteCursor = hayMas
+                ? ClienteCursor.de(orden, pagina.get(pagina.size() - 1)).codificar()
+                : null;
+
+        return ClientePaginaDTO.builder()
+                .clientes(pagina)
+                .siguienteCursor(siguienteCursor)
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public ClienteResponseDTO obtenerClientePorId(Long id) {
-        log.info("Buscando cliente con ID: {}", id);
-        Cliente cliente = clienteRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + id));
-        return convertirEntidadADTO(cliente);
+    public void exportarClientes(Consumer<ClienteResponseDTO> consumidor) {
+        log.info("Exportando clientes en streaming (fetch size: {})", exportFetchSize);
+        clienteRepository.recorrerTodos(exportFetchSize, consumidor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClienteResponseDTO> buscarClientes(String texto, int limite) {
+        log.debug("Buscando clientes por texto: {}", texto);
+
+        String criterio = texto != null ? texto.trim() : "";
+        if (criterio.length() < LONGITUD_MINIMA_BUSQUEDA) {
+            throw new BusinessException("La búsqueda requiere al menos " + LONGITUD_MINIMA_BUSQUEDA + " caracteres");
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO_BUSQUEDA) {
+            throw new BusinessException("El límite debe estar entre 1 y " + LIMITE_MAXIMO_BUSQUEDA);
+        }
+        return clienteRepository.buscarPorTexto(criterio, limite);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ClienteLookupResultadoDTO resolverClientes(ClienteLookupRequestDTO claves) {
+        List<Long> ids = sinNulos(claves.getIds());
+        List<String> cuits = sinNulos(claves.getCuits());
+        List<String> emails = sinNulos(claves.getEmails());
+        int total = ids.size() + cuits.size() + emails.size();
+        log.debug("Resolviendo {} claves de clientes", total);
+        if (total > LIMITE_MAXIMO_LOOKUP) {
+            throw new BusinessException("Se pueden resolver hasta " + LIMITE_MAXIMO_LOOKUP + " claves por petición");
+        }
+
+        // Las claves que el filtro de unicidad descarta no llegan a la consulta
+        List<String> cuitsPosibles = cuits.stream().filter(filtroUnicidad::puedeExistirCuit).toList();
+        List<String> emailsPosibles = emails.stream().filter(filtroUnicidad::puedeExistirEmail).toList();
+
+        // Cada clave pedida se responde tal como llegó, aunque coincida por su forma normalizada
+        Map<Long, ClienteResponseDTO> porId = resolver(ids,
+                ids.isEmpty() ? List.of() : clienteRepository.obtenerPorIds(ids), ClienteResponseDTO::getId, Function.identity());
+        Map<String, ClienteResponseDTO> porCuit = resolver(cuits,
+                cuitsPosibles.isEmpty() ? List.of() : clienteRepository.obtenerPorCuits(cuitsPosibles), ClienteResponseDTO::getCuit,
+                ClavesCliente::normalizarCuit);
+        Map<String, ClienteResponseDTO> porEmail = resolver(emails,
+                emailsPosibles.isEmpty() ? List.of() : clienteRepository.obtenerPorEmails(emailsPosibles), ClienteResponseDTO::getEmail,
+                ClavesCliente::normalizarEmail);
+
+        int noEncontrados = (int) Stream.of(porId, porCuit, porEmail)
+                .flatMap(resultado -> resultado.values().stream())
+                .filter(Objects::isNull)
+                .count();
+        return ClienteLookupResultadoDTO.builder()
+                .ids(porId)
+                .cuits(porCuit)
+                .emails(porEmail)
+                .noEncontrados(noEncontrados)
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ClienteResponseDTO> obtenerTodosLosClientes() {
-        log.info("Obteniendo todos los clientes");
-        return clienteRepository.findAll().stream()
-                .map(this::convertirEntidadADTO)
-                .collect(Collectors.toList());
+    public ClienteCambiosDTO obtenerCambios(String cursor, int limite) {
+        log.debug("Obteniendo cambios de clientes (limite: {})", limite);
+
+        if (limite < 1 || limite > LIMITE_MAXIMO_PAGINA) {
+            throw new BusinessException("El límite debe estar entre 1 y " + LIMITE_MAXIMO_PAGINA);
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        CursorCambios desde = cursor != null && !cursor.isBlank()
+                ? CursorCambios.decodificar(cursor)
+                : CursorCambios.INICIO;
+        if (desde != CursorCambios.INICIO && desde.getFecha().isBefore(ahora.minus(retencionBajas))) {
+            // Las bajas de ese período ya se purgaron: el cliente no podría enterarse de ellas
+            throw new BusinessException("El cursor de cambios venció (retención de " + retencionBajas
+                    + "): se requiere una sincronización completa");
+        }
+
+        // Solo cambios más viejos que el margen y que cualquier escritura en curso de esta instancia:
+        // una transacción que tomó su fecha antes pero confirma después todavía entra en la próxima consulta
+        LocalDateTime hasta = ahora.minus(margenConfirmacion);
+        Optional<LocalDateTime> enCurso = escriturasEnCurso.masAntigua();
+        if (enCurso.isPresent() && !enCurso.get().isAfter(hasta)) {
+            hasta = enCurso.get().minus(1, ChronoUnit.MICROS);
+        }
+        List<CambioClienteDTO> cambios = clienteRepository.obtenerCambios(
+                desde.getFecha(), desde.getId(), hasta, limite + 1);
+
+        boolean hayMas = cambios.size() > limite;
+        List<CambioClienteDTO> pagina = hayMas ? cambios.subList(0, limite) : cambios;
+        CursorCambios siguiente = pagina.isEmpty() ? desde : CursorCambios.de(pagina.get(pagina.size() - 1));
+
+        return ClienteCambiosDTO.builder()
+                .cambios(pagina)
+                .siguienteCursor(siguiente.codificar())
+                .hayMas(hayMas)
+                .build();
+    }
+
+    @Scheduled(initialDelayString = "${yappa.cambios.intervalo-purga:PT1H}",
+            fixedDelayString = "${yappa.cambios.intervalo-purga:PT1H}")
+    public void purgarBajasVencidas() {
+        int purgadas = clienteRepository.purgarBajas(LocalDateTime.now().minus(retencionBajas));
+        if (purgadas > 0) {
+            log.info("Purgadas {} marcas de baja anteriores a la retención de {}", purgadas, retencionBajas);
+        }
     }
 
     @Override
     public ClienteResponseDTO actualizarCliente(Long id, ClienteRequestDTO requestDTO) {
         log.info("Actualizando cliente con ID: {}", id);
-        
-        Cliente clienteExistente = clienteRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + id));
-        
-        // Validar CUIT único (si cambió)
-        if (!clienteExistente.getCuit().equals(requestDTO.getCuit()) && 
-            clienteRepository.existsByCuit(requestDTO.getCuit())) {
-            throw new BusinessException("Ya existe un cliente con el CUIT: " + requestDTO.getCuit());
-        }
-        
-        // Validar email único (si cambió)
-        if (!clienteExistente.getEmail().equals(requestDTO.getEmail()) && 
-            clienteRepository.existsByEmail(requestDTO.getEmail())) {
-            throw new BusinessException("Ya existe un cliente con el email: " + requestDTO.getEmail());
-        }
-        
-        actualizarEntidadDesdeDTO(clienteExistente, requestDTO);
-        Cliente clienteActualizado = clienteRepository.save(clienteExistente);
-        
+
+        ClienteResponseDTO clienteActualizado;
+        filtroUnicidad.registrar(requestDTO.getCuit(), requestDTO.getEmail());
+        try {
+            clienteActualizado = clienteRepository.actualizar(id, requestDTO, escriturasEnCurso.registrar())
+                    .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + id));
+        } catch (DuplicateKeyException ex) {
+            throw clienteDuplicado(ex, requestDTO);
+        }
+        clienteJsonCache.invalidar(id);
+        publicarCambio(clienteActualizado);
+
         log.info("Cliente actualizado exitosamente con ID: {}", id);
-        return convertirEntidadADTO(clienteActualizado);
+        return clienteActualizado;
+    }
+
+    @Override
+    public ClienteResponseDTO actualizarClienteParcialmente(Long id, ClienteRequestDTO cambios, Set<String> campos) {
+        log.info("Actualizando parcialmente cliente con ID: {} (campos: {})", id, campos);
+
+        List<String> noEditables = campos.stream().filter(campo -> !CAMPOS_EDITABLES.contains(campo)).sorted().toList();
+        if (!noEditables.isEmpty()) {
+            throw new BusinessException("Campos no editables: " + String.join(", ", noEditables));
+        }
+        // Solo se validan los campos presentes en el patch; un null explícito falla por @NotBlank/@NotNull
+        Set<ConstraintViolation<ClienteRequestDTO>> violaciones = campos.stream()
+                .flatMap(campo -> validator.validateProperty(cambios, campo).stream())
+                .collect(Collectors.toSet());
+        if (!violaciones.isEmpty()) {
+            throw new ConstraintViolationException(violaciones);
+        }
+
+        // Con la precisión de la base, para reconocer si la fila devuelta fue escrita por este UPDATE
+        LocalDateTime ahora = escriturasEnCurso.registrar();
+        filtroUnicidad.registrar(cambios.getCuit(), cambios.getEmail());
+        ClienteResponseDTO cliente;
+        try {
+            cliente = clienteRepository.actualizarCampos(id, cambios, campos, ahora)
+                    .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con ID: " + id));
+        } catch (DuplicateKeyException ex) {
+            throw clienteDuplicado(ex, cambios);
+        }
+
+        if (ahora.equals(cliente.getFechaModificacion())) {
+            clienteJsonCache.invalidar(id);
+            publicarCambio(cliente);
+            log.info("Cliente actualizado parcialmente con ID: {}", id);
+        } else {
+            log.debug("Sin cambios para el cliente con ID: {}, se omite la actualización", id);
+        }
+        return cliente;
     }
 
     @Override
     public void eliminarCliente(Long id) {
         log.info("Eliminando cliente con ID: {}", id);
-        
-        if (!clienteRepository.existsById(id)) {
+
+        if (clienteRepository.eliminarPorId(id) == 0) {
             throw new ResourceNotFoundException("Cliente no encontrado con ID: " + id);
         }
-        
-        clienteRepository.deleteById(id);
+        // En la misma transacción que el DELETE: la baja llega al feed de cambios si y solo si se confirma
+        LocalDateTime fecha = escriturasEnCurso.registrar();
+        clienteRepository.registrarBaja(id, fecha);
+        clienteJsonCache.invalidar(id);
+        eventPublisher.publishEvent(new CambioClienteDTO(CambioClienteDTO.Tipo.DELETE, id, fecha, null));
         log.info("Cliente eliminado exitosamente con ID: {}", id);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ClienteResponseDTO buscarPorCuit(String cuit) {
-        log.info("Buscando cliente con CUIT: {}", cuit);
-        Cliente cliente = clienteRepository.findByCuit(cuit)
-                .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con CUIT: " + cuit));
-        return convertirEntidadADTO(cliente);
+        log.debug("Buscando cliente con CUIT: {}", cuit);
+        if (!filtroUnicidad.puedeExistirCuit(cuit)) {
+            throw new ResourceNotFoundException("Cliente no encontrado con CUIT: " + cuit);
+        }
+        return consultasEnCurso.porCuit().ejecutar(cuit, clienteJsonCache.generacion(),
+                () -> clienteRepository.obtenerPorCuit(cuit)
+                        .orElseThrow(() -> {
+                            filtroUnicidad.registrarFalsoPositivo();
+                            return new ResourceNotFoundException("Cliente no encontrado con CUIT: " + cuit);
+                        }));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ClienteResponseDTO buscarPorEmail(String email) {
-        log.info("Buscando cliente con email: {}", email);
-        Cliente cliente = clienteRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado con email: " + email));
-        return convertirEntidadADTO(cliente);
-    }
-
-    // Métodos auxiliares de conversión
-    private Cliente convertirDTOaEntidad(ClienteRequestDTO dto) {
-        return Cliente.builder()
-                .nombre(dto.getNombre())
-                .apellido(dto.getApellido())
-                .razonSocial(dto.getRazonSocial())
-                .cuit(dto.getCuit())
-                .fechaNacimiento(dto.getFechaNacimiento())
-                .telefonoCelular(dto.getTelefonoCelular())
-                .email(dto.getEmail())
-                .build();
+        log.debug("Buscando cliente con email: {}", email);
+        if (!filtroUnicidad.puedeExistirEmail(email)) {
+            throw new ResourceNotFoundException("Cliente no encontrado con email: " + email);
+        }
+        return consultasEnCurso.porEmail().ejecutar(email, clienteJsonCache.generacion(),
+                () -> clienteRepository.obtenerPorEmail(email)
+                        .orElseThrow(() -> {
+                            filtroUnicidad.registrarFalsoPositivo();
+                            return new ResourceNotFoundException("Cliente no encontrado con email: " + email);
+                        }));
     }
 
-    private ClienteResponseDTO convertirEntidadADTO(Cliente cliente) {
-        return ClienteResponseDTO.builder()
-                .id(cliente.getId())
-                .nombre(cliente.getNombre())
-                .apellido(cliente.getApellido())
-                .razonSocial(cliente.getRazonSocial())
-                .cuit(cliente.getCuit())
-                .fechaNacimiento(cliente.getFechaNacimiento())
-                .telefonoCelular(cliente.getTelefonoCelular())
-                .email(cliente.getEmail())
-                .fechaCreacion(cliente.getFechaCreacion())
-                .fechaModificacion(cliente.getFechaModificacion())
-                .build();
+    private static <T> List<T> sinNulos(List<T> claves) {
+        return claves == null ? List.of() : claves.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    // Asocia cada clave pedida, en orden, a su cliente o a null si no existe
+    private static <K> Map<K, ClienteResponseDTO> resolver(List<K> claves, List<ClienteResponseDTO> encontrados,
+                                                           Function<ClienteResponseDTO, K> clave,
+                                                           Function<K, K> normalizar) {
+        Map<K, ClienteResponseDTO> porClave = new HashMap<>(encontrados.size() * 2);
+        encontrados.forEach(cliente -> porClave.put(normalizar.apply(clave.apply(cliente)), cliente));
+        Map<K, ClienteResponseDTO> resultado = new LinkedHashMap<>(claves.size() * 2);
+        claves.forEach(k -> resultado.put(k, porClave.get(normalizar.apply(k))));
+        return resultado;
+    }
+
+    // Los suscriptores de /events lo reciben recién cuando la transacción confirma
+    private void publicarCambio(ClienteResponseDTO cliente) {
+        eventPublisher.publishEvent(new CambioClienteDTO(CambioClienteDTO.Tipo.UPSERT, cliente.getId(),
+                cliente.getFechaModificacion(), cliente));
     }
 
-    private void actualizarEntidadDesdeDTO(Cliente cliente, ClienteRequestDTO dto) {
-        cliente.setNombre(dto.getNombre());
-        cliente.setApellido(dto.getApellido());
-        cliente.setRazonSocial(dto.getRazonSocial());
-        cliente.setCuit(dto.getCuit());
-        cliente.setFechaNacimiento(dto.getFechaNacimiento());
-        cliente.setTelefonoCelular(dto.getTelefonoCelular());
-        cliente.setEmail(dto.getEmail());
+    private RuntimeException clienteDuplicado(DuplicateKeyException ex, ClienteRequestDTO dto) {
+        // Otra restricción única no es un error del cliente: sigue como violación de integridad
+        return RestriccionUnicaCliente.violada(ex)
+                .<RuntimeException>map(restriccion -> switch (restriccion) {
+                    case CUIT -> new BusinessException("Ya existe un cliente con el CUIT: " + dto.getCuit());
+                    case EMAIL -> new BusinessException("Ya existe un cliente con el email: " + dto.getEmail());
+                })
+                .orElse(ex);
     }
 }
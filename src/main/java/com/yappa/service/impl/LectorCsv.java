@@ -0,0 +1,100 @@
+package com.yappa.service.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector CSV (RFC 4180) en streaming: soporta campos entre comillas, comillas
+ * escapadas ("") y saltos de línea dentro de campos.
+ */
+class LectorCsv {
+
+    private final Reader reader;
+    private final char separador;
+    private long lineaActual = 1;
+    private long lineaRegistro;
+    private int siguiente = -2;
+
+    LectorCsv(Reader reader, char separador) {
+        this.reader = reader;
+        this.separador = separador;
+    }
+
+    /** Línea en la que comenzó el último registro leído. */
+    long getLineaRegistro() {
+        return lineaRegistro;
+    }
+
+    /** Devuelve el próximo registro o {@code null} al llegar al final. */
+    List<String> leerRegistro() throws IOException {
+        int c = leer();
+        while (c == '\r' || c == '\n') {
+            consumirSaltoDeLinea(c);
+            c = leer();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        lineaRegistro = lineaActual;
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        while (true) {
+            if (entreComillas) {
+                if (c == -1) {
+                    throw new IOException("Comillas sin cerrar en el registro de la línea " + lineaRegistro);
+                } else if (c == '"') {
+                    int proximo = leer();
+                    if (proximo == '"') {
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                        c = proximo;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineaActual++;
+                    }
+                    campo.append((char) c);
+                }
+            } else if (c == '"' && campo.length() == 0) {
+                entreComillas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                campos.add(campo.toString());
+                if (c != -1) {
+                    consumirSaltoDeLinea(c);
+                }
+                return campos;
+            } else {
+                campo.append((char) c);
+            }
+            c = leer();
+        }
+    }
+
+    private void consumirSaltoDeLinea(int c) throws IOException {
+        lineaActual++;
+        if (c == '\r') {
+            int proximo = leer();
+            if (proximo != '\n') {
+                siguiente = proximo;
+            }
+        }
+    }
+
+    private int leer() throws IOException {
+        if (siguiente != -2) {
+            int c = siguiente;
+            siguiente = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,4 @@
+-- =============================================================
+-- Índice para la paginación keyset ordenada por (apellido, id)
+-- =============================================================
+CREATE INDEX IF NOT EXISTS idx_clientes_apellido_id ON clientes (apellido, id);
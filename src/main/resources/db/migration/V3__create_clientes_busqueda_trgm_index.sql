@@ -0,0 +1,11 @@
+-- =============================================================
+-- Búsqueda de texto parcial sobre nombre/apellido/razón social/CUIT/email
+-- =============================================================
+-- El índice GIN de trigramas permite resolver LIKE '%texto%' y ordenar por
+-- similitud sin recorrer la tabla. La expresión debe coincidir exactamente con
+-- la usada en ClienteJdbcRepositoryImpl.buscarPorTexto para que se use el índice.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_clientes_busqueda_trgm ON clientes USING gin (
+    (lower(nombre || ' ' || apellido || ' ' || razon_social || ' ' || cuit || ' ' || email)) gin_trgm_ops
+);
@@ -0,0 +1,5 @@
+-- =============================================================
+-- Índice para obtener la versión de la tabla (MAX(fecha_modificacion))
+-- sin recorrer todas las filas
+-- =============================================================
+CREATE INDEX IF NOT EXISTS idx_clientes_fecha_modificacion ON clientes (fecha_modificacion);
@@ -0,0 +1,17 @@
+-- =============================================================
+-- Feed de cambios incremental (GET /api/clientes/changes)
+-- =============================================================
+
+-- Keyset (fecha_modificacion, id) de las altas y modificaciones; también
+-- resuelve MAX(fecha_modificacion), por lo que reemplaza al índice de V4
+CREATE INDEX IF NOT EXISTS idx_clientes_fecha_modificacion_id ON clientes (fecha_modificacion, id);
+DROP INDEX IF EXISTS idx_clientes_fecha_modificacion;
+
+-- Marcas de baja: los clientes eliminados, para informarlos en el feed
+-- hasta que se purgan (yappa.cambios.retencion-bajas)
+CREATE TABLE IF NOT EXISTS clientes_eliminados (
+    id BIGINT PRIMARY KEY,
+    fecha_eliminacion TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_clientes_eliminados_fecha_id ON clientes_eliminados (fecha_eliminacion, id);
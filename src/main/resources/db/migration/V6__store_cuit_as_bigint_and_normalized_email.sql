@@ -0,0 +1,35 @@
+-- =============================================================
+-- Claves únicas compactas: CUIT numérico y email normalizado
+-- =============================================================
+-- El CUIT pasa de VARCHAR(20) con guiones a BIGINT con sus 11 dígitos: cada
+-- entrada del índice único ocupa 8 bytes fijos en lugar de 14 y la comparación
+-- es entre enteros. El formato XX-XXXXXXXX-X se arma al responder.
+--
+-- El email se sigue guardando como se ingresó, y la unicidad pasa a controlarse
+-- sobre email_normalizado (en minúsculas), que la aplicación completa en cada
+-- escritura. Juan@x.com y juan@x.com pasan a ser el mismo email: si ya hubiera
+-- clientes que solo difieren en mayúsculas, la migración falla al crear la
+-- restricción y deben unificarse antes. Para encontrarlos:
+--   SELECT lower(email), array_agg(id) FROM clientes GROUP BY lower(email) HAVING count(*) > 1;
+--
+-- Ambos cambios reescriben la tabla con un lock exclusivo: en tablas grandes,
+-- ejecutar en una ventana de mantenimiento.
+
+-- El índice de búsqueda incluye la columna cuit y se recrea con el CUIT formateado
+DROP INDEX IF EXISTS idx_clientes_busqueda_trgm;
+
+ALTER TABLE clientes ALTER COLUMN cuit TYPE BIGINT USING replace(cuit, '-', '')::BIGINT;
+ALTER TABLE clientes ADD CONSTRAINT clientes_cuit_digitos_check CHECK (cuit BETWEEN 10000000000 AND 99999999999);
+
+ALTER TABLE clientes ADD COLUMN email_normalizado VARCHAR(150);
+UPDATE clientes SET email_normalizado = lower(email);
+ALTER TABLE clientes ALTER COLUMN email_normalizado SET NOT NULL;
+ALTER TABLE clientes ADD CONSTRAINT clientes_email_normalizado_key UNIQUE (email_normalizado);
+ALTER TABLE clientes DROP CONSTRAINT IF EXISTS clientes_email_key;
+
+-- La expresión debe coincidir exactamente con DOCUMENTO_BUSQUEDA en ClienteJdbcRepositoryImpl
+CREATE INDEX IF NOT EXISTS idx_clientes_busqueda_trgm ON clientes USING gin (
+    (lower(nombre || ' ' || apellido || ' ' || razon_social || ' ' ||
+        substr(CAST(cuit AS VARCHAR(11)), 1, 2) || '-' || substr(CAST(cuit AS VARCHAR(11)), 3, 8) || '-' ||
+        substr(CAST(cuit AS VARCHAR(11)), 11, 1) || ' ' || email)) gin_trgm_ops
+);
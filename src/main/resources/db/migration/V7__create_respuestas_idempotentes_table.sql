@@ -0,0 +1,18 @@
+-- =============================================================
+-- Respuestas de peticiones con Idempotency-Key (yappa.idempotencia.persistente)
+-- =============================================================
+
+-- Una fila por clave con la respuesta ya enviada, para repetirla ante un
+-- reintento que llegue a otra instancia o después de un reinicio. Las filas
+-- vencidas (yappa.idempotencia.ttl) se purgan periódicamente
+CREATE TABLE IF NOT EXISTS respuestas_idempotentes (
+    clave VARCHAR(255) PRIMARY KEY,
+    huella VARCHAR(64) NOT NULL,
+    estado INTEGER NOT NULL,
+    content_type VARCHAR(255),
+    headers VARCHAR(4096),
+    cuerpo BYTEA NOT NULL,
+    fecha_creacion TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_respuestas_idempotentes_fecha ON respuestas_idempotentes (fecha_creacion);
@@ -0,0 +1,116 @@
+package com.yappa.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yappa.config.RuteoDataSource;
+import com.yappa.dto.ClienteResponseDTO;
+import com.yappa.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la Caché de Respuestas de Clientes")
+class ClienteJsonCacheTest {
+
+    private ClienteJsonCache cache;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ClienteJsonCache(new ObjectMapper().registerModule(new JavaTimeModule()), false, 100, Duration.ofMinutes(1));
+        cargas = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Un acierto por id, CUIT o email no vuelve a cargar el cliente")
+    void testAciertoPorCualquierClave() {
+        // Given
+        ClienteResponseDTO cliente = cliente("20-12345678-9", "juan.perez@example.com");
+
+        // When
+        byte[] json = cache.obtenerPorId(1L, () -> cargar(cliente)).getJson();
+        byte[] porCuit = cache.obtenerPorCuit("20-12345678-9", () -> cargar(cliente)).getJson();
+        byte[] porEmail = cache.obtenerPorEmail("juan.perez@example.com", () -> cargar(cliente)).getJson();
+
+        // Then
+        assertEquals(1, cargas.get());
+        assertSame(json, porCuit);
+        assertSame(json, porEmail);
+        assertEquals(2, cache.estadisticas().getAciertos());
+        assertTrue(new String(json).contains("\"cuit\":\"20-12345678-9\""));
+    }
+
+    @Test
+    @DisplayName("Después de invalidar, un CUIT anterior no devuelve el cliente actualizado")
+    void testInvalidacionConCambioDeCuit() {
+        // Given
+        cache.obtenerPorId(1L, () -> cargar(cliente("20-12345678-9", "juan.perez@example.com")));
+
+        // When
+        cache.invalidar(1L);
+        cache.obtenerPorId(1L, () -> cargar(cliente("20-99999999-9", "juan.perez@example.com")));
+
+        // Then
+        assertThrows(ResourceNotFoundException.class, () -> cache.obtenerPorCuit("20-12345678-9", () -> {
+            throw new ResourceNotFoundException("Cliente no encontrado con CUIT: 20-12345678-9");
+        }));
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Una carga que se solapa con una invalidación no se guarda")
+    void testCargaConcurrenteConInvalidacion() {
+        // When
+        cache.obtenerPorId(1L, () -> {
+            cache.invalidar(1L);
+            return cargar(cliente("20-12345678-9", "juan.perez@example.com"));
+        });
+        cache.obtenerPorId(1L, () -> cargar(cliente("20-12345678-9", "juan.perez@example.com")));
+
+        // Then
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Con réplicas solo se guardan los clientes leídos de la primaria")
+    void testConReplicasSoloGuardaLecturasDeLaPrimaria() {
+        // Given
+        ClienteJsonCache conReplicas = new ClienteJsonCache(new ObjectMapper().registerModule(new JavaTimeModule()),
+                true, 100, Duration.ofMinutes(1));
+        ClienteResponseDTO cliente = cliente("20-12345678-9", "juan.perez@example.com");
+
+        // When
+        conReplicas.obtenerPorId(1L, () -> cargar(cliente));
+        conReplicas.obtenerPorId(1L, () -> cargar(cliente));
+        RuteoDataSource.forzarPrimaria();
+        try {
+            conReplicas.obtenerPorId(1L, () -> cargar(cliente));
+        } finally {
+            RuteoDataSource.liberarPrimaria();
+        }
+        conReplicas.obtenerPorId(1L, () -> cargar(cliente));
+
+        // Then
+        assertEquals(3, cargas.get());
+    }
+
+    private ClienteResponseDTO cargar(ClienteResponseDTO cliente) {
+        cargas.incrementAndGet();
+        return cliente;
+    }
+
+    private static ClienteResponseDTO cliente(String cuit, String email) {
+        return ClienteResponseDTO.builder()
+                .id(1L)
+                .nombre("Juan")
+                .apellido("Pérez")
+                .cuit(cuit)
+                .email(email)
+                .build();
+    }
+}
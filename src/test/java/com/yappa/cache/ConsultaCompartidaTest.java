@@ -0,0 +1,156 @@
+package com.yappa.cache;
+
+import com.yappa.config.RuteoDataSource;
+import com.yappa.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de Consultas Compartidas")
+class ConsultaCompartidaTest {
+
+    private static final int CONCURRENTES = 8;
+
+    private final ConsultaCompartida<String, Object> compartida = new ConsultaCompartida<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENTES);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Las consultas concurrentes por la misma clave comparten una ejecución y su resultado")
+    void testComparteLaConsultaEnCurso() throws Exception {
+        // Given
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger ejecuciones = new AtomicInteger();
+        Supplier<Object> consulta = () -> {
+            ejecuciones.incrementAndGet();
+            await(liberar);
+            return new Object();
+        };
+
+        // When
+        List<Future<Object>> resultados = lanzar(0, consulta);
+        esperarCoalescidas(CONCURRENTES - 1);
+        liberar.countDown();
+
+        // Then
+        Object primero = resultados.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<Object> resultado : resultados) {
+            assertSame(primero, resultado.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, ejecuciones.get());
+        assertEquals(1, compartida.getEjecutadas());
+        assertEquals(CONCURRENTES - 1, compartida.getCoalescidas());
+        assertEquals(0, compartida.getEnCurso());
+    }
+
+    @Test
+    @DisplayName("La excepción de la consulta llega a todos los que la esperaban")
+    void testPropagaLaExcepcion() throws Exception {
+        // Given
+        CountDownLatch liberar = new CountDownLatch(1);
+        Supplier<Object> consulta = () -> {
+            await(liberar);
+            throw new ResourceNotFoundException("Cliente no encontrado con CUIT: 20-12345678-9");
+        };
+
+        // When
+        List<Future<Object>> resultados = lanzar(0, consulta);
+        esperarCoalescidas(CONCURRENTES - 1);
+        liberar.countDown();
+
+        // Then
+        for (Future<Object> resultado : resultados) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> resultado.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ResourceNotFoundException.class, ex.getCause());
+        }
+        assertEquals(1, compartida.getEjecutadas());
+        assertEquals(0, compartida.getEnCurso());
+    }
+
+    @Test
+    @DisplayName("Tras una escritura no se comparte una consulta iniciada antes")
+    void testNoComparteEntreGeneraciones() throws Exception {
+        // Given
+        CountDownLatch liberar = new CountDownLatch(1);
+        Future<Object> anterior = executor.submit(() -> compartida.ejecutar("20-12345678-9", 0, () -> {
+            await(liberar);
+            return "anterior";
+        }));
+        while (compartida.getEnCurso() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // When
+        Object posterior = compartida.ejecutar("20-12345678-9", 1, () -> "posterior");
+        liberar.countDown();
+
+        // Then
+        assertEquals("posterior", posterior);
+        assertEquals("anterior", anterior.get(5, TimeUnit.SECONDS));
+        assertEquals(2, compartida.getEjecutadas());
+        assertEquals(0, compartida.getCoalescidas());
+        assertEquals(0, compartida.getEnCurso());
+    }
+
+    @Test
+    @DisplayName("Con réplicas, una lectura forzada a la primaria no se suma a una consulta que va a una réplica")
+    void testNoComparteEntrePrimariaYReplicas() {
+        // Given
+        ConsultasClientesEnCurso enCurso = new ConsultasClientesEnCurso(true);
+
+        // When
+        ConsultaCompartida<Long, ?> enReplicas = enCurso.porId();
+        RuteoDataSource.forzarPrimaria();
+        ConsultaCompartida<Long, ?> enPrimaria;
+        try {
+            enPrimaria = enCurso.porId();
+        } finally {
+            RuteoDataSource.liberarPrimaria();
+        }
+
+        // Then
+        assertNotSame(enReplicas, enPrimaria);
+        assertSame(enReplicas, enCurso.porId());
+    }
+
+    private List<Future<Object>> lanzar(long generacion, Supplier<Object> consulta) {
+        List<Future<Object>> resultados = new ArrayList<>();
+        for (int i = 0; i < CONCURRENTES; i++) {
+            resultados.add(executor.submit(() -> compartida.ejecutar("20-12345678-9", generacion, consulta)));
+        }
+        return resultados;
+    }
+
+    private void esperarCoalescidas(int cantidad) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (compartida.getCoalescidas() < cantidad && System.nanoTime() < limite) {
+            Thread.sleep(1);
+        }
+        assertEquals(cantidad, compartida.getCoalescidas());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
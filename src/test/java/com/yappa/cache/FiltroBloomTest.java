@@ -0,0 +1,46 @@
+package com.yappa.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del Filtro de Bloom")
+class FiltroBloomTest {
+
+    @Test
+    @DisplayName("Nunca niega una clave agregada y respeta la tasa de falsos positivos")
+    void testSinFalsosNegativos() {
+        // Given
+        FiltroBloom filtro = FiltroBloom.crear(10_000, 0.01, Long.MAX_VALUE);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.agregar("20-" + i + "-9");
+        }
+
+        // When
+        int falsosPositivos = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.puedeContener("20-" + i + "-9"));
+            if (filtro.puedeContener("27-" + i + "-0")) {
+                falsosPositivos++;
+            }
+        }
+
+        // Then
+        assertTrue(falsosPositivos < 200, "Falsos positivos: " + falsosPositivos);
+        assertEquals(7, filtro.getFuncionesHash());
+        assertTrue(filtro.tasaFalsosPositivosEstimada() < 0.02);
+    }
+
+    @Test
+    @DisplayName("El tamaño del filtro no supera el máximo configurado")
+    void testMemoriaMaxima() {
+        // When
+        FiltroBloom filtro = FiltroBloom.crear(1_000_000, 0.001, 8 * 1024 * 8);
+
+        // Then
+        assertEquals(8 * 1024 * 8, filtro.getCantidadBits());
+        assertEquals(8 * 1024, filtro.getMemoriaBytes());
+        assertFalse(filtro.puedeContener("20-12345678-9"));
+    }
+}
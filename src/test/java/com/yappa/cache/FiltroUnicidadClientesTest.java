@@ -0,0 +1,86 @@
+package com.yappa.cache;
+
+import com.yappa.repository.ClienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Tests del Filtro de Unicidad de Clientes")
+class FiltroUnicidadClientesTest {
+
+    private final ClienteRepository clienteRepository = mock(ClienteRepository.class);
+    private final FiltroUnicidadClientes filtro = new FiltroUnicidadClientes(clienteRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), true, 0.01, 1_000, DataSize.ofKilobytes(64), 100);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(filtro);
+    }
+
+    @Test
+    @DisplayName("Una clave registrada durante la reconstrucción no se pierde aunque el recorrido no la vea")
+    void testClaveRegistradaDuranteLaReconstruccion() {
+        // Given
+        when(clienteRepository.count()).thenAnswer(invocation -> {
+            filtro.registrar("20-12345678-9", "juan.perez@example.com");
+            return 1L;
+        });
+        recorrer("27-87654321-3", "ana@example.com");
+
+        // When
+        filtro.reconstruir();
+
+        // Then
+        assertTrue(filtro.puedeExistirCuit("20-12345678-9"));
+        assertTrue(filtro.puedeExistirEmail("JUAN.PEREZ@example.com"));
+        assertTrue(filtro.puedeExistirCuit("27-87654321-3"));
+    }
+
+    @Test
+    @DisplayName("Una transacción registrada antes de la reconstrucción y confirmada después del recorrido vuelve a registrar sus claves")
+    void testTransaccionConfirmadaDespuesDelRecorrido() {
+        // Given
+        recorrer("27-87654321-3", "ana@example.com");
+        filtro.reconstruir();
+        TransactionSynchronizationManager.initSynchronization();
+        filtro.registrar("20-12345678-9", "juan.perez@example.com");
+        filtro.reconstruir();
+        assertFalse(filtro.puedeExistirCuit("20-12345678-9"));
+
+        // When
+        List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+        sincronizaciones.forEach(TransactionSynchronization::afterCommit);
+        sincronizaciones.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Then
+        assertTrue(filtro.puedeExistirCuit("20-12345678-9"));
+        assertTrue(filtro.puedeExistirEmail("juan.perez@example.com"));
+        assertFalse(TransactionSynchronizationManager.hasResource(filtro));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recorrer(String cuit, String email) {
+        doAnswer(invocation -> {
+            ((BiConsumer<String, String>) invocation.getArgument(1)).accept(cuit, email);
+            return null;
+        }).when(clienteRepository).recorrerClavesUnicas(anyInt(), any());
+    }
+}
@@ -0,0 +1,245 @@
+package com.yappa.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yappa.cache.RespuestasIdempotentes;
+import com.yappa.dto.RespuestaGuardada;
+import com.yappa.exception.GlobalExceptionHandler;
+import com.yappa.repository.RespuestaIdempotenteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Tests de las Peticiones con Idempotency-Key")
+class IdempotenciaTest {
+
+    private static final String JUAN = "{\"nombre\":\"Juan\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final RespuestaIdempotenteRepository repository = mock(RespuestaIdempotenteRepository.class);
+    private final ControladorDePrueba controlador = new ControladorDePrueba();
+
+    @Test
+    @DisplayName("Un reintento con la misma clave repite la respuesta sin volver a ejecutar")
+    void testRepiteLaRespuesta() throws Exception {
+        // Given
+        MockMvc mockMvc = mockMvc(respuestas(false));
+
+        // When
+        MvcResult primera = mockMvc.perform(crear("clave-1", JUAN)).andReturn();
+        MvcResult reintento = mockMvc.perform(crear("clave-1", JUAN))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotenciaFilter.HEADER_REPETIDA, "true"))
+                .andExpect(header().string(HttpHeaders.LOCATION, "/clientes/1"))
+                .andReturn();
+
+        // Then
+        assertEquals(201, primera.getResponse().getStatus());
+        assertEquals(primera.getResponse().getContentAsString(), reintento.getResponse().getContentAsString());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, reintento.getResponse().getContentType());
+        assertEquals(1, controlador.ejecuciones.get());
+
+        // Sin clave, o con otra clave, la petición se ejecuta
+        mockMvc.perform(post("/clientes").contentType(MediaType.APPLICATION_JSON).content(JUAN))
+                .andExpect(status().isCreated());
+        mockMvc.perform(crear("clave-2", JUAN)).andExpect(jsonPath("$.id").value(3));
+    }
+
+    @Test
+    @DisplayName("Reusar la clave con otra petición responde 422")
+    void testClaveReusadaConOtraPeticion() throws Exception {
+        // Given
+        MockMvc mockMvc = mockMvc(respuestas(false));
+        mockMvc.perform(crear("clave-1", JUAN)).andExpect(status().isCreated());
+
+        // When & Then
+        mockMvc.perform(crear("clave-1", "{\"nombre\":\"Ana\"}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status").value(422));
+        mockMvc.perform(crear(" ", JUAN)).andExpect(status().isBadRequest());
+        assertEquals(1, controlador.ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("Un reintento con Prefer: respond-async repite el 202 con Preference-Applied")
+    void testRepitePreferenceApplied() throws Exception {
+        // Given
+        MockMvc mockMvc = mockMvc(respuestas(false));
+        mockMvc.perform(crear("clave-1", JUAN).header("Prefer", "respond-async")).andExpect(status().isAccepted());
+
+        // When & Then
+        mockMvc.perform(crear("clave-1", JUAN).header("Prefer", "respond-async"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(IdempotenciaFilter.HEADER_REPETIDA, "true"))
+                .andExpect(header().string(HttpHeaders.LOCATION, "/clientes/altas/1"))
+                .andExpect(header().string("Preference-Applied", "respond-async"));
+        assertEquals(1, controlador.ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("Reusar la clave con otro Prefer u otro Accept responde 422")
+    void testClaveReusadaConOtrosHeaders() throws Exception {
+        // Given
+        MockMvc mockMvc = mockMvc(respuestas(false));
+        mockMvc.perform(crear("clave-1", JUAN).header("Prefer", "respond-async")).andExpect(status().isAccepted());
+
+        // When & Then
+        mockMvc.perform(crear("clave-1", JUAN)).andExpect(status().isUnprocessableEntity());
+        mockMvc.perform(crear("clave-1", JUAN).header("Prefer", "respond-async").accept("application/cbor"))
+                .andExpect(status().isUnprocessableEntity());
+        assertEquals(1, controlador.ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("Un reintento concurrente espera a la ejecución en curso y recibe su respuesta")
+    void testReintentoConcurrenteEspera() throws Exception {
+        // Given
+        RespuestasIdempotentes respuestas = respuestas(false);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        respuestas.bindTo(registry);
+        MockMvc mockMvc = mockMvc(respuestas);
+        controlador.liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<MvcResult> primera = executor.submit(() -> mockMvc.perform(crear("clave-1", JUAN)).andReturn());
+            esperar(() -> controlador.ejecuciones.get() == 1);
+            Future<MvcResult> reintento = executor.submit(() -> mockMvc.perform(crear("clave-1", JUAN)).andReturn());
+            esperar(() -> registry.get("yappa.idempotencia").tag("resultado", "esperada").functionCounter().count() == 1);
+            controlador.liberar.countDown();
+
+            // Then
+            assertEquals(201, primera.get(5, TimeUnit.SECONDS).getResponse().getStatus());
+            assertEquals(201, reintento.get(5, TimeUnit.SECONDS).getResponse().getStatus());
+            assertEquals(primera.get().getResponse().getContentAsString(), reintento.get().getResponse().getContentAsString());
+            assertEquals(1, controlador.ejecuciones.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Una respuesta 5xx no se guarda: el reintento vuelve a ejecutar")
+    void testRespuesta5xxNoSeGuarda() throws Exception {
+        // Given
+        MockMvc mockMvc = mockMvc(respuestas(false));
+        controlador.fallar = true;
+        mockMvc.perform(crear("clave-1", JUAN)).andExpect(status().isInternalServerError());
+
+        // When
+        controlador.fallar = false;
+
+        // Then
+        mockMvc.perform(crear("clave-1", JUAN)).andExpect(status().isCreated());
+        assertEquals(2, controlador.ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("Con la tabla habilitada, otra instancia repite la respuesta guardada")
+    void testRepiteDesdeLaTabla() throws Exception {
+        // Given
+        mockMvc(respuestas(true)).perform(crear("clave-1", JUAN)).andExpect(status().isCreated());
+        ArgumentCaptor<RespuestaGuardada> guardada = ArgumentCaptor.forClass(RespuestaGuardada.class);
+        verify(repository).guardar(eq("clave-1"), guardada.capture(), any(LocalDateTime.class));
+        when(repository.buscar(eq("clave-1"), any(LocalDateTime.class))).thenReturn(Optional.of(guardada.getValue()));
+
+        // When & Then
+        mockMvc(respuestas(true)).perform(crear("clave-1", JUAN))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotenciaFilter.HEADER_REPETIDA, "true"))
+                .andExpect(header().string(HttpHeaders.LOCATION, "/clientes/1"))
+                .andExpect(jsonPath("$.id").value(1));
+        assertEquals(1, controlador.ejecuciones.get());
+    }
+
+    private RespuestasIdempotentes respuestas(boolean persistente) {
+        return new RespuestasIdempotentes(repository, persistente, Duration.ofHours(1), DataSize.ofMegabytes(1));
+    }
+
+    private MockMvc mockMvc(RespuestasIdempotentes respuestas) {
+        return MockMvcBuilders.standaloneSetup(controlador)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addFilters(new IdempotenciaFilter(respuestas, objectMapper))
+                .build();
+    }
+
+    private static MockHttpServletRequestBuilder crear(String clave, String cuerpo) {
+        return post("/clientes")
+                .header(IdempotenciaFilter.HEADER_CLAVE, clave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(cuerpo);
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicion.getAsBoolean() && System.nanoTime() < limite) {
+            Thread.sleep(1);
+        }
+        assertTrue(condicion.getAsBoolean());
+    }
+
+    @RestController
+    static class ControladorDePrueba {
+
+        private final AtomicInteger ejecuciones = new AtomicInteger();
+        private volatile CountDownLatch liberar = new CountDownLatch(0);
+        private volatile boolean fallar;
+
+        @PostMapping("/clientes")
+        ResponseEntity<Map<String, Object>> crear(@RequestBody Map<String, Object> cliente,
+                                                  @RequestHeader(value = "Prefer", required = false) String prefer)
+                throws InterruptedException {
+            int id = ejecuciones.incrementAndGet();
+            liberar.await(5, TimeUnit.SECONDS);
+            if (fallar) {
+                throw new IllegalStateException("Falla de prueba");
+            }
+            if ("respond-async".equals(prefer)) {
+                return ResponseEntity.accepted()
+                        .location(URI.create("/clientes/altas/" + id))
+                        .header("Preference-Applied", prefer)
+                        .body(Map.of("id", "a" + id));
+            }
+            return ResponseEntity.created(URI.create("/clientes/" + id)).body(Map.of("id", id, "nombre", cliente.get("nombre")));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.yappa.config;
+
+import com.yappa.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Tests del Límite de Concurrencia Adaptativo")
+class LimiteConcurrenciaTest {
+
+    private static final long MILISEGUNDO = 1_000_000L;
+
+    private final AtomicLong reloj = new AtomicLong();
+
+    @Test
+    @DisplayName("Debe rechazar al alcanzar el límite y admitir al liberar")
+    void testRechazaAlAlcanzarElLimite() {
+        // Given
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(2, 1, 10, 2.0, reloj::get);
+
+        // When
+        boolean primero = limitador.adquirir();
+        boolean segundo = limitador.adquirir();
+        boolean tercero = limitador.adquirir();
+        limitador.liberar(MILISEGUNDO, false);
+        boolean cuarto = limitador.adquirir();
+
+        // Then
+        assertTrue(primero);
+        assertTrue(segundo);
+        assertFalse(tercero);
+        assertTrue(cuarto);
+        assertEquals(1, limitador.getRechazos());
+        assertEquals(2, limitador.getEnCurso());
+    }
+
+    @Test
+    @DisplayName("Debe crecer con latencia estable aunque haya peticiones lentas aisladas")
+    void testCreceConLatenciaVariable() {
+        // Given
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(4, 2, 8, 2.0, reloj::get);
+
+        // When: una de cada cinco peticiones tarda el triple que las demás
+        int muestra = 0;
+        for (int vuelta = 0; vuelta < 20; vuelta++) {
+            int enVuelo = llenar(limitador);
+            for (int i = 0; i < enVuelo; i++) {
+                limitador.liberar(muestra++ % 5 == 4 ? 3 * MILISEGUNDO : MILISEGUNDO, false);
+            }
+        }
+
+        // Then: la latencia normal es el promedio, no la muestra más rápida
+        assertEquals(8, limitador.getLimite());
+        assertTrue(limitador.getLatenciaBaseSegundos() > 0.001);
+        assertTrue(limitador.getLatenciaBaseSegundos() < 0.002);
+    }
+
+    @Test
+    @DisplayName("Debe reducirse ante congestión sostenida y ante fallas, sin bajar del mínimo")
+    void testSeReduceAnteCongestionYFallas() {
+        // Given
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(8, 2, 8, 2.0, reloj::get);
+        for (int vuelta = 0; vuelta < 20; vuelta++) {
+            liberarTodas(limitador, llenar(limitador), MILISEGUNDO);
+        }
+
+        // When: la latencia se multiplica por diez durante varias vueltas
+        for (int vuelta = 0; vuelta < 5; vuelta++) {
+            liberarTodas(limitador, llenar(limitador), 10 * MILISEGUNDO);
+        }
+        int limiteTrasCongestion = limitador.getLimite();
+
+        // Una ráfaga de fallas reduce una sola vez por latencia observada
+        limitador = new LimitadorAdaptativo(8, 2, 8, 2.0, reloj::get);
+        reloj.addAndGet(100 * MILISEGUNDO);
+        for (int i = 0; i < 3; i++) {
+            limitador.adquirir();
+            limitador.liberar(10 * MILISEGUNDO, true);
+        }
+        int limiteTrasRafaga = limitador.getLimite();
+
+        // Fallas sostenidas no lo bajan del mínimo
+        for (int i = 0; i < 50; i++) {
+            reloj.addAndGet(100 * MILISEGUNDO);
+            limitador.adquirir();
+            limitador.liberar(MILISEGUNDO, true);
+        }
+
+        // Then
+        assertTrue(limiteTrasCongestion < 8);
+        assertTrue(limiteTrasCongestion >= 2);
+        assertEquals(7, limiteTrasRafaga);
+        assertEquals(2, limitador.getLimite());
+    }
+
+    @Test
+    @DisplayName("Debe responder 503 con Retry-After cuando la clase no tiene lugar")
+    void testResponde503ConRetryAfter() throws Exception {
+        // Given
+        LimiteConcurrenciaProperties properties = new LimiteConcurrenciaProperties();
+        properties.setLectura(new LimiteConcurrenciaProperties.Presupuesto(1, 1, 1));
+        properties.setReintentarEn(Duration.ofSeconds(3));
+        LimiteConcurrenciaInterceptor interceptor = new LimiteConcurrenciaInterceptor(properties);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ControladorDePrueba())
+                .addInterceptors(interceptor)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        // When & Then: con el lugar libre se atiende y se devuelve
+        mockMvc.perform(get("/lectura")).andExpect(status().isOk());
+        assertEquals(0, interceptor.limitador(LimiteConcurrencia.Clase.LECTURA).getEnCurso());
+
+        // Ocupado por otra petición, se rechaza sin invocar el handler
+        interceptor.limitador(LimiteConcurrencia.Clase.LECTURA).adquirir();
+        mockMvc.perform(get("/lectura"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"))
+                .andExpect(jsonPath("$.status").value(503));
+
+        // Las escrituras tienen su propio presupuesto
+        mockMvc.perform(get("/escritura")).andExpect(status().isOk());
+    }
+
+    private static int llenar(LimitadorAdaptativo limitador) {
+        int enVuelo = 0;
+        while (limitador.adquirir()) {
+            enVuelo++;
+        }
+        return enVuelo;
+    }
+
+    private static void liberarTodas(LimitadorAdaptativo limitador, int enVuelo, long latenciaNanos) {
+        for (int i = 0; i < enVuelo; i++) {
+            limitador.liberar(latenciaNanos, false);
+        }
+    }
+
+    @RestController
+    static class ControladorDePrueba {
+
+        @GetMapping("/lectura")
+        @LimiteConcurrencia(LimiteConcurrencia.Clase.LECTURA)
+        String lectura() {
+            return "ok";
+        }
+
+        @GetMapping("/escritura")
+        @LimiteConcurrencia(LimiteConcurrencia.Clase.ESCRITURA)
+        String escritura() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.yappa.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Tests del Muestreo de Logs")
+class MuestreoLogTurboFilterTest {
+
+    private final LoggerContext contexto = new LoggerContext();
+    private MuestreoLogTurboFilter filtro;
+
+    @BeforeEach
+    void setUp() {
+        filtro = new MuestreoLogTurboFilter();
+        filtro.setUnoCada(10);
+    }
+
+    @Test
+    @DisplayName("Debe dejar pasar uno de cada N mensajes INFO con la misma plantilla")
+    void testMuestreoPorPlantilla() {
+        // Given
+        Logger logger = contexto.getLogger("com.yappa.service.impl.ClienteServiceImpl");
+
+        // When
+        long escritos = IntStream.range(0, 100)
+                .filter(i -> filtro.decide(null, logger, Level.INFO, "Cliente creado exitosamente con ID: {}", null, null)
+                        == FilterReply.NEUTRAL)
+                .count();
+        FilterReply otraPlantilla = filtro.decide(null, logger, Level.INFO, "Eliminando cliente con ID: {}", null, null);
+
+        // Then
+        assertEquals(10, escritos);
+        assertEquals(FilterReply.NEUTRAL, otraPlantilla);
+    }
+
+    @Test
+    @DisplayName("No debe muestrear WARN, ERROR ni loggers fuera del paquete")
+    void testSinMuestreo() {
+        // Given
+        Logger logger = contexto.getLogger("com.yappa.exception.GlobalExceptionHandler");
+        Logger externo = contexto.getLogger("org.hibernate.SQL");
+
+        // When / Then
+        for (int i = 0; i < 20; i++) {
+            assertEquals(FilterReply.NEUTRAL, filtro.decide(null, logger, Level.ERROR, "Unexpected error: ", null, null));
+            assertEquals(FilterReply.NEUTRAL, filtro.decide(null, logger, Level.WARN, "Advertencia", null, null));
+            assertEquals(FilterReply.NEUTRAL, filtro.decide(null, externo, Level.INFO, "select ...", null, null));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.yappa.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yappa.dto.ClienteRequestDTO;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Primaria y réplicas son bases H2 en memoria distintas. Las réplicas quedan
+ * vacías (el esquema solo se crea en la primaria), lo que permite ver a dónde
+ * fue cada consulta.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primaria;DB_CLOSE_DELAY=-1",
+        "yappa.replicas.habilitado=true",
+        "yappa.replicas.instancias[0].url=jdbc:h2:mem:replica1;DB_CLOSE_DELAY=-1",
+        "yappa.replicas.instancias[1].url=jdbc:h2:mem:replica2;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Tests del Ruteo a Réplicas de Lectura")
+class RuteoDataSourceTest {
+
+    private static final String BASE_ACTUAL = "SELECT DATABASE()";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Debe repartir las transacciones de solo lectura entre las réplicas")
+    void testLecturasEnReplicas() {
+        // Given
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        Set<String> bases = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            bases.add(lectura.execute(status -> jdbcTemplate.queryForObject(BASE_ACTUAL, String.class)));
+        }
+
+        // Then
+        assertEquals(Set.of("REPLICA1", "REPLICA2"), bases);
+    }
+
+    @Test
+    @DisplayName("Debe enviar las escrituras y las lecturas forzadas a la primaria")
+    void testEscriturasEnPrimaria() {
+        // Given
+        TransactionTemplate escritura = new TransactionTemplate(transactionManager);
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+
+        // When
+        String baseEscritura = escritura.execute(status -> jdbcTemplate.queryForObject(BASE_ACTUAL, String.class));
+        RuteoDataSource.forzarPrimaria();
+        String baseLecturaForzada;
+        try {
+            baseLecturaForzada = lectura.execute(status -> jdbcTemplate.queryForObject(BASE_ACTUAL, String.class));
+        } finally {
+            RuteoDataSource.liberarPrimaria();
+        }
+
+        // Then
+        assertEquals("PRIMARIA", baseEscritura);
+        assertEquals("PRIMARIA", baseLecturaForzada);
+    }
+
+    @Test
+    @DisplayName("Debe leer de la primaria durante la ventana posterior a una escritura propia")
+    void testLecturaPropiasEscrituras() throws Exception {
+        // Given
+        ClienteRequestDTO request = ClienteRequestDTO.builder()
+                .nombre("Lucía")
+                .apellido("Fernández")
+                .razonSocial("Fernández SA")
+                .cuit("27-31234567-4")
+                .fechaNacimiento(LocalDate.of(1985, 3, 10))
+                .telefonoCelular("1145678901")
+                .email("lucia.fernandez@ruteo.com")
+                .build();
+
+        // When
+        MvcResult alta = mockMvc.perform(post("/api/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(LecturaPropiasEscriturasFilter.COOKIE))
+                .andReturn();
+        Long id = objectMapper.readTree(alta.getResponse().getContentAsString()).get("id").asLong();
+        Cookie escritura = alta.getResponse().getCookie(LecturaPropiasEscriturasFilter.COOKIE);
+
+        // Then: sin la cookie se lee de una réplica sin la tabla; con ella, de la primaria
+        mockMvc.perform(get("/api/clientes/{id}", id))
+                .andExpect(status().isInternalServerError());
+        mockMvc.perform(get("/api/clientes/{id}", id).cookie(escritura))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Debe sacar de rotación una réplica caída y leer de la primaria")
+    void testReplicaCaida() throws Exception {
+        // Given
+        DriverManagerDataSource primaria = new DriverManagerDataSource("jdbc:h2:mem:primaria;DB_CLOSE_DELAY=-1", "sa", "");
+        DriverManagerDataSource caida = new DriverManagerDataSource("jdbc:h2:mem:caida;IFEXISTS=TRUE", "sa", "");
+        RuteoDataSource ruteo = new RuteoDataSource(primaria, Map.of("replica-1", caida));
+        ruteo.afterPropertiesSet();
+
+        // When
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        String base;
+        try (Connection conexion = ruteo.getConnection()) {
+            base = conexion.getCatalog();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+
+        // Then
+        assertEquals("PRIMARIA", base);
+        assertFalse(ruteo.estaDisponible("replica-1"));
+    }
+}
@@ -1,29 +1,70 @@
 package com.yappa.controller;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yappa.cache.ClienteJsonCache;
+import com.yappa.config.FormatosBinariosConfig;
+import com.yappa.dto.AltaDiferidaDTO;
+import com.yappa.dto.CambioClienteDTO;
+import com.yappa.dto.ClienteCambiosDTO;
+import com.yappa.dto.ClienteCursor;
+import com.yappa.dto.ClienteLookupRequestDTO;
+import com.yappa.dto.ClienteLookupResultadoDTO;
+import com.yappa.dto.ClientePaginaDTO;
 import com.yappa.dto.ClienteRequestDTO;
 import com.yappa.dto.ClienteResponseDTO;
+import com.yappa.dto.VersionClientes;
+import com.yappa.eventos.DifusorEventosClientes;
+import com.yappa.exception.SobrecargaException;
+import com.yappa.service.ClienteAltaDiferidaService;
 import com.yappa.service.ClienteService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ClienteController.class)
+@Import(ClienteJsonCache.class)
 @DisplayName("Tests del Controlador de Clientes")
 class ClienteControllerTest {
 
@@ -33,14 +74,27 @@ class ClienteControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ClienteJsonCache clienteJsonCache;
+
     @MockBean
     private ClienteService clienteService;
 
+    @MockBean
+    private DifusorEventosClientes difusorEventos;
+
+    @MockBean
+    private ClienteAltaDiferidaService altaDiferidaService;
+
+    private static final String ETAG_TABLA = "\"t2-5f3a\"";
+
     private ClienteRequestDTO requestDTO;
     private ClienteResponseDTO responseDTO;
 
     @BeforeEach
     void setUp() {
+        clienteJsonCache.invalidarTodo();
+
         requestDTO = ClienteRequestDTO.builder()
                 .nombre("Juan")
                 .apellido("Pérez")
@@ -63,6 +117,8 @@ class ClienteControllerTest {
                 .fechaCreacion(LocalDateTime.now())
                 .fechaModificacion(LocalDateTime.now())
                 .build();
+
+        when(clienteService.obtenerEtagClientes()).thenReturn(ETAG_TABLA);
     }
 
     @Test
@@ -100,6 +156,100 @@ class ClienteControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(invalidDTO)))
                 .andExpect(status().isBadRequest());
+
+        // Un CUIT no empieza con 0: no entraría en los 11 dígitos de la columna
+        ClienteRequestDTO ceroInicial = ClienteRequestDTO.builder()
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit("01-23456789-0")
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("juan.perez@example.com")
+                .build();
+        mockMvc.perform(post("/api/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ceroInicial)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.cuit").exists());
+        verify(clienteService, never()).crearCliente(any());
+    }
+
+    @Test
+    @DisplayName("POST /api/clientes - Una violación de integridad informa la restricción única o un mensaje genérico")
+    void testCrearCliente_ViolacionDeIntegridad() throws Exception {
+        // Given
+        when(clienteService.crearCliente(any(ClienteRequestDTO.class)))
+                .thenThrow(new DuplicateKeyException("Clave duplicada", new SQLException(
+                        "duplicate key value violates unique constraint \"clientes_email_normalizado_key\"", "23505")))
+                .thenThrow(new DataIntegrityViolationException("Nulo", new SQLException(
+                        "null value in column \"nombre\" of relation \"clientes\" violates not-null constraint", "23502")));
+
+        // When & Then
+        mockMvc.perform(post("/api/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Ya existe un cliente con el mismo email"));
+        mockMvc.perform(post("/api/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Los datos violan una restricción de integridad"));
+    }
+
+    @Test
+    @DisplayName("POST /api/clientes - Con Prefer: respond-async encola el alta y responde 202 con la URL de estado")
+    void testCrearCliente_Asincronico() throws Exception {
+        // Given
+        when(altaDiferidaService.isHabilitado()).thenReturn(true);
+        when(altaDiferidaService.encolar(any(ClienteRequestDTO.class)))
+                .thenReturn(new AltaDiferidaDTO("a1", AltaDiferidaDTO.Estado.PENDIENTE, null, null));
+
+        // When & Then
+        mockMvc.perform(post("/api/clientes")
+                        .header("Prefer", "wait=5, respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/clientes/altas/a1"))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.estado").value("PENDIENTE"));
+        verify(clienteService, never()).crearCliente(any());
+    }
+
+    @Test
+    @DisplayName("POST /api/clientes - Con la cola de altas diferidas llena responde 503 con Retry-After")
+    void testCrearCliente_AsincronicoColaLlena() throws Exception {
+        // Given
+        when(altaDiferidaService.isHabilitado()).thenReturn(true);
+        when(altaDiferidaService.encolar(any(ClienteRequestDTO.class)))
+                .thenThrow(new SobrecargaException("La cola de altas diferidas está llena", Duration.ofSeconds(2)));
+
+        // When & Then
+        mockMvc.perform(post("/api/clientes")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+    }
+
+    @Test
+    @DisplayName("GET /api/clientes/altas/{id} - Estado de un alta diferida")
+    void testObtenerAltaDiferida() throws Exception {
+        // Given
+        when(altaDiferidaService.consultar("a1"))
+                .thenReturn(Optional.of(new AltaDiferidaDTO("a1", AltaDiferidaDTO.Estado.CREADO, 7L, null)));
+        when(altaDiferidaService.consultar("vencida")).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/clientes/altas/a1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estado").value("CREADO"))
+                .andExpect(jsonPath("$.clienteId").value(7));
+        mockMvc.perform(get("/api/clientes/altas/vencida"))
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -115,6 +265,133 @@ class ClienteControllerTest {
                 .andExpect(jsonPath("$.nombre").value("Juan"));
     }
 
+    @Test
+    @DisplayName("GET /api/clientes/{id} - Accept CBOR responde en CBOR, también desde la caché")
+    void testObtenerClientePorId_Cbor() throws Exception {
+        // Given
+        when(clienteService.obtenerClientePorId(1L)).thenReturn(responseDTO);
+        mockMvc.perform(get("/api/clientes/1")).andExpect(status().isOk());
+
+        String etagJson = VersionClientes.etagCliente(1L, responseDTO.getFechaModificacion());
+        String etagCbor = etagJson.substring(0, etagJson.length() - 1) + "-cbor\"";
+
+        // When
+        byte[] cuerpo = mockMvc.perform(get("/api/clientes/1")
+                        .header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andExpect(header().string(HttpHeaders.ETAG, etagCbor))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        ClienteResponseDTO cliente = mapper(new CBORFactory()).readValue(cuerpo, ClienteResponseDTO.class);
+        assertEquals(responseDTO, cliente);
+        verify(clienteService, times(1)).obtenerClientePorId(1L);
+
+        // El ETag de JSON no valida la representación CBOR, ni al revés
+        mockMvc.perform(get("/api/clientes/1").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, etagJson))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/clientes/1").header(HttpHeaders.IF_NONE_MATCH, etagCbor))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/clientes/1").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, etagCbor))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("POST y GET /api/clientes - Smile en la petición y MessagePack en la respuesta")
+    void testFormatosBinarios() throws Exception {
+        // Given
+        when(clienteService.crearCliente(any(ClienteRequestDTO.class))).thenReturn(responseDTO);
+        when(clienteService.obtenerPaginaDeClientes(null, 100, ClienteCursor.Orden.ID))
+                .thenReturn(ClientePaginaDTO.builder().clientes(List.of(responseDTO)).build());
+        MediaType smile = FormatosBinariosConfig.APPLICATION_SMILE;
+
+        // When
+        byte[] creado = mockMvc.perform(post("/api/clientes")
+                        .contentType(smile)
+                        .accept(smile)
+                        .content(mapper(new SmileFactory()).writeValueAsBytes(requestDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] pagina = mockMvc.perform(get("/api/clientes").accept(FormatosBinariosConfig.APPLICATION_MSGPACK))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(FormatosBinariosConfig.APPLICATION_MSGPACK))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        verify(clienteService).crearCliente(requestDTO);
+        assertEquals(responseDTO, mapper(new SmileFactory()).readValue(creado, ClienteResponseDTO.class));
+        assertEquals(List.of(responseDTO), mapper(new MessagePackFactory())
+                .readValue(pagina, new TypeReference<List<ClienteResponseDTO>>() { }));
+    }
+
+    @Test
+    @DisplayName("GET /api/clientes/{id} y /cuit/{cuit} - Consultas repetidas se sirven desde la caché")
+    void testObtenerCliente_DesdeCache() throws Exception {
+        // Given
+        when(clienteService.obtenerClientePorId(1L)).thenReturn(responseDTO);
+
+        // When & Then
+        mockMvc.perform(get("/api/clientes/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/clientes/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/clientes/cuit/20-12345678-9"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(clienteService, times(1)).obtenerClientePorId(1L);
+        verify(clienteService, never()).buscarPorCuit(anyString());
+    }
+
+    @Test
+    @DisplayName("GET /api/clientes/{id} - If-None-Match vigente responde 304 sin cargar el cliente")
+    void testObtenerClientePorId_NoModificado() throws Exception {
+        // Given
+        String etag = VersionClientes.etagCliente(1L, responseDTO.getFechaModificacion());
+        when(clienteService.obtenerEtagCliente(1L)).thenReturn(Optional.of(etag));
+
+        // When & Then
+        mockMvc.perform(get("/api/clientes/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        verify(clienteService, never()).obtenerClientePorId(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/clientes/{id} - El ETag de un cliente en caché se valida sin consultar la base")
+    void testObtenerClientePorId_EtagDesdeCache() throws Exception {
+        // Given
+        when(clienteService.obtenerClientePorId(1L)).thenReturn(responseDTO);
+        String etag = mockMvc.perform(get("/api/clientes/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/api/clientes/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/clientes/1").header(HttpHeaders.IF_NONE_MATCH, "\"c1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, etag));
+
+        verify(clienteService, never()).obtenerEtagCliente(anyLong());
+        verify(clienteService, times(1)).obtenerClientePorId(1L);
+    }
+
+    @Test
+    @DisplayName("GET /api/clientes - If-None-Match con la versión de la tabla responde 304")
+    void testObtenerClientes_NoModificado() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/clientes").header(HttpHeaders.IF_NONE_MATCH, ETAG_TABLA))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG_TABLA));
+
+        verify(clienteService, never()).obtenerPaginaDeClientes(any(), anyInt(), any());
+    }
+
     @Test
     @DisplayName("GET /api/clientes - Obtener todos los clientes")
     void testObtenerTodosLosClientes() throws Exception {
@@ -133,16 +410,60 @@ class ClienteControllerTest {
                 .build();
 
         List<ClienteResponseDTO> clientes = Arrays.asList(responseDTO, responseDTO2);
-        when(clienteService.obtenerTodosLosClientes()).thenReturn(clientes);
+        when(clienteService.obtenerPaginaDeClientes(null, 100, ClienteCursor.Orden.ID))
+                .thenReturn(ClientePaginaDTO.builder().clientes(clientes).build());
 
         // When & Then
         mockMvc.perform(get("/api/clientes"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ClienteController.HEADER_SIGUIENTE_CURSOR))
+                .andExpect(header().stringValues(HttpHeaders.ETAG, ETAG_TABLA))
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].nombre").value("Juan"))
                 .andExpect(jsonPath("$[1].nombre").value("María"));
     }
 
+    @Test
+    @DisplayName("GET /api/clientes?limit&after - Página con cursor siguiente")
+    void testObtenerClientes_PaginaConCursor() throws Exception {
+        // Given
+        when(clienteService.obtenerPaginaDeClientes("abc", 1, ClienteCursor.Orden.APELLIDO))
+                .thenReturn(ClientePaginaDTO.builder()
+                        .clientes(List.of(responseDTO))
+                        .siguienteCursor("def")
+                        .build());
+
+        // When & Then
+        mockMvc.perform(get("/api/clientes").param("limit", "1").param("after", "abc").param("sort", "apellido"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ClienteController.HEADER_SIGUIENTE_CURSOR, "def"))
+                .andExpect(header().string("Link", containsString("after=def")))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.length()").value(1));
+
+        // Las páginas siguientes no cuentan la tabla
+        verify(clienteService, never()).obtenerEtagClientes();
+    }
+
+    @Test
+    @DisplayName("GET /api/clientes?sort=id - El orden no depende del locale por defecto")
+    void testObtenerClientes_OrdenConLocaleTurco() throws Exception {
+        // Given
+        when(clienteService.obtenerPaginaDeClientes(null, 1, ClienteCursor.Orden.ID))
+                .thenReturn(ClientePaginaDTO.builder().clientes(List.of(responseDTO)).build());
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+        try {
+            // When & Then: en turco "id".toUpperCase() es "İD"
+            mockMvc.perform(get("/api/clientes").param("limit", "1").param("sort", "id"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1));
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
     @Test
     @DisplayName("PUT /api/clientes/{id} - Actualizar cliente")
     void testActualizarCliente_Success() throws Exception {
@@ -158,6 +479,37 @@ class ClienteControllerTest {
                 .andExpect(jsonPath("$.nombre").value("Juan"));
     }
 
+    @Test
+    @DisplayName("PATCH /api/clientes/{id} - Merge patch con los campos enviados")
+    void testActualizarClienteParcialmente() throws Exception {
+        // Given
+        when(clienteService.actualizarClienteParcialmente(eq(1L), any(ClienteRequestDTO.class),
+                eq(Set.of("email", "fechaNacimiento")))).thenReturn(responseDTO);
+
+        // When & Then
+        mockMvc.perform(patch("/api/clientes/1")
+                        .contentType(ClienteController.MEDIA_TYPE_MERGE_PATCH)
+                        .content("{\"email\": \"juan.perez@example.com\", \"fechaNacimiento\": \"1985-06-15\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(clienteService).actualizarClienteParcialmente(eq(1L), argThat(cambios ->
+                LocalDate.of(1985, 6, 15).equals(cambios.getFechaNacimiento()) && cambios.getNombre() == null),
+                eq(Set.of("email", "fechaNacimiento")));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/clientes/{id} - Un valor con formato inválido responde 400")
+    void testActualizarClienteParcialmente_FormatoInvalido() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/clientes/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fechaNacimiento\": \"15/06/1985\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(clienteService, never()).actualizarClienteParcialmente(any(), any(), any());
+    }
+
     @Test
     @DisplayName("DELETE /api/clientes/{id} - Eliminar cliente")
     void testEliminarCliente_Success() throws Exception {
@@ -189,4 +541,121 @@ class ClienteControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.email").value("juan.perez@example.com"));
     }
+
+    @Test
+    @DisplayName("GET /api/clientes/search - Buscar clientes por texto")
+    void testBuscarClientes() throws Exception {
+        // Given
+        when(clienteService.buscarClientes("pére", 20)).thenReturn(List.of(responseDTO));
+
+        // When & Then
+        mockMvc.perform(get("/api/clientes/search").param("q", "pére"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].apellido").value("Pérez"));
+    }
+
+    @Test
+    @DisplayName("POST /api/clientes/lookup - Resolver clientes por lote con claves inexistentes")
+    void testResolverClientes() throws Exception {
+        // Given
+        Map<Long, ClienteResponseDTO> porId = new LinkedHashMap<>();
+        porId.put(1L, responseDTO);
+        porId.put(99L, null);
+        when(clienteService.resolverClientes(any(ClienteLookupRequestDTO.class)))
+                .thenReturn(ClienteLookupResultadoDTO.builder()
+                        .ids(porId)
+                        .cuits(Map.of("20-12345678-9", responseDTO))
+                        .emails(Map.of())
+                        .noEncontrados(1)
+                        .build());
+
+        // When & Then
+        mockMvc.perform(post("/api/clientes/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, 99], \"cuits\": [\"20-12345678-9\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ids.1.nombre").value("Juan"))
+                .andExpect(jsonPath("$.ids.99").value(nullValue()))
+                .andExpect(jsonPath("$.cuits['20-12345678-9'].id").value(1))
+                .andExpect(jsonPath("$.noEncontrados").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/clientes/changes - Obtener cambios desde un cursor")
+    void testObtenerCambios() throws Exception {
+        // Given
+        LocalDateTime fecha = LocalDateTime.of(2024, 11, 21, 10, 30);
+        when(clienteService.obtenerCambios("abc", 500))
+                .thenReturn(ClienteCambiosDTO.builder()
+                        .cambios(List.of(
+                                new CambioClienteDTO(CambioClienteDTO.Tipo.UPSERT, 1L, fecha, responseDTO),
+                                new CambioClienteDTO(CambioClienteDTO.Tipo.DELETE, 2L, fecha, null)))
+                        .siguienteCursor("def")
+                        .hayMas(false)
+                        .build());
+
+        // When & Then
+        mockMvc.perform(get("/api/clientes/changes").param("since", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cambios[0].tipo").value("UPSERT"))
+                .andExpect(jsonPath("$.cambios[0].cliente.nombre").value("Juan"))
+                .andExpect(jsonPath("$.cambios[1].tipo").value("DELETE"))
+                .andExpect(jsonPath("$.cambios[1].id").value(2))
+                .andExpect(jsonPath("$.cambios[1].cliente").value(nullValue()))
+                .andExpect(jsonPath("$.siguienteCursor").value("def"))
+                .andExpect(jsonPath("$.hayMas").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/clientes/stream - Exportar clientes como NDJSON")
+    void testExportarClientesNdjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<ClienteResponseDTO> consumidor = invocation.getArgument(0);
+            consumidor.accept(responseDTO);
+            consumidor.accept(responseDTO);
+            return null;
+        }).when(clienteService).exportarClientes(any());
+
+        // When
+        MvcResult resultado = mockMvc.perform(get("/api/clientes/stream").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String cuerpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lineas = cuerpo.split("\n");
+        assertEquals(2, lineas.length);
+        assertEquals("Juan", objectMapper.readValue(lineas[1], ClienteResponseDTO.class).getNombre());
+    }
+
+    @Test
+    @DisplayName("GET /api/clientes/stream - Exportar clientes como array JSON")
+    void testExportarClientesJson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<ClienteResponseDTO> consumidor = invocation.getArgument(0);
+            consumidor.accept(responseDTO);
+            return null;
+        }).when(clienteService).exportarClientes(any());
+
+        // When
+        MvcResult resultado = mockMvc.perform(get("/api/clientes/stream").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].cuit").value("20-12345678-9"));
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return new ObjectMapper(factory).registerModule(new JavaTimeModule());
+    }
 }
@@ -0,0 +1,45 @@
+package com.yappa.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@DisplayName("Tests de las Métricas de Prometheus")
+class MetricasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Debe exponer las métricas de HTTP, servicio, pool, Hibernate, caché y errores")
+    void testEndpointPrometheus() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/clientes")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/clientes/999999")).andExpect(status().isNotFound());
+
+        // When / Then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("yappa_servicio_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("cache_gets_total{application=\"yappa\",cache=\"clientes\"")))
+                .andExpect(content().string(containsString("yappa_filtro_unicidad_consultas_total")))
+                .andExpect(content().string(containsString("yappa_errores_total{application=\"yappa\",tipo=\"no_encontrado\"")));
+    }
+}
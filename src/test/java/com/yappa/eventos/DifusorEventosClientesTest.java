@@ -0,0 +1,155 @@
+package com.yappa.eventos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yappa.cache.ClienteJsonCache;
+import com.yappa.controller.ClienteController;
+import com.yappa.dto.CambioClienteDTO;
+import com.yappa.dto.CursorCambios;
+import com.yappa.service.ClienteAltaDiferidaService;
+import com.yappa.service.ClienteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@DisplayName("Tests del Difusor de Eventos de Clientes")
+class DifusorEventosClientesTest {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2024, 11, 21, 10, 30);
+
+    // Los envíos quedan pendientes hasta ejecutarlos: permite simular un cliente lento
+    private final List<Runnable> envios = new ArrayList<>();
+    private boolean rechazarEnvios;
+    private DifusorEventosClientes difusor;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        difusor = new DifusorEventosClientes(objectMapper, envio -> {
+            if (rechazarEnvios) {
+                throw new TaskRejectedException("Executor lleno");
+            }
+            envios.add(envio);
+        }, 3, Duration.ofMinutes(1), 2);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ClienteController(mock(ClienteService.class),
+                mock(ClienteAltaDiferidaService.class), objectMapper,
+                new ClienteJsonCache(objectMapper, false, 10, Duration.ofMinutes(1)), difusor)).build();
+    }
+
+    @Test
+    @DisplayName("Difundir un cambio lo envía a cada suscriptor con el cursor como id")
+    void testDifundirCambio() throws Exception {
+        // Given
+        MvcResult primero = suscribir(null);
+        MvcResult segundo = suscribir(null);
+
+        // When
+        difusor.difundir(baja(7L));
+        ejecutarEnvios();
+
+        // Then
+        for (MvcResult suscripcion : List.of(primero, segundo)) {
+            String cuerpo = suscripcion.getResponse().getContentAsString();
+            assertTrue(cuerpo.startsWith(":conectado"));
+            assertTrue(cuerpo.contains("id:" + new CursorCambios(FECHA, 7L).codificar()));
+            assertTrue(cuerpo.contains("event:cambio"));
+            assertTrue(cuerpo.contains("\"tipo\":\"DELETE\""));
+        }
+        assertEquals(2, difusor.cantidadSuscriptores());
+    }
+
+    @Test
+    @DisplayName("Un suscriptor que desborda su cola recibe resincronizar en lugar de los eventos")
+    void testDesbordeResincroniza() throws Exception {
+        // Given
+        MvcResult suscripcion = suscribir(null);
+
+        // When
+        for (long id = 1; id <= 5; id++) {
+            difusor.difundir(baja(id));
+        }
+        ejecutarEnvios();
+        difusor.difundir(baja(6L));
+        ejecutarEnvios();
+
+        // Then
+        String cuerpo = suscripcion.getResponse().getContentAsString();
+        assertTrue(cuerpo.contains("event:resincronizar"));
+        assertFalse(cuerpo.contains("\"id\":1,"));
+        assertTrue(cuerpo.contains("\"id\":6,"));
+    }
+
+    @Test
+    @DisplayName("Un envío rechazado por el executor lleno se reintenta con el próximo evento")
+    void testEnvioRechazadoSeReintenta() throws Exception {
+        // Given
+        MvcResult suscripcion = suscribir(null);
+        ejecutarEnvios();
+        rechazarEnvios = true;
+        difusor.difundir(baja(1L));
+
+        // When
+        rechazarEnvios = false;
+        difusor.difundir(baja(2L));
+        ejecutarEnvios();
+
+        // Then
+        String cuerpo = suscripcion.getResponse().getContentAsString();
+        assertTrue(cuerpo.contains("\"id\":1,"));
+        assertTrue(cuerpo.contains("\"id\":2,"));
+    }
+
+    @Test
+    @DisplayName("Reconectar con Last-Event-ID reenvía el historial o pide resincronizar")
+    void testReconexion() throws Exception {
+        // Given
+        difusor.difundir(baja(1L));
+        difusor.difundir(baja(2L));
+        difusor.difundir(baja(3L));
+
+        // When
+        MvcResult enHistorial = suscribir(new CursorCambios(FECHA, 2L).codificar());
+        MvcResult fueraDelHistorial = suscribir(new CursorCambios(FECHA, 1L).codificar());
+        ejecutarEnvios();
+
+        // Then
+        String reenviado = enHistorial.getResponse().getContentAsString();
+        assertFalse(reenviado.contains("\"id\":2,"));
+        assertTrue(reenviado.contains("\"id\":3,"));
+        assertFalse(reenviado.contains("event:resincronizar"));
+        assertTrue(fueraDelHistorial.getResponse().getContentAsString().contains("event:resincronizar"));
+    }
+
+    private MvcResult suscribir(String ultimoEventoId) throws Exception {
+        return mockMvc.perform(ultimoEventoId == null
+                        ? get("/api/clientes/events")
+                        : get("/api/clientes/events").header("Last-Event-ID", ultimoEventoId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private void ejecutarEnvios() {
+        List<Runnable> pendientes = new ArrayList<>(envios);
+        envios.clear();
+        pendientes.forEach(Runnable::run);
+    }
+
+    private static CambioClienteDTO baja(Long id) {
+        return new CambioClienteDTO(CambioClienteDTO.Tipo.DELETE, id, FECHA, null);
+    }
+}
@@ -1,16 +1,32 @@
 package com.yappa.repository;
 
+import com.yappa.dto.CambioClienteDTO;
+import com.yappa.dto.ClavesCliente;
+import com.yappa.dto.ClienteRequestDTO;
+import com.yappa.dto.ClienteResponseDTO;
+import com.yappa.dto.VersionClientes;
 import com.yappa.entity.Cliente;
+import org.hibernate.Session;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.math.BigInteger;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,7 +50,7 @@ class ClienteRepositoryTest {
                 .nombre("Juan")
                 .apellido("Pérez")
                 .razonSocial("JP Servicios SRL")
-                .cuit("20-12345678-9")
+                .cuit(20123456789L)
                 .fechaNacimiento(LocalDate.of(1985, 6, 15))
                 .telefonoCelular("1165874210")
                 .email("juan.perez@example.com")
@@ -47,7 +63,7 @@ class ClienteRepositoryTest {
         // Then
         assertTrue(found.isPresent());
         assertEquals("Juan", found.get().getNombre());
-        assertEquals("20-12345678-9", found.get().getCuit());
+        assertEquals(20123456789L, found.get().getCuit());
     }
 
     @Test
@@ -58,7 +74,7 @@ class ClienteRepositoryTest {
                 .nombre("Juan")
                 .apellido("Pérez")
                 .razonSocial("JP Servicios SRL")
-                .cuit("20-12345678-9")
+                .cuit(20123456789L)
                 .fechaNacimiento(LocalDate.of(1985, 6, 15))
                 .telefonoCelular("1165874210")
                 .email("juan.perez@example.com")
@@ -67,7 +83,7 @@ class ClienteRepositoryTest {
         entityManager.persistAndFlush(cliente);
 
         // When
-        boolean exists = clienteRepository.existsByCuit("20-12345678-9");
+        boolean exists = clienteRepository.existsByCuit(20123456789L);
 
         // Then
         assertTrue(exists);
@@ -81,7 +97,7 @@ class ClienteRepositoryTest {
                 .nombre("Juan")
                 .apellido("Pérez")
                 .razonSocial("JP Servicios SRL")
-                .cuit("20-12345678-9")
+                .cuit(20123456789L)
                 .fechaNacimiento(LocalDate.of(1985, 6, 15))
                 .telefonoCelular("1165874210")
                 .email("juan.perez@example.com")
@@ -90,7 +106,7 @@ class ClienteRepositoryTest {
         entityManager.persistAndFlush(cliente);
 
         // When
-        boolean exists = clienteRepository.existsByEmail("juan.perez@example.com");
+        boolean exists = clienteRepository.existsByEmailNormalizado("juan.perez@example.com");
 
         // Then
         assertTrue(exists);
@@ -104,7 +120,7 @@ class ClienteRepositoryTest {
                 .nombre("Juan")
                 .apellido("Pérez")
                 .razonSocial("JP Servicios SRL")
-                .cuit("20-12345678-9")
+                .cuit(20123456789L)
                 .fechaNacimiento(LocalDate.of(1985, 6, 15))
                 .telefonoCelular("1165874210")
                 .email("juan.perez@example.com")
@@ -113,7 +129,7 @@ class ClienteRepositoryTest {
         entityManager.persistAndFlush(cliente);
 
         // When
-        Optional<Cliente> found = clienteRepository.findByCuit("20-12345678-9");
+        Optional<Cliente> found = clienteRepository.findByCuit(20123456789L);
 
         // Then
         assertTrue(found.isPresent());
@@ -128,7 +144,7 @@ class ClienteRepositoryTest {
                 .nombre("Juan")
                 .apellido("Pérez")
                 .razonSocial("JP Servicios SRL")
-                .cuit("20-12345678-9")
+                .cuit(20123456789L)
                 .fechaNacimiento(LocalDate.of(1985, 6, 15))
                 .telefonoCelular("1165874210")
                 .email("juan.perez@example.com")
@@ -137,11 +153,11 @@ class ClienteRepositoryTest {
         entityManager.persistAndFlush(cliente);
 
         // When
-        Optional<Cliente> found = clienteRepository.findByEmail("juan.perez@example.com");
+        Optional<Cliente> found = clienteRepository.findByEmailNormalizado("juan.perez@example.com");
 
         // Then
         assertTrue(found.isPresent());
-        assertEquals("20-12345678-9", found.get().getCuit());
+        assertEquals(20123456789L, found.get().getCuit());
     }
 
     @Test
@@ -152,7 +168,7 @@ class ClienteRepositoryTest {
                 .nombre("Juan")
                 .apellido("Pérez")
                 .razonSocial("JP Servicios SRL")
-                .cuit("20-12345678-9")
+                .cuit(20123456789L)
                 .fechaNacimiento(LocalDate.of(1985, 6, 15))
                 .telefonoCelular("1165874210")
                 .email("juan.perez@example.com")
@@ -162,7 +178,7 @@ class ClienteRepositoryTest {
                 .nombre("Carlos")
                 .apellido("López")
                 .razonSocial("CL Construcciones")
-                .cuit("20-12345678-9") // Mismo CUIT
+                .cuit(20123456789L) // Mismo CUIT
                 .fechaNacimiento(LocalDate.of(1978, 1, 10))
                 .telefonoCelular("1165874332")
                 .email("carlos.lopez@example.com")
@@ -174,4 +190,461 @@ class ClienteRepositoryTest {
             entityManager.persistAndFlush(cliente2);
         });
     }
+
+    @Test
+    @DisplayName("Email único sin distinguir mayúsculas y CUIT buscado con o sin guiones")
+    void testClavesNormalizadas() {
+        // Given
+        LocalDateTime fecha = LocalDateTime.of(2024, 11, 21, 10, 30);
+        ClienteRequestDTO juan = ClienteRequestDTO.builder()
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit("20-12345678-9")
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("Juan.Perez@Example.com")
+                .build();
+        clienteRepository.insertar(juan, fecha);
+        ClienteRequestDTO mismoEmail = ClienteRequestDTO.builder()
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit("27-23456789-0")
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("juan.perez@example.com")
+                .build();
+
+        // When & Then
+        assertThrows(DuplicateKeyException.class, () -> clienteRepository.insertar(mismoEmail, fecha));
+        ClienteResponseDTO porEmail = clienteRepository.obtenerPorEmail("JUAN.PEREZ@EXAMPLE.COM").orElseThrow();
+        assertEquals("Juan.Perez@Example.com", porEmail.getEmail());
+        assertEquals("20-12345678-9", porEmail.getCuit());
+        assertTrue(clienteRepository.obtenerPorCuit("20123456789").isPresent());
+        assertTrue(clienteRepository.obtenerPorCuit("20-1234567-89").isEmpty());
+        assertNull(ClavesCliente.cuitANumero("01-23456789-0"));
+        assertTrue(clienteRepository.obtenerPorCuit("01-23456789-0").isEmpty());
+        assertEquals(1, clienteRepository.obtenerPorEmails(List.of("juan.perez@example.com")).size());
+        assertEquals(1, clienteRepository.buscarPorTexto("12345678-9", 10).size());
+        assertTrue(clienteRepository.existsByCuit(20123456789L));
+        assertTrue(clienteRepository.existsByEmailNormalizado("juan.perez@example.com"));
+    }
+
+    @Test
+    @DisplayName("Paginación keyset por ID y por apellido")
+    void testPaginacionKeyset() {
+        // Given
+        Cliente juan = entityManager.persistAndFlush(Cliente.builder()
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit(20123456789L)
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("juan.perez@example.com")
+                .build());
+        Cliente maria = entityManager.persistAndFlush(Cliente.builder()
+                .nombre("María")
+                .apellido("Gómez")
+                .razonSocial("MG Soluciones")
+                .cuit(27234567890L)
+                .fechaNacimiento(LocalDate.of(1990, 9, 21))
+                .telefonoCelular("1165874221")
+                .email("maria.gomez@example.com")
+                .build());
+
+        // When
+        List<ClienteResponseDTO> porId = clienteRepository.obtenerPaginaPorId(juan.getId(), 10);
+        List<ClienteResponseDTO> porApellido = clienteRepository.obtenerPaginaPorApellido(null, null, 1);
+        List<ClienteResponseDTO> siguientePorApellido = clienteRepository.obtenerPaginaPorApellido(
+                maria.getApellido(), maria.getId(), 10);
+
+        // Then
+        assertEquals(List.of(maria.getId()), porId.stream().map(ClienteResponseDTO::getId).toList());
+        assertEquals("Gómez", porApellido.get(0).getApellido());
+        assertEquals(1, porApellido.size());
+        assertEquals(List.of(juan.getId()), siguientePorApellido.stream().map(ClienteResponseDTO::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Las lecturas proyectadas no cargan entidades en el contexto de persistencia")
+    void testLecturasProyectadas() {
+        // Given
+        Cliente juan = entityManager.persistAndFlush(Cliente.builder()
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit(20123456789L)
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("juan.perez@example.com")
+                .build());
+        entityManager.clear();
+
+        // When
+        ClienteResponseDTO porId = clienteRepository.obtenerPorId(juan.getId()).orElseThrow();
+        ClienteResponseDTO porCuit = clienteRepository.obtenerPorCuit("20-12345678-9").orElseThrow();
+        ClienteResponseDTO porEmail = clienteRepository.obtenerPorEmail("juan.perez@example.com").orElseThrow();
+
+        // Then
+        assertEquals("Pérez", porId.getApellido());
+        assertEquals(juan.getFechaModificacion(), porId.getFechaModificacion());
+        assertEquals(juan.getId(), porCuit.getId());
+        assertEquals(juan.getId(), porEmail.getId());
+        assertTrue(clienteRepository.obtenerPorCuit("20-99999999-9").isEmpty());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("Obtener clientes por lote de claves en varios bloques")
+    void testObtenerPorLoteDeClaves() {
+        // Given
+        List<Cliente> guardados = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            guardados.add(entityManager.persist(Cliente.builder()
+                    .nombre("Cliente" + i)
+                    .apellido("Apellido" + i)
+                    .razonSocial("Razón Social " + i)
+                    .cuit(20123456709L + i * 10)
+                    .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                    .telefonoCelular("116587421" + i)
+                    .email("cliente" + i + "@example.com")
+                    .build()));
+        }
+        entityManager.flush();
+        // Más claves que un bloque, con las existentes al final y una repetida
+        List<String> cuits = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            cuits.add(String.format("30-%08d-1", i));
+        }
+        cuits.addAll(List.of("20-12345670-9", "20-12345672-9", "20-12345672-9"));
+
+        // When
+        List<ClienteResponseDTO> porCuit = clienteRepository.obtenerPorCuits(cuits);
+        List<ClienteResponseDTO> porId = clienteRepository.obtenerPorIds(
+                List.of(guardados.get(1).getId(), -1L));
+        List<ClienteResponseDTO> porEmail = clienteRepository.obtenerPorEmails(
+                List.of("cliente0@example.com", "cliente2@example.com", "otro@example.com"));
+
+        // Then
+        assertEquals(Set.of("20-12345670-9", "20-12345672-9"),
+                porCuit.stream().map(ClienteResponseDTO::getCuit).collect(Collectors.toSet()));
+        assertEquals(2, porCuit.size());
+        assertEquals(List.of(guardados.get(1).getId()), porId.stream().map(ClienteResponseDTO::getId).toList());
+        assertEquals(2, porEmail.size());
+    }
+
+    @Test
+    @DisplayName("Recorrer todos los clientes con cursor JDBC ordenado por ID")
+    void testRecorrerTodos() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(Cliente.builder()
+                    .nombre("Cliente" + i)
+                    .apellido("Apellido" + i)
+                    .razonSocial("Razón Social " + i)
+                    .cuit(20123456709L + i * 10)
+                    .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                    .telefonoCelular("116587421" + i)
+                    .email("cliente" + i + "@example.com")
+                    .build());
+        }
+        entityManager.flush();
+
+        // When
+        List<ClienteResponseDTO> recorridos = new ArrayList<>();
+        clienteRepository.recorrerTodos(2, recorridos::add);
+
+        // Then
+        assertEquals(5, recorridos.size());
+        assertEquals("Cliente0", recorridos.get(0).getNombre());
+        assertEquals("cliente4@example.com", recorridos.get(4).getEmail());
+        assertNotNull(recorridos.get(0).getFechaCreacion());
+
+        Map<String, String> emailPorCuit = new HashMap<>();
+        clienteRepository.recorrerClavesUnicas(2, emailPorCuit::put);
+        assertEquals(5, emailPorCuit.size());
+        assertEquals("cliente3@example.com", emailPorCuit.get("20-12345673-9"));
+    }
+
+    @Test
+    @DisplayName("Buscar clientes por texto parcial sin distinguir mayúsculas")
+    void testBuscarPorTexto() {
+        // Given
+        entityManager.persist(Cliente.builder()
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit(20123456789L)
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("juan.perez@example.com")
+                .build());
+        entityManager.persist(Cliente.builder()
+                .nombre("María")
+                .apellido("Gómez")
+                .razonSocial("MG Soluciones 100%")
+                .cuit(27234567890L)
+                .fechaNacimiento(LocalDate.of(1990, 9, 21))
+                .telefonoCelular("1165874221")
+                .email("maria.gomez@example.com")
+                .build());
+        entityManager.flush();
+
+        // When & Then
+        assertEquals(List.of("Pérez"), clienteRepository.buscarPorTexto("PÉREZ", 10).stream()
+                .map(ClienteResponseDTO::getApellido).toList());
+        assertEquals(List.of("Gómez"), clienteRepository.buscarPorTexto("27-234", 10).stream()
+                .map(ClienteResponseDTO::getApellido).toList());
+        assertEquals(List.of("Gómez"), clienteRepository.buscarPorTexto("100%", 10).stream()
+                .map(ClienteResponseDTO::getApellido).toList());
+        assertEquals(1, clienteRepository.buscarPorTexto("example", 1).size());
+        assertTrue(clienteRepository.buscarPorTexto("inexistente", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Insertar, actualizar y eliminar en una sola sentencia")
+    void testEscriturasEnUnaSentencia() {
+        // Given
+        ClienteRequestDTO juan = ClienteRequestDTO.builder()
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit("20-12345678-9")
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("juan.perez@example.com")
+                .build();
+        LocalDateTime fecha = LocalDateTime.of(2024, 11, 21, 10, 30);
+
+        // When
+        ClienteResponseDTO creado = clienteRepository.insertar(juan, fecha);
+        juan.setNombre("Juan Carlos");
+        Optional<ClienteResponseDTO> actualizado = clienteRepository.actualizar(creado.getId(), juan, fecha.plusHours(1));
+        Optional<ClienteResponseDTO> inexistente = clienteRepository.actualizar(creado.getId() + 1, juan, fecha);
+
+        // Then
+        assertNotNull(creado.getId());
+        assertEquals(fecha, creado.getFechaCreacion());
+        assertTrue(actualizado.isPresent());
+        assertEquals("Juan Carlos", actualizado.get().getNombre());
+        assertEquals(fecha, actualizado.get().getFechaCreacion());
+        assertEquals(fecha.plusHours(1), actualizado.get().getFechaModificacion());
+        assertTrue(inexistente.isEmpty());
+        assertEquals(1, clienteRepository.eliminarPorId(creado.getId()));
+        assertEquals(0, clienteRepository.eliminarPorId(creado.getId()));
+    }
+
+    @Test
+    @DisplayName("Actualizar campos modifica solo lo enviado y omite la escritura sin cambios")
+    void testActualizarCampos() {
+        // Given
+        ClienteRequestDTO juan = ClienteRequestDTO.builder()
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit("20-12345678-9")
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("juan.perez@example.com")
+                .build();
+        LocalDateTime fecha = LocalDateTime.of(2024, 11, 21, 10, 30);
+        Long id = clienteRepository.insertar(juan, fecha).getId();
+
+        // When
+        ClienteRequestDTO cambios = ClienteRequestDTO.builder().nombre("Juan").email("jp@example.com").build();
+        ClienteResponseDTO actualizado = clienteRepository
+                .actualizarCampos(id, cambios, Set.of("email"), fecha.plusHours(1)).orElseThrow();
+        ClienteResponseDTO sinCambios = clienteRepository
+                .actualizarCampos(id, cambios, Set.of("nombre", "email"), fecha.plusHours(2)).orElseThrow();
+        Optional<ClienteResponseDTO> inexistente = clienteRepository
+                .actualizarCampos(id + 1, cambios, Set.of("email"), fecha);
+
+        // Then
+        assertEquals("jp@example.com", actualizado.getEmail());
+        assertEquals("20-12345678-9", actualizado.getCuit());
+        assertEquals(fecha.plusHours(1), actualizado.getFechaModificacion());
+        assertEquals(fecha.plusHours(1), sinCambios.getFechaModificacion());
+        assertTrue(inexistente.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Versión de un cliente y de la tabla para ETags")
+    void testVersiones() {
+        // Given
+        ClienteRequestDTO juan = ClienteRequestDTO.builder()
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit("20-12345678-9")
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("juan.perez@example.com")
+                .build();
+        LocalDateTime fecha = LocalDateTime.of(2024, 11, 21, 10, 30, 0, 123_456_000);
+        VersionClientes vacia = clienteRepository.obtenerVersion();
+
+        // When
+        ClienteResponseDTO creado = clienteRepository.insertar(juan, fecha);
+        VersionClientes version = clienteRepository.obtenerVersion();
+        // Una modificación confirmada con una fecha anterior a la última también cambia la versión
+        clienteRepository.actualizar(creado.getId(), juan, fecha.minusSeconds(1));
+        VersionClientes modificada = clienteRepository.obtenerVersion();
+
+        // Then
+        assertEquals(0, vacia.getCantidad());
+        assertEquals(BigInteger.ZERO, vacia.getSumaModificaciones());
+        assertEquals(1, version.getCantidad());
+        assertEquals(BigInteger.valueOf(1_732_185_000_123_456L), version.getSumaModificaciones());
+        assertNotEquals(vacia.etag(), version.etag());
+        assertNotEquals(version.etag(), modificada.etag());
+        assertEquals(Optional.of(fecha.minusSeconds(1)), clienteRepository.findFechaModificacionById(creado.getId()));
+        assertTrue(clienteRepository.findFechaModificacionById(creado.getId() + 1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cambios ordenados por fecha e id, con bajas intercaladas y paginados por keyset")
+    void testObtenerCambios() {
+        // Given
+        LocalDateTime fecha = LocalDateTime.of(2024, 11, 21, 10, 30);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(clienteRepository.insertar(ClienteRequestDTO.builder()
+                    .nombre("Cliente" + i)
+                    .apellido("Apellido" + i)
+                    .razonSocial("Razón Social " + i)
+                    .cuit("20-1234567" + i + "-9")
+                    .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                    .telefonoCelular("116587421" + i)
+                    .email("cliente" + i + "@example.com")
+                    .build(), fecha.plusMinutes(i)).getId());
+        }
+        // Una baja con la misma fecha que el segundo cliente: desempata el id
+        clienteRepository.eliminarPorId(ids.get(0));
+        clienteRepository.registrarBaja(ids.get(0), fecha.plusMinutes(1));
+
+        // When
+        List<CambioClienteDTO> primera = clienteRepository.obtenerCambios(LocalDateTime.of(1970, 1, 1, 0, 0), 0L,
+                fecha.plusHours(1), 2);
+        CambioClienteDTO ultimo = primera.get(primera.size() - 1);
+        List<CambioClienteDTO> segunda = clienteRepository.obtenerCambios(ultimo.getFecha(), ultimo.getId(),
+                fecha.plusHours(1), 2);
+        List<CambioClienteDTO> hastaElSegundo = clienteRepository.obtenerCambios(LocalDateTime.of(1970, 1, 1, 0, 0), 0L,
+                fecha.plusMinutes(1), 10);
+
+        // Then
+        assertEquals(List.of(CambioClienteDTO.Tipo.DELETE, CambioClienteDTO.Tipo.UPSERT),
+                primera.stream().map(CambioClienteDTO::getTipo).toList());
+        assertEquals(List.of(ids.get(0), ids.get(1)), primera.stream().map(CambioClienteDTO::getId).toList());
+        assertNull(primera.get(0).getCliente());
+        assertEquals("Cliente1", primera.get(1).getCliente().getNombre());
+        assertEquals(List.of(ids.get(2)), segunda.stream().map(CambioClienteDTO::getId).toList());
+        assertEquals(2, hastaElSegundo.size());
+        assertEquals(0, clienteRepository.purgarBajas(fecha));
+        assertEquals(1, clienteRepository.purgarBajas(fecha.plusHours(1)));
+    }
+
+    @Test
+    @DisplayName("Insertar con email duplicado lanza DuplicateKeyException de la restricción del email")
+    void testInsertarEmailDuplicado() {
+        // Given
+        ClienteRequestDTO juan = ClienteRequestDTO.builder()
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit("20-12345678-9")
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("juan.perez@example.com")
+                .build();
+        clienteRepository.insertar(juan, LocalDateTime.now());
+        juan.setCuit("20-99999999-9");
+
+        // When
+        DuplicateKeyException ex = assertThrows(DuplicateKeyException.class,
+                () -> clienteRepository.insertar(juan, LocalDateTime.now()));
+
+        // Then
+        assertEquals(Optional.of(RestriccionUnicaCliente.EMAIL), RestriccionUnicaCliente.violada(ex));
+    }
+
+    @Test
+    @DisplayName("Insertar con CUIT duplicado lanza DuplicateKeyException de la restricción del CUIT")
+    void testInsertarCuitDuplicado() {
+        // Given
+        ClienteRequestDTO juan = ClienteRequestDTO.builder()
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit("20-12345678-9")
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("juan.perez@example.com")
+                .build();
+        clienteRepository.insertar(juan, LocalDateTime.now());
+        juan.setEmail("otro.email@example.com");
+
+        // When
+        DuplicateKeyException ex = assertThrows(DuplicateKeyException.class,
+                () -> clienteRepository.insertar(juan, LocalDateTime.now()));
+
+        // Then
+        assertEquals(Optional.of(RestriccionUnicaCliente.CUIT), RestriccionUnicaCliente.violada(ex));
+    }
+
+    @Test
+    @DisplayName("Una violación de integridad que no es de unicidad no se atribuye al CUIT ni al email")
+    void testViolacionNoUnica() {
+        // Given
+        ClienteRequestDTO sinNombre = ClienteRequestDTO.builder()
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit("20-12345678-9")
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("juan.perez@example.com")
+                .build();
+
+        // When
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class,
+                () -> clienteRepository.insertar(sinNombre, LocalDateTime.now()));
+
+        // Then
+        assertEquals(Optional.empty(), RestriccionUnicaCliente.violada(ex));
+    }
+
+    @Test
+    @DisplayName("Insertar un lote devuelve todas las filas con su ID en un solo INSERT multi-fila")
+    void testInsertarLote() {
+        // Given
+        LocalDateTime fecha = LocalDateTime.of(2024, 11, 21, 10, 30);
+        List<ClienteRequestDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            lote.add(ClienteRequestDTO.builder()
+                    .nombre("Cliente" + i)
+                    .apellido("Lote")
+                    .razonSocial("Lote SRL")
+                    .cuit("20-1234567" + i + "-9")
+                    .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                    .telefonoCelular("1165874210")
+                    .email("lote" + i + "@example.com")
+                    .build());
+        }
+
+        // When
+        List<ClienteResponseDTO> insertados = clienteRepository.insertarLote(lote, fecha);
+
+        // Then
+        assertEquals(3, insertados.size());
+        assertEquals(Set.of("20-12345670-9", "20-12345671-9", "20-12345672-9"),
+                insertados.stream().map(ClienteResponseDTO::getCuit).collect(Collectors.toSet()));
+        insertados.forEach(cliente -> {
+            assertNotNull(cliente.getId());
+            assertEquals(fecha, cliente.getFechaCreacion());
+        });
+        assertEquals(3, clienteRepository.count());
+        assertTrue(clienteRepository.insertarLote(List.of(), fecha).isEmpty());
+        assertThrows(DuplicateKeyException.class, () -> clienteRepository.insertarLote(lote.subList(0, 1), fecha));
+    }
 }
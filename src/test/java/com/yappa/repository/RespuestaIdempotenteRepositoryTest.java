@@ -0,0 +1,50 @@
+package com.yappa.repository;
+
+import com.yappa.dto.RespuestaGuardada;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ActiveProfiles("test")
+@Import(RespuestaIdempotenteRepository.class)
+@DisplayName("Tests del Repositorio de Respuestas Idempotentes")
+class RespuestaIdempotenteRepositoryTest {
+
+    @Autowired
+    private RespuestaIdempotenteRepository repository;
+
+    @Test
+    @DisplayName("Guardar y buscar una respuesta conserva sus headers")
+    void testGuardarYBuscar() {
+        // Given
+        LocalDateTime fecha = LocalDateTime.of(2024, 11, 21, 10, 30);
+        RespuestaGuardada respuesta = new RespuestaGuardada("huella", 202, "application/json",
+                Map.of("Location", "/api/clientes/altas/a1", "Preference-Applied", "respond-async"),
+                "{\"id\":\"a1\"}".getBytes(StandardCharsets.UTF_8));
+        repository.guardar("clave-1", respuesta, fecha);
+        repository.guardar("clave-2", new RespuestaGuardada("huella", 400, null, Map.of(), new byte[0]), fecha);
+
+        // When
+        RespuestaGuardada guardada = repository.buscar("clave-1", fecha).orElseThrow();
+        RespuestaGuardada sinHeaders = repository.buscar("clave-2", fecha).orElseThrow();
+
+        // Then
+        assertEquals(202, guardada.getEstado());
+        assertEquals(respuesta.getHeaders(), guardada.getHeaders());
+        assertArrayEquals(respuesta.getCuerpo(), guardada.getCuerpo());
+        assertEquals(Map.of(), sinHeaders.getHeaders());
+        assertTrue(repository.buscar("clave-1", fecha.plusSeconds(1)).isEmpty());
+    }
+}
@@ -0,0 +1,157 @@
+package com.yappa.service;
+
+import com.yappa.cache.ClienteJsonCache;
+import com.yappa.cache.FiltroUnicidadClientes;
+import com.yappa.dto.AltaDiferidaDTO;
+import com.yappa.dto.CambioClienteDTO;
+import com.yappa.dto.ClienteRequestDTO;
+import com.yappa.dto.ClienteResponseDTO;
+import com.yappa.eventos.EscriturasEnCurso;
+import com.yappa.exception.BusinessException;
+import com.yappa.exception.SobrecargaException;
+import com.yappa.repository.ClienteRepository;
+import com.yappa.service.impl.ClienteAltaDiferidaServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests de las Altas Diferidas de Clientes")
+class ClienteAltaDiferidaServiceTest {
+
+    private final ClienteRepository clienteRepository = mock(ClienteRepository.class);
+    private final ClienteService clienteService = mock(ClienteService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private ClienteAltaDiferidaServiceImpl altas;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        altas.detener();
+    }
+
+    @Test
+    @DisplayName("Las altas encoladas se escriben en un lote y los duplicados se rechazan antes de insertar")
+    void testEscribirLote() throws InterruptedException {
+        // Given
+        altas = crear(10);
+        ClienteRequestDTO juan = cliente("20-12345678-9", "juan@example.com");
+        ClienteRequestDTO mismoCuit = cliente("20123456789", "otro@example.com");
+        ClienteRequestDTO emailExistente = cliente("27-23456789-0", "ANA@example.com");
+        String idJuan = altas.encolar(juan).getId();
+        String idMismoCuit = altas.encolar(mismoCuit).getId();
+        String idEmailExistente = altas.encolar(emailExistente).getId();
+        when(clienteRepository.obtenerPorCuits(anyList())).thenReturn(List.of());
+        when(clienteRepository.obtenerPorEmails(anyList())).thenReturn(List.of(respuesta(9L, "27-99999999-0", "ana@example.com")));
+        when(clienteRepository.insertarLote(eq(List.of(juan)), any(LocalDateTime.class)))
+                .thenReturn(List.of(respuesta(1L, "20-12345678-9", "juan@example.com")));
+
+        // When
+        altas.iniciar();
+
+        // Then
+        assertEquals(new AltaDiferidaDTO(idJuan, AltaDiferidaDTO.Estado.CREADO, 1L, null), esperarResultado(idJuan));
+        assertEquals("Ya existe un cliente con el CUIT: 20123456789", esperarResultado(idMismoCuit).getMensaje());
+        assertEquals("Ya existe un cliente con el email: ANA@example.com", esperarResultado(idEmailExistente).getMensaje());
+        verify(clienteRepository, times(1)).insertarLote(anyList(), any(LocalDateTime.class));
+        verify(eventPublisher).publishEvent(any(CambioClienteDTO.class));
+        verifyNoInteractions(clienteService);
+    }
+
+    @Test
+    @DisplayName("Si el lote falla por un duplicado concurrente, sus altas se reintentan de a una")
+    void testReintentarDeAUna() throws InterruptedException {
+        // Given
+        altas = crear(10);
+        ClienteRequestDTO juan = cliente("20-12345678-9", "juan@example.com");
+        ClienteRequestDTO ana = cliente("27-23456789-0", "ana@example.com");
+        String idJuan = altas.encolar(juan).getId();
+        String idAna = altas.encolar(ana).getId();
+        when(clienteRepository.insertarLote(anyList(), any(LocalDateTime.class)))
+                .thenThrow(new DuplicateKeyException("clientes_cuit_key"));
+        when(clienteService.crearCliente(juan)).thenReturn(respuesta(1L, "20-12345678-9", "juan@example.com"));
+        when(clienteService.crearCliente(ana)).thenThrow(new BusinessException("Ya existe un cliente con el CUIT: 27-23456789-0"));
+
+        // When
+        altas.iniciar();
+
+        // Then
+        assertEquals(AltaDiferidaDTO.Estado.CREADO, esperarResultado(idJuan).getEstado());
+        AltaDiferidaDTO rechazada = esperarResultado(idAna);
+        assertEquals(AltaDiferidaDTO.Estado.RECHAZADO, rechazada.getEstado());
+        assertEquals("Ya existe un cliente con el CUIT: 27-23456789-0", rechazada.getMensaje());
+    }
+
+    @Test
+    @DisplayName("Con la cola llena el alta se rechaza con SobrecargaException")
+    void testColaLlena() {
+        // Given
+        altas = crear(1);
+        String id = altas.encolar(cliente("20-12345678-9", "juan@example.com")).getId();
+
+        // When & Then
+        SobrecargaException ex = assertThrows(SobrecargaException.class,
+                () -> altas.encolar(cliente("27-23456789-0", "ana@example.com")));
+        assertEquals(Duration.ofSeconds(1), ex.getReintentarEn());
+        assertEquals(AltaDiferidaDTO.Estado.PENDIENTE, altas.consultar(id).orElseThrow().getEstado());
+        assertTrue(altas.consultar("inexistente").isEmpty());
+    }
+
+    private ClienteAltaDiferidaServiceImpl crear(int capacidadCola) {
+        return new ClienteAltaDiferidaServiceImpl(clienteRepository, clienteService, mock(ClienteJsonCache.class),
+                mock(FiltroUnicidadClientes.class), eventPublisher, new EscriturasEnCurso(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                true, capacidadCola, 100, Duration.ofMinutes(5), Duration.ofSeconds(1));
+    }
+
+    private AltaDiferidaDTO esperarResultado(String id) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        AltaDiferidaDTO alta = altas.consultar(id).orElseThrow();
+        while (alta.getEstado() == AltaDiferidaDTO.Estado.PENDIENTE && System.nanoTime() < limite) {
+            Thread.sleep(1);
+            alta = altas.consultar(id).orElseThrow();
+        }
+        return alta;
+    }
+
+    private static ClienteRequestDTO cliente(String cuit, String email) {
+        return ClienteRequestDTO.builder()
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit(cuit)
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email(email)
+                .build();
+    }
+
+    private static ClienteResponseDTO respuesta(Long id, String cuit, String email) {
+        LocalDateTime fecha = LocalDateTime.of(2024, 11, 21, 10, 30);
+        return ClienteResponseDTO.builder()
+                .id(id)
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit(cuit)
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email(email)
+                .fechaCreacion(fecha)
+                .fechaModificacion(fecha)
+                .build();
+    }
+}
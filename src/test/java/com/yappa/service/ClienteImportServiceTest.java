@@ -0,0 +1,97 @@
+package com.yappa.service;
+
+import com.yappa.cache.FiltroUnicidadClientes;
+import com.yappa.dto.ClienteImportResultadoDTO;
+import com.yappa.entity.Cliente;
+import com.yappa.eventos.EscriturasEnCurso;
+import com.yappa.exception.BusinessException;
+import com.yappa.repository.ClienteImportRepository;
+import com.yappa.repository.ClienteRepository;
+import com.yappa.service.impl.ClienteImportServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ActiveProfiles("test")
+@Import({ClienteImportServiceImpl.class, ClienteImportRepository.class, FiltroUnicidadClientes.class,
+        EscriturasEnCurso.class, LocalValidatorFactoryBean.class})
+@DisplayName("Tests de la Importación Masiva de Clientes")
+class ClienteImportServiceTest {
+
+    @Autowired
+    private ClienteImportService clienteImportService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Importar CSV informando filas inválidas y duplicadas")
+    void testImportarClientes() {
+        // Given
+        entityManager.persistAndFlush(Cliente.builder()
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit(20123456789L)
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("juan.perez@example.com")
+                .build());
+
+        String csv = """
+                nombre,apellido,razon_social,cuit,fechaNacimiento,telefonoCelular,email
+                María,Gómez,"MG Soluciones, ""SA""\",27-23456789-0,1990-09-21,1165874221,maria.gomez@example.com
+                Carlos,López,CL Construcciones,23-34567890-1,1978-01-10,1165874332,carlos.lopez@example.com
+                Lucía,Martínez,LM Consultora,cuit-invalido,1992-03-05,1165874443,lucia.martinez@example.com
+                Diego,Fernández,DF Diseño,23-34567890-1,1988-11-22,1165874554,diego.fernandez@example.com
+                Pedro,Pérez,PP SRL,20-99999999-9,1980-01-01,1165874665,juan.perez@example.com
+                Ana,Ruiz,AR SA,27-11111111-1,no-es-fecha,1165874776,ana.ruiz@example.com
+                """;
+
+        // When
+        ClienteImportResultadoDTO resultado = clienteImportService.importarClientes(stream(csv));
+
+        // Then
+        assertEquals(6, resultado.getTotalFilas());
+        assertEquals(2, resultado.getImportados());
+        assertEquals(4, resultado.getRechazados());
+        assertEquals(4, resultado.getErrores().size());
+        assertEquals(4, resultado.getErrores().get(0).getLinea());
+        assertTrue(resultado.getErrores().get(0).getMensaje().startsWith("cuit:"));
+        assertEquals("El CUIT está repetido en el archivo: 23-34567890-1", resultado.getErrores().get(1).getMensaje());
+        assertEquals("Ya existe un cliente con el email: juan.perez@example.com", resultado.getErrores().get(2).getMensaje());
+        assertEquals(7, resultado.getErrores().get(3).getLinea());
+
+        assertEquals(3, clienteRepository.count());
+        assertEquals("MG Soluciones, \"SA\"", clienteRepository.findByCuit(27234567890L).orElseThrow().getRazonSocial());
+    }
+
+    @Test
+    @DisplayName("Importar CSV sin las columnas requeridas debe lanzar excepción")
+    void testImportarClientes_CabeceraIncompleta() {
+        assertThrows(BusinessException.class,
+                () -> clienteImportService.importarClientes(stream("nombre,apellido\nJuan,Pérez\n")));
+    }
+
+    private static InputStream stream(String contenido) {
+        return new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+}
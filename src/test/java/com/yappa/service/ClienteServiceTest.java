@@ -1,28 +1,57 @@
 package com.yappa.service;
 
+import com.yappa.cache.ClienteJsonCache;
+import com.yappa.cache.ConsultasClientesEnCurso;
+import com.yappa.cache.FiltroUnicidadClientes;
+import com.yappa.dto.CambioClienteDTO;
+import com.yappa.dto.ClienteCambiosDTO;
+import com.yappa.dto.ClienteCursor;
+import com.yappa.dto.ClienteLookupRequestDTO;
+import com.yappa.dto.ClienteLookupResultadoDTO;
+import com.yappa.dto.ClientePaginaDTO;
 import com.yappa.dto.ClienteRequestDTO;
 import com.yappa.dto.ClienteResponseDTO;
+import com.yappa.dto.CursorCambios;
 import com.yappa.entity.Cliente;
+import com.yappa.eventos.EscriturasEnCurso;
 import com.yappa.exception.BusinessException;
 import com.yappa.exception.ResourceNotFoundException;
 import com.yappa.repository.ClienteRepository;
 import com.yappa.service.impl.ClienteServiceImpl;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,10 +61,29 @@ class ClienteServiceTest {
     @Mock
     private ClienteRepository clienteRepository;
 
+    @Mock
+    private ClienteJsonCache clienteJsonCache;
+
+    @Mock
+    private FiltroUnicidadClientes filtroUnicidad;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ConsultasClientesEnCurso consultasEnCurso = new ConsultasClientesEnCurso(false);
+
+    @Spy
+    private EscriturasEnCurso escriturasEnCurso = new EscriturasEnCurso();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private ClienteServiceImpl clienteService;
 
     private ClienteRequestDTO requestDTO;
+    private ClienteResponseDTO responseDTO;
     private Cliente cliente;
 
     @BeforeEach
@@ -50,7 +98,7 @@ class ClienteServiceTest {
                 .email("juan.perez@example.com")
                 .build();
 
-        cliente = Cliente.builder()
+        responseDTO = ClienteResponseDTO.builder()
                 .id(1L)
                 .nombre("Juan")
                 .apellido("Pérez")
@@ -62,15 +110,26 @@ class ClienteServiceTest {
                 .fechaCreacion(LocalDateTime.now())
                 .fechaModificacion(LocalDateTime.now())
                 .build();
+
+        cliente = Cliente.builder()
+                .id(1L)
+                .nombre("Juan")
+                .apellido("Pérez")
+                .razonSocial("JP Servicios SRL")
+                .cuit(20123456789L)
+                .fechaNacimiento(LocalDate.of(1985, 6, 15))
+                .telefonoCelular("1165874210")
+                .email("juan.perez@example.com")
+                .fechaCreacion(LocalDateTime.now())
+                .fechaModificacion(LocalDateTime.now())
+                .build();
     }
 
     @Test
     @DisplayName("Crear cliente exitosamente")
     void testCrearCliente_Success() {
         // Given
-        when(clienteRepository.existsByCuit(anyString())).thenReturn(false);
-        when(clienteRepository.existsByEmail(anyString())).thenReturn(false);
-        when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
+        when(clienteRepository.insertar(eq(requestDTO), any(LocalDateTime.class))).thenReturn(responseDTO);
 
         // When
         ClienteResponseDTO response = clienteService.crearCliente(requestDTO);
@@ -79,37 +138,69 @@ class ClienteServiceTest {
         assertNotNull(response);
         assertEquals("Juan", response.getNombre());
         assertEquals("20-12345678-9", response.getCuit());
-        verify(clienteRepository, times(1)).save(any(Cliente.class));
+        verify(clienteRepository, times(1)).insertar(eq(requestDTO), any(LocalDateTime.class));
+        verify(clienteRepository, never()).existsByCuit(anyLong());
+        verify(clienteRepository, never()).existsByEmailNormalizado(anyString());
+        verify(filtroUnicidad).registrar("20-12345678-9", "juan.perez@example.com");
+        verify(eventPublisher).publishEvent(new CambioClienteDTO(CambioClienteDTO.Tipo.UPSERT, 1L,
+                responseDTO.getFechaModificacion(), responseDTO));
     }
 
     @Test
     @DisplayName("Crear cliente con CUIT duplicado debe lanzar excepción")
     void testCrearCliente_CuitDuplicado() {
         // Given
-        when(clienteRepository.existsByCuit(anyString())).thenReturn(true);
+        when(clienteRepository.insertar(eq(requestDTO), any(LocalDateTime.class)))
+                .thenThrow(duplicado("duplicate key value violates unique constraint \"clientes_cuit_key\""));
 
         // When & Then
-        assertThrows(BusinessException.class, () -> clienteService.crearCliente(requestDTO));
-        verify(clienteRepository, never()).save(any(Cliente.class));
+        BusinessException ex = assertThrows(BusinessException.class, () -> clienteService.crearCliente(requestDTO));
+        assertEquals("Ya existe un cliente con el CUIT: 20-12345678-9", ex.getMessage());
+        verifyNoInteractions(clienteJsonCache);
     }
 
     @Test
     @DisplayName("Crear cliente con email duplicado debe lanzar excepción")
     void testCrearCliente_EmailDuplicado() {
         // Given
-        when(clienteRepository.existsByCuit(anyString())).thenReturn(false);
-        when(clienteRepository.existsByEmail(anyString())).thenReturn(true);
+        when(clienteRepository.insertar(eq(requestDTO), any(LocalDateTime.class)))
+                .thenThrow(duplicado("duplicate key value violates unique constraint \"clientes_email_normalizado_key\""));
+
+        // When & Then
+        BusinessException ex = assertThrows(BusinessException.class, () -> clienteService.crearCliente(requestDTO));
+        assertEquals("Ya existe un cliente con el email: juan.perez@example.com", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Crear cliente con CUIT duplicado en PostgreSQL con mensajes en español debe lanzar excepción")
+    void testCrearCliente_CuitDuplicadoMensajeLocalizado() {
+        // Given
+        PSQLException enEspanol = new PSQLException(new ServerErrorMessage("SERROR\0C23505\0M" +
+                "llave duplicada viola restricción de unicidad «clientes_cuit_key»\0nclientes_cuit_key\0"));
+        when(clienteRepository.insertar(eq(requestDTO), any(LocalDateTime.class)))
+                .thenThrow(new DuplicateKeyException("Clave duplicada", enEspanol));
+
+        // When & Then
+        BusinessException ex = assertThrows(BusinessException.class, () -> clienteService.crearCliente(requestDTO));
+        assertEquals("Ya existe un cliente con el CUIT: 20-12345678-9", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Crear cliente que viola otra restricción única no se informa como CUIT ni email duplicado")
+    void testCrearCliente_OtraRestriccionUnica() {
+        // Given
+        DuplicateKeyException duplicado = duplicado("duplicate key value violates unique constraint \"clientes_pkey\"");
+        when(clienteRepository.insertar(eq(requestDTO), any(LocalDateTime.class))).thenThrow(duplicado);
 
         // When & Then
-        assertThrows(BusinessException.class, () -> clienteService.crearCliente(requestDTO));
-        verify(clienteRepository, never()).save(any(Cliente.class));
+        assertSame(duplicado, assertThrows(DuplicateKeyException.class, () -> clienteService.crearCliente(requestDTO)));
     }
 
     @Test
     @DisplayName("Obtener cliente por ID exitosamente")
     void testObtenerClientePorId_Success() {
         // Given
-        when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
+        when(clienteRepository.obtenerPorId(1L)).thenReturn(Optional.of(responseDTO));
 
         // When
         ClienteResponseDTO response = clienteService.obtenerClientePorId(1L);
@@ -118,24 +209,24 @@ class ClienteServiceTest {
         assertNotNull(response);
         assertEquals(1L, response.getId());
         assertEquals("Juan", response.getNombre());
-        verify(clienteRepository, times(1)).findById(1L);
+        verify(clienteRepository, times(1)).obtenerPorId(1L);
     }
 
     @Test
     @DisplayName("Obtener cliente por ID inexistente debe lanzar excepción")
     void testObtenerClientePorId_NotFound() {
         // Given
-        when(clienteRepository.findById(999L)).thenReturn(Optional.empty());
+        when(clienteRepository.obtenerPorId(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> clienteService.obtenerClientePorId(999L));
     }
 
     @Test
-    @DisplayName("Obtener todos los clientes")
-    void testObtenerTodosLosClientes() {
+    @DisplayName("Obtener primera página de clientes con cursor siguiente")
+    void testObtenerPaginaDeClientes_PrimeraPagina() {
         // Given
-        Cliente cliente2 = Cliente.builder()
+        ClienteResponseDTO cliente2 = ClienteResponseDTO.builder()
                 .id(2L)
                 .nombre("María")
                 .apellido("Gómez")
@@ -148,62 +239,228 @@ class ClienteServiceTest {
                 .fechaModificacion(LocalDateTime.now())
                 .build();
 
-        when(clienteRepository.findAll()).thenReturn(Arrays.asList(cliente, cliente2));
+        when(clienteRepository.obtenerPaginaPorId(0L, 2))
+                .thenReturn(Arrays.asList(responseDTO, cliente2));
+
+        // When
+        ClientePaginaDTO pagina = clienteService.obtenerPaginaDeClientes(null, 1, ClienteCursor.Orden.ID);
+
+        // Then
+        assertEquals(1, pagina.getClientes().size());
+        assertEquals(1L, pagina.getClientes().get(0).getId());
+        assertNotNull(pagina.getSiguienteCursor());
+        assertEquals(1L, ClienteCursor.decodificar(pagina.getSiguienteCursor(), ClienteCursor.Orden.ID).getId());
+    }
+
+    @Test
+    @DisplayName("Obtener última página de clientes por apellido sin cursor siguiente")
+    void testObtenerPaginaDeClientes_UltimaPaginaPorApellido() {
+        // Given
+        String cursor = new ClienteCursor(ClienteCursor.Orden.APELLIDO, 5L, "Gómez").codificar();
+        when(clienteRepository.obtenerPaginaPorApellido("Gómez", 5L, 11))
+                .thenReturn(List.of(responseDTO));
+
+        // When
+        ClientePaginaDTO pagina = clienteService.obtenerPaginaDeClientes(cursor, 10, ClienteCursor.Orden.APELLIDO);
+
+        // Then
+        assertEquals(1, pagina.getClientes().size());
+        assertNull(pagina.getSiguienteCursor());
+    }
+
+    @Test
+    @DisplayName("Cursor de otro orden o límite fuera de rango debe lanzar excepción")
+    void testObtenerPaginaDeClientes_ParametrosInvalidos() {
+        String cursorPorId = new ClienteCursor(ClienteCursor.Orden.ID, 5L, null).codificar();
+
+        assertThrows(BusinessException.class,
+                () -> clienteService.obtenerPaginaDeClientes(cursorPorId, 10, ClienteCursor.Orden.APELLIDO));
+        assertThrows(BusinessException.class,
+                () -> clienteService.obtenerPaginaDeClientes("no-es-un-cursor", 10, ClienteCursor.Orden.ID));
+        assertThrows(BusinessException.class,
+                () -> clienteService.obtenerPaginaDeClientes(null, 0, ClienteCursor.Orden.ID));
+        verifyNoInteractions(clienteRepository);
+    }
+
+    @Test
+    @DisplayName("Exportar clientes delega en el recorrido por cursor del repositorio")
+    void testExportarClientes() {
+        // Given
+        List<ClienteResponseDTO> exportados = new ArrayList<>();
+        doAnswer(invocation -> {
+            Consumer<ClienteResponseDTO> consumidor = invocation.getArgument(1);
+            consumidor.accept(ClienteResponseDTO.builder().id(1L).build());
+            return null;
+        }).when(clienteRepository).recorrerTodos(anyInt(), any());
+
+        // When
+        clienteService.exportarClientes(exportados::add);
+
+        // Then
+        assertEquals(1, exportados.size());
+        verify(clienteRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Buscar clientes por texto")
+    void testBuscarClientes() {
+        // Given
+        ClienteResponseDTO encontrado = ClienteResponseDTO.builder().id(1L).apellido("Pérez").build();
+        when(clienteRepository.buscarPorTexto("pére", 20)).thenReturn(List.of(encontrado));
 
         // When
-        List<ClienteResponseDTO> clientes = clienteService.obtenerTodosLosClientes();
+        List<ClienteResponseDTO> resultado = clienteService.buscarClientes("  pére ", 20);
 
         // Then
-        assertNotNull(clientes);
-        assertEquals(2, clientes.size());
-        verify(clienteRepository, times(1)).findAll();
+        assertEquals(List.of(encontrado), resultado);
+    }
+
+    @Test
+    @DisplayName("Buscar clientes con texto corto o límite inválido debe lanzar excepción")
+    void testBuscarClientes_ParametrosInvalidos() {
+        assertThrows(BusinessException.class, () -> clienteService.buscarClientes("ab", 20));
+        assertThrows(BusinessException.class, () -> clienteService.buscarClientes(null, 20));
+        assertThrows(BusinessException.class, () -> clienteService.buscarClientes("pérez", 101));
+        verifyNoInteractions(clienteRepository);
     }
 
     @Test
     @DisplayName("Actualizar cliente exitosamente")
     void testActualizarCliente_Success() {
         // Given
-        when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
-        when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
+        when(clienteRepository.actualizar(eq(1L), eq(requestDTO), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(responseDTO));
 
         // When
         ClienteResponseDTO response = clienteService.actualizarCliente(1L, requestDTO);
 
         // Then
         assertNotNull(response);
-        verify(clienteRepository, times(1)).save(any(Cliente.class));
+        verify(clienteRepository, never()).findById(any());
+        verify(clienteJsonCache).invalidar(1L);
+    }
+
+    @Test
+    @DisplayName("Actualizar cliente inexistente debe lanzar excepción")
+    void testActualizarCliente_NotFound() {
+        // Given
+        when(clienteRepository.actualizar(eq(999L), eq(requestDTO), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> clienteService.actualizarCliente(999L, requestDTO));
+        verifyNoInteractions(clienteJsonCache);
+    }
+
+    @Test
+    @DisplayName("Actualizar parcialmente solo envía los campos del patch e invalida la caché")
+    void testActualizarClienteParcialmente_ConCambios() {
+        // Given
+        ClienteRequestDTO cambios = ClienteRequestDTO.builder().telefonoCelular("1199998888").build();
+        when(clienteRepository.actualizarCampos(eq(1L), eq(cambios), eq(Set.of("telefonoCelular")), any(LocalDateTime.class)))
+                .thenAnswer(inv -> {
+                    responseDTO.setTelefonoCelular("1199998888");
+                    responseDTO.setFechaModificacion(inv.getArgument(3));
+                    return Optional.of(responseDTO);
+                });
+
+        // When
+        ClienteResponseDTO response = clienteService.actualizarClienteParcialmente(1L, cambios, Set.of("telefonoCelular"));
+
+        // Then
+        assertEquals("1199998888", response.getTelefonoCelular());
+        verify(clienteJsonCache).invalidar(1L);
+    }
+
+    @Test
+    @DisplayName("Actualizar parcialmente sin cambios no invalida la caché")
+    void testActualizarClienteParcialmente_SinCambios() {
+        // Given
+        ClienteRequestDTO cambios = ClienteRequestDTO.builder().nombre("Juan").build();
+        when(clienteRepository.actualizarCampos(eq(1L), eq(cambios), eq(Set.of("nombre")), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(responseDTO));
+
+        // When
+        ClienteResponseDTO response = clienteService.actualizarClienteParcialmente(1L, cambios, Set.of("nombre"));
+
+        // Then
+        assertEquals("Juan", response.getNombre());
+        verifyNoInteractions(clienteJsonCache);
+    }
+
+    @Test
+    @DisplayName("Actualizar parcialmente valida solo los campos enviados")
+    void testActualizarClienteParcialmente_CampoInvalido() {
+        // Given
+        ClienteRequestDTO cambios = ClienteRequestDTO.builder().email("no-es-un-email").build();
+
+        // When & Then
+        ConstraintViolationException ex = assertThrows(ConstraintViolationException.class,
+                () -> clienteService.actualizarClienteParcialmente(1L, cambios, Set.of("email", "nombre")));
+        assertEquals(Set.of("email", "nombre"), ex.getConstraintViolations().stream()
+                .map(v -> v.getPropertyPath().toString())
+                .collect(Collectors.toSet()));
+        verify(clienteRepository, never()).actualizarCampos(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Actualizar parcialmente un campo no editable debe lanzar excepción")
+    void testActualizarClienteParcialmente_CampoNoEditable() {
+        // When & Then
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> clienteService.actualizarClienteParcialmente(1L, new ClienteRequestDTO(), Set.of("id", "nombre")));
+        assertEquals("Campos no editables: id", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Actualizar cliente con email de otro cliente debe lanzar excepción")
+    void testActualizarCliente_EmailDuplicado() {
+        // Given
+        when(clienteRepository.actualizar(eq(1L), eq(requestDTO), any(LocalDateTime.class)))
+                .thenThrow(duplicado("Unique index or primary key violation: \"PUBLIC.CLIENTES_EMAIL_NORMALIZADO_KEY_INDEX_6 ON " +
+                        "PUBLIC.CLIENTES(EMAIL_NORMALIZADO NULLS FIRST)\"; SQL statement: UPDATE clientes SET cuit = ?"));
+
+        // When & Then
+        BusinessException ex = assertThrows(BusinessException.class, () -> clienteService.actualizarCliente(1L, requestDTO));
+        assertEquals("Ya existe un cliente con el email: juan.perez@example.com", ex.getMessage());
     }
 
     @Test
     @DisplayName("Eliminar cliente exitosamente")
     void testEliminarCliente_Success() {
         // Given
-        when(clienteRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(clienteRepository).deleteById(1L);
+        when(clienteRepository.eliminarPorId(1L)).thenReturn(1);
 
         // When
         clienteService.eliminarCliente(1L);
 
         // Then
-        verify(clienteRepository, times(1)).deleteById(1L);
+        verify(clienteRepository, times(1)).eliminarPorId(1L);
+        verify(clienteRepository).registrarBaja(eq(1L), any(LocalDateTime.class));
+        verify(clienteRepository, never()).existsById(any());
+        verify(clienteJsonCache).invalidar(1L);
+        verify(eventPublisher).publishEvent(argThat((Object evento) -> evento instanceof CambioClienteDTO cambio
+                && cambio.getTipo() == CambioClienteDTO.Tipo.DELETE && cambio.getId() == 1L));
     }
 
     @Test
     @DisplayName("Eliminar cliente inexistente debe lanzar excepción")
     void testEliminarCliente_NotFound() {
         // Given
-        when(clienteRepository.existsById(999L)).thenReturn(false);
+        when(clienteRepository.eliminarPorId(999L)).thenReturn(0);
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> clienteService.eliminarCliente(999L));
         verify(clienteRepository, never()).deleteById(any());
+        verify(clienteRepository, never()).registrarBaja(any(), any());
     }
 
     @Test
     @DisplayName("Buscar cliente por CUIT exitosamente")
     void testBuscarPorCuit_Success() {
         // Given
-        when(clienteRepository.findByCuit("20-12345678-9")).thenReturn(Optional.of(cliente));
+        when(filtroUnicidad.puedeExistirCuit("20-12345678-9")).thenReturn(true);
+        when(clienteRepository.obtenerPorCuit("20-12345678-9")).thenReturn(Optional.of(responseDTO));
 
         // When
         ClienteResponseDTO response = clienteService.buscarPorCuit("20-12345678-9");
@@ -217,7 +474,8 @@ class ClienteServiceTest {
     @DisplayName("Buscar cliente por email exitosamente")
     void testBuscarPorEmail_Success() {
         // Given
-        when(clienteRepository.findByEmail("juan.perez@example.com")).thenReturn(Optional.of(cliente));
+        when(filtroUnicidad.puedeExistirEmail("juan.perez@example.com")).thenReturn(true);
+        when(clienteRepository.obtenerPorEmail("juan.perez@example.com")).thenReturn(Optional.of(responseDTO));
 
         // When
         ClienteResponseDTO response = clienteService.buscarPorEmail("juan.perez@example.com");
@@ -226,4 +484,142 @@ class ClienteServiceTest {
         assertNotNull(response);
         assertEquals("juan.perez@example.com", response.getEmail());
     }
+
+    @Test
+    @DisplayName("Un negativo del filtro de unicidad evita la consulta por CUIT")
+    void testBuscarPorCuit_NegativoDelFiltro() {
+        // Given
+        when(filtroUnicidad.puedeExistirCuit("20-99999999-9")).thenReturn(false);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> clienteService.buscarPorCuit("20-99999999-9"));
+        verify(clienteRepository, never()).obtenerPorCuit(anyString());
+    }
+
+    @Test
+    @DisplayName("Un positivo del filtro sin resultado se contabiliza como falso positivo")
+    void testBuscarPorEmail_FalsoPositivo() {
+        // Given
+        when(filtroUnicidad.puedeExistirEmail("otro@example.com")).thenReturn(true);
+        when(clienteRepository.obtenerPorEmail("otro@example.com")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> clienteService.buscarPorEmail("otro@example.com"));
+        verify(filtroUnicidad).registrarFalsoPositivo();
+    }
+
+    @Test
+    @DisplayName("Resolver clientes por lote asocia cada clave a su cliente o a null")
+    void testResolverClientes() {
+        // Given
+        when(clienteRepository.obtenerPorIds(List.of(99L, 1L))).thenReturn(List.of(responseDTO));
+        when(filtroUnicidad.puedeExistirCuit("20-12345678-9")).thenReturn(true);
+        when(filtroUnicidad.puedeExistirCuit("20-99999999-9")).thenReturn(false);
+        when(clienteRepository.obtenerPorCuits(List.of("20-12345678-9"))).thenReturn(List.of(responseDTO));
+        ClienteLookupRequestDTO claves = ClienteLookupRequestDTO.builder()
+                .ids(Arrays.asList(99L, 1L, 1L, null))
+                .cuits(List.of("20-99999999-9", "20-12345678-9"))
+                .build();
+
+        // When
+        ClienteLookupResultadoDTO resultado = clienteService.resolverClientes(claves);
+
+        // Then
+        assertEquals(List.of(99L, 1L), List.copyOf(resultado.getIds().keySet()));
+        assertNull(resultado.getIds().get(99L));
+        assertEquals("Juan", resultado.getIds().get(1L).getNombre());
+        assertEquals(List.of("20-99999999-9", "20-12345678-9"), List.copyOf(resultado.getCuits().keySet()));
+        assertEquals(1L, resultado.getCuits().get("20-12345678-9").getId());
+        assertTrue(resultado.getEmails().isEmpty());
+        assertEquals(2, resultado.getNoEncontrados());
+        verify(clienteRepository, never()).obtenerPorEmails(any());
+    }
+
+    @Test
+    @DisplayName("Resolver más claves que el máximo debe lanzar excepción")
+    void testResolverClientes_DemasiadasClaves() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+
+        // When & Then
+        assertThrows(BusinessException.class,
+                () -> clienteService.resolverClientes(ClienteLookupRequestDTO.builder().ids(ids).build()));
+        verify(clienteRepository, never()).obtenerPorIds(any());
+    }
+
+    @Test
+    @DisplayName("Obtener cambios desde el inicio devuelve la página y el cursor del último cambio")
+    void testObtenerCambios_DesdeElInicio() {
+        // Given
+        ReflectionTestUtils.setField(clienteService, "margenConfirmacion", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(clienteService, "retencionBajas", Duration.ofDays(30));
+        LocalDateTime fecha = LocalDateTime.now().minusMinutes(1);
+        CambioClienteDTO alta = new CambioClienteDTO(CambioClienteDTO.Tipo.UPSERT, 1L, fecha, responseDTO);
+        CambioClienteDTO baja = new CambioClienteDTO(CambioClienteDTO.Tipo.DELETE, 2L, fecha, null);
+        when(clienteRepository.obtenerCambios(eq(CursorCambios.INICIO.getFecha()), eq(0L), any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(alta, baja));
+
+        // When
+        ClienteCambiosDTO cambios = clienteService.obtenerCambios(null, 1);
+
+        // Then
+        assertEquals(List.of(alta), cambios.getCambios());
+        assertTrue(cambios.isHayMas());
+        assertEquals(new CursorCambios(fecha, 1L), CursorCambios.decodificar(cambios.getSiguienteCursor()));
+    }
+
+    @Test
+    @DisplayName("Obtener cambios sin novedades devuelve el mismo cursor")
+    void testObtenerCambios_SinNovedades() {
+        // Given
+        ReflectionTestUtils.setField(clienteService, "margenConfirmacion", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(clienteService, "retencionBajas", Duration.ofDays(30));
+        CursorCambios desde = new CursorCambios(LocalDateTime.now().minusHours(1), 7L);
+        when(clienteRepository.obtenerCambios(eq(desde.getFecha()), eq(7L), any(LocalDateTime.class), eq(11)))
+                .thenReturn(List.of());
+
+        // When
+        ClienteCambiosDTO cambios = clienteService.obtenerCambios(desde.codificar(), 10);
+
+        // Then
+        assertTrue(cambios.getCambios().isEmpty());
+        assertFalse(cambios.isHayMas());
+        assertEquals(desde.codificar(), cambios.getSiguienteCursor());
+    }
+
+    @Test
+    @DisplayName("Obtener cambios no avanza más allá de una escritura sin confirmar, aunque supere el margen")
+    void testObtenerCambios_NoPasaEscriturasEnCurso() {
+        // Given
+        ReflectionTestUtils.setField(clienteService, "margenConfirmacion", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(clienteService, "retencionBajas", Duration.ofDays(30));
+        LocalDateTime inicioImportacion = LocalDateTime.now().minusMinutes(10);
+        when(escriturasEnCurso.masAntigua()).thenReturn(Optional.of(inicioImportacion));
+        when(clienteRepository.obtenerCambios(eq(CursorCambios.INICIO.getFecha()), eq(0L), any(LocalDateTime.class), eq(11)))
+                .thenReturn(List.of());
+
+        // When
+        clienteService.obtenerCambios(null, 10);
+
+        // Then
+        ArgumentCaptor<LocalDateTime> hasta = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(clienteRepository).obtenerCambios(any(LocalDateTime.class), eq(0L), hasta.capture(), eq(11));
+        assertTrue(hasta.getValue().isBefore(inicioImportacion));
+    }
+
+    @Test
+    @DisplayName("Cursor de cambios vencido, inválido o límite fuera de rango debe lanzar excepción")
+    void testObtenerCambios_ParametrosInvalidos() {
+        ReflectionTestUtils.setField(clienteService, "retencionBajas", Duration.ofDays(30));
+        String vencido = new CursorCambios(LocalDateTime.now().minusDays(31), 1L).codificar();
+
+        assertThrows(BusinessException.class, () -> clienteService.obtenerCambios(vencido, 10));
+        assertThrows(BusinessException.class, () -> clienteService.obtenerCambios("no-es-un-cursor", 10));
+        assertThrows(BusinessException.class, () -> clienteService.obtenerCambios(null, 1001));
+        verifyNoInteractions(clienteRepository);
+    }
+
+    private static DuplicateKeyException duplicado(String mensaje) {
+        return new DuplicateKeyException("Clave duplicada", new SQLException(mensaje, "23505"));
+    }
 }